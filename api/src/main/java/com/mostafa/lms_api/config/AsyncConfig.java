@@ -0,0 +1,15 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+
+// @Async => Boot's applicationTaskExecutor (platform thread pool by default,
+// one virtual thread per task with the "vt" profile => spring.threads.virtual.enabled=true)
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+
+}
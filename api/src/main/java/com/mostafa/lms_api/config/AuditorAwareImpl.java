@@ -23,6 +23,11 @@ public class AuditorAwareImpl implements AuditorAware<String> {
             return Optional.empty();
         }
 
+        // Claims-backed principal (JwtAuthFilter)
+        if (authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return Optional.of(principal.id().toString()); // Store User ID
+        }
+
         // If the principal is your User entity
         if (authentication.getPrincipal() instanceof User) {
             User user = (User) authentication.getPrincipal();
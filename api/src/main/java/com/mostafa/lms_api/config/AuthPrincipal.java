@@ -0,0 +1,49 @@
+package com.mostafa.lms_api.config;
+
+
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * What the SecurityContext holds for a request: the access token claims, nothing more.
+ * Immutable & detached => no Hibernate proxy / collections kept alive per request, no lazy load outside a session.
+ * Services that need the User as a relation take CurrentUser.getCurrentUserReference() (id-only proxy, no SELECT).
+ */
+public record AuthPrincipal(UUID id,
+                            String email,
+                            String firstName,
+                            String lastName,
+                            UserRole role) implements UserDetails {
+
+    public static AuthPrincipal from(User user) {
+        return new AuthPrincipal(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole());
+    }
+
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    // Never carries credentials (the password hash stays in the database)
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    // Same as User => authentication name / auditing / revocation all keyed by email
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+
+}
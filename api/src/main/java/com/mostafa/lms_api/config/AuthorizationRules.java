@@ -0,0 +1,268 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.*;
+
+
+/**
+ * URL authorization rules (source of truth), written like the HttpSecurity chain they replace:
+ * ordered, first match wins, anyRequest() last.
+ * compile() => CompiledAuthorizationManager (segment trie, O(path depth) per request) used by SecurityConfig;
+ * toRequestMatcherChain() => the same rules as Spring's ordered matcher list (equivalence test & benchmark baseline).
+ */
+public final class AuthorizationRules {
+    public enum Access {
+        PERMIT_ALL,
+        AUTHENTICATED,
+        HAS_ANY_ROLE
+    }
+
+    // method null => any method, roles => without "ROLE_" prefix
+    public record Rule(int order, HttpMethod method, String pattern, Access access, Set<String> roles) {
+    }
+
+    private final List<Rule> rules = new ArrayList<>();
+
+
+    public static AuthorizationRules lms() {
+        return new AuthorizationRules()
+                .requestMatchers(
+                        "/api/auth/register",
+                        "/api/auth/login",
+                        "/api/auth/refresh").permitAll()
+                // Swagger/OpenAPI endpoints
+                .requestMatchers(
+                        "/swagger-ui/**",
+                        "/swagger-ui.html",
+                        "/api-docs/**",
+                        "/v3/api-docs/**",
+                        "/swagger-resources/**",
+                        "/webjars/**")
+                .permitAll()
+                // Actuator (health => load balancer, metrics => admins)
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
+                // logout/me
+                .requestMatchers(HttpMethod.GET, "/api/auth/me").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/auth/logout-all").authenticated()
+                // ((Users)) //
+                .requestMatchers(HttpMethod.PUT, "/api/users/{userId}").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/users/{userId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/users").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/users/{userId}").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/users/follow/{followingId}").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/users/unfollow/{followingId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followers/count").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followings/count").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followers").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followings").authenticated()
+                // ((Courses)) //
+                .requestMatchers(HttpMethod.POST, "/api/courses").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/courses/{courseId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/courses/{courseId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/courses").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/courses/search").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}/tree").authenticated()
+                // Create Course Transactional
+                .requestMatchers(HttpMethod.POST, "/api/courses/transaction")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/courses/transaction/import")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+
+                // ((Sections)) //
+                .requestMatchers(HttpMethod.POST, "/api/sections").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/sections/{sectionId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/sections/{sectionId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/sections/course/{courseId}").authenticated()
+                // ((Videos)) //
+                .requestMatchers(HttpMethod.POST, "/api/videos").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/videos/{videoId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/videos/{videoId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/videos/section/{sectionId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/videos/{videoId}/content").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/videos/{videoId}/hls/{file}").authenticated()
+                // ((Files)) //
+                .requestMatchers(HttpMethod.POST, "/api/files").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/files/{fileId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/files/{fileId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/files/section/{sectionId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/files/{fileId}/content").authenticated()
+                // ((Uploads)) => chunked, resumable (Video / File created on complete)
+                .requestMatchers(HttpMethod.POST, "/api/uploads").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/uploads/{uploadId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/uploads/{uploadId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/uploads/{uploadId}/chunks/{chunkIndex}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/uploads/{uploadId}/complete")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+
+                // ((Progress)) //
+                // Create OR Update
+                .requestMatchers(HttpMethod.PUT, "/api/progress/videos/{videoId}")
+                .hasAnyRole("USER", "INSTRUCTOR")
+                // Course-Progress
+                .requestMatchers(HttpMethod.GET, "/api/progress/videos/{videoId}")
+                .hasAnyRole("USER", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}")
+                .hasAnyRole("ADMIN", "USER", "INSTRUCTOR")
+                // User-Progress
+                .requestMatchers(HttpMethod.GET, "/api/progress/my-progress").authenticated()
+                // Mark Video-Completed
+                .requestMatchers(HttpMethod.PATCH, "/api/progress/videos/{videoId}/complete")
+                .authenticated()
+                // Instructor Analytics
+                .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}/analytics")
+                .hasAnyRole("INSTRUCTOR", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}/completed-users")
+                .hasAnyRole("INSTRUCTOR", "ADMIN")
+
+                // ((Enrollments)) //
+                .requestMatchers(HttpMethod.POST, "/api/enrollments")
+                .hasAnyRole("USER", "INSTRUCTOR", "ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/enrollments/bulk").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/enrollments/user/{userId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/enrollments/section/{sectionId}").authenticated()
+                // ((Quizzes))
+                .requestMatchers(HttpMethod.POST, "/api/quizzes").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.PUT, "/api/quizzes/{quizId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.DELETE, "/api/quizzes/{quizId}")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.GET, "/api/quizzes").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/quizzes/{quizId}/take").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/quizzes/{quizId}").hasAnyRole("ADMIN", "INSTRUCTOR")
+                .requestMatchers(HttpMethod.POST, "/api/quizzes/{quizId}/submit").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/quizzes/my-attempts").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/quizzes/user/{userId}/attempts")
+                .hasAnyRole("ADMIN", "INSTRUCTOR")
+
+
+                //  ((Posts))  //
+                .requestMatchers(HttpMethod.POST, "/api/posts").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/posts/{postId}").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/posts/{postId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/posts").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/posts/{postId}").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/posts/{postId}/like").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/posts/user/{userId}").authenticated()
+                //  ((Comments))  //
+                .requestMatchers(HttpMethod.POST, "/api/comments").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/comments/{commentId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/comments/{commentId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/comments/post/{postId}").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/comments/{commentId}/like").authenticated()
+                //  ((Replies))  //
+                .requestMatchers(HttpMethod.POST, "/api/replies").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/replies/{replyId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/replies/comment/{commentId}").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/replies/{replyId}/like").authenticated()
+                //  ((Notifications))  //
+                .requestMatchers(HttpMethod.GET, "/api/notifications").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/notifications/{notificationId}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/notifications/unread-count").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/notifications/read/{id}").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/api/notifications/read-all").authenticated()
+                .anyRequest()
+                .authenticated();
+    }
+
+
+    // ********************************** ((Builder)) **************************************** //
+    public Matched requestMatchers(String... patterns) {
+        return new Matched(null, patterns);
+    }
+
+    public Matched requestMatchers(HttpMethod method, String... patterns) {
+        return new Matched(method, patterns);
+    }
+
+    public Matched anyRequest() {
+        return new Matched(null, "/**");
+    }
+
+    public final class Matched {
+        private final HttpMethod method;
+        private final String[] patterns;
+
+        private Matched(HttpMethod method, String... patterns) {
+            this.method = method;
+            this.patterns = patterns;
+        }
+
+        public AuthorizationRules permitAll() {
+            return add(Access.PERMIT_ALL, Set.of());
+        }
+
+        public AuthorizationRules authenticated() {
+            return add(Access.AUTHENTICATED, Set.of());
+        }
+
+        public AuthorizationRules hasRole(String role) {
+            return add(Access.HAS_ANY_ROLE, Set.of(role));
+        }
+
+        public AuthorizationRules hasAnyRole(String... roles) {
+            return add(Access.HAS_ANY_ROLE, Set.of(roles));
+        }
+
+        private AuthorizationRules add(Access access, Set<String> roles) {
+            for (String pattern : patterns) {
+                rules.add(new Rule(rules.size(), method, pattern, access, roles));
+            }
+            return AuthorizationRules.this;
+        }
+    }
+
+
+    public List<Rule> rules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    public CompiledAuthorizationManager compile() {
+        return new CompiledAuthorizationManager(rules);
+    }
+
+    // Spring's evaluation of the same rules => every matcher tried in order until one matches
+    public RequestMatcherDelegatingAuthorizationManager toRequestMatcherChain() {
+        var builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        // Same {var} / ** semantics as the trie, no MVC context needed
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+
+        for (Rule rule : rules) {
+            RequestMatcher matcher = rule.method() == null && rule.pattern().equals("/**")
+                    ? AnyRequestMatcher.INSTANCE
+                    : paths.matcher(rule.method(), rule.pattern());
+            builder.add(matcher, toManager(rule));
+        }
+
+        return builder.build();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static AuthorizationManager<RequestAuthorizationContext> toManager(Rule rule) {
+        return switch (rule.access()) {
+            case PERMIT_ALL -> (authentication, context) -> new AuthorizationDecision(true);
+            case AUTHENTICATED -> AuthenticatedAuthorizationManager.authenticated();
+            case HAS_ANY_ROLE -> AuthorityAuthorizationManager.hasAnyRole(rule.roles().toArray(String[]::new));
+        };
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+
+// Cache names (must also be listed in => spring.cache.cache-names)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String SECTION_ENTITLEMENTS = "sectionEntitlements";
+    public static final String COURSE_TREES = "courseTrees";
+    public static final String USER_ENROLLMENTS = "userEnrollments";
+    public static final String HLS_INDEXES = "hlsIndexes";
+    public static final String STORED_CONTENTS = "storedContents";
+
+
+}
@@ -0,0 +1,225 @@
+package com.mostafa.lms_api.config;
+
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+
+/**
+ * AuthorizationRules compiled into a trie keyed by path segments.
+ * Each node has literal children (hash lookup), one {variable} child and the rules ending there ("/**" rules
+ * match any remainder). A request walks its segments once and keeps the matching rule with the lowest order
+ * => same result as trying the ~80 matchers one by one (first match wins), at O(path depth).
+ */
+public final class CompiledAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final Node root = new Node();
+
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node variable;
+        CompiledRule[] endHere = new CompiledRule[0];    // pattern ends at this node
+        CompiledRule[] remainder = new CompiledRule[0];  // pattern ends with /** at this node
+
+        Node child(String segment) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                return variable != null ? variable : (variable = new Node());
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+    }
+
+    // Authorities precomputed ("ROLE_ADMIN"...)
+    private record CompiledRule(int order, String method, AuthorizationRules.Access access, Set<String> authorities) {
+        boolean matches(String requestMethod) {
+            return method == null || method.equals(requestMethod);
+        }
+    }
+
+
+    CompiledAuthorizationManager(List<AuthorizationRules.Rule> rules) {
+        for (AuthorizationRules.Rule rule : rules) {
+            add(rule);
+        }
+    }
+
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context.getRequest());
+    }
+
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, HttpServletRequest request) {
+        return decide(authentication, request);
+    }
+
+    // Still abstract on AuthorizationManager => kept for callers of the old API only
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context.getRequest());
+    }
+
+
+    // ********************************** ((Matching)) **************************************** //
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, HttpServletRequest request) {
+        CompiledRule rule = match(request.getMethod(), pathWithinApplication(request));
+        if (rule == null) {
+            return DENIED;
+        }
+
+        return switch (rule.access()) {
+            case PERMIT_ALL -> GRANTED;
+            case AUTHENTICATED -> isAuthenticated(authentication.get()) ? GRANTED : DENIED;
+            case HAS_ANY_ROLE -> hasAnyAuthority(authentication.get(), rule.authorities()) ? GRANTED : DENIED;
+        };
+    }
+
+    private CompiledRule match(String method, String path) {
+        CompiledRule best = null;
+        // Literal and {variable} branches can both match a segment => several candidate nodes per depth
+        List<Node> current = new ArrayList<>(2);
+        current.add(root);
+        int start = path.startsWith("/") ? 1 : 0;
+
+        while (true) {
+            // "/**" => any remainder, including none
+            for (Node node : current) {
+                best = lowest(best, node.remainder, method);
+            }
+
+            // Nothing left ("/" or a trailing slash) => only "/**" rules match
+            if (start >= path.length()) {
+                return best;
+            }
+
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+
+            List<Node> next = new ArrayList<>(2);
+            for (Node node : current) {
+                Node literal = node.literals.get(segment);
+                if (literal != null) {
+                    next.add(literal);
+                }
+                if (node.variable != null) {
+                    next.add(node.variable);
+                }
+            }
+
+            if (next.isEmpty()) {
+                return best;
+            }
+
+            // Last segment => exact patterns end here
+            if (end == path.length()) {
+                for (Node node : next) {
+                    best = lowest(best, node.remainder, method);
+                    best = lowest(best, node.endHere, method);
+                }
+                return best;
+            }
+
+            current = next;
+            start = end + 1;
+        }
+    }
+
+    // Rules of a node are sorted by order => first one with a matching method is the node's best
+    private static CompiledRule lowest(CompiledRule best, CompiledRule[] rules, String method) {
+        for (CompiledRule rule : rules) {
+            if (best != null && rule.order() >= best.order()) {
+                return best;
+            }
+            if (rule.matches(method)) {
+                return rule;
+            }
+        }
+        return best;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private void add(AuthorizationRules.Rule rule) {
+        String pattern = rule.pattern();
+        boolean remainder = pattern.endsWith("/**");
+        if (remainder) {
+            pattern = pattern.substring(0, pattern.length() - 3);
+        }
+
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.child(segment);
+            }
+        }
+
+        Set<String> authorities = new HashSet<>();
+        rule.roles().forEach(role -> authorities.add("ROLE_" + role));
+        CompiledRule compiled = new CompiledRule(
+                rule.order(),
+                rule.method() != null ? rule.method().name() : null,
+                rule.access(),
+                Set.copyOf(authorities));
+
+        if (remainder) {
+            node.remainder = append(node.remainder, compiled);
+        } else {
+            node.endHere = append(node.endHere, compiled);
+        }
+    }
+
+    private static CompiledRule[] append(CompiledRule[] rules, CompiledRule rule) {
+        CompiledRule[] extended = Arrays.copyOf(rules, rules.length + 1);
+        extended[rules.length] = rule;
+        Arrays.sort(extended, Comparator.comparingInt(CompiledRule::order));
+        return extended;
+    }
+
+    // Servlet path + path info => context path stripped, already decoded & normalized by the container
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null) {
+            return servletPath;
+        }
+        return servletPath == null || servletPath.isEmpty() ? pathInfo : servletPath + pathInfo;
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && !TRUST_RESOLVER.isAnonymous(authentication) && authentication.isAuthenticated();
+    }
+
+    // Same as hasAnyRole(): anonymous only has ROLE_ANONYMOUS
+    private static boolean hasAnyAuthority(Authentication authentication, Set<String> authorities) {
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authorities.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+}
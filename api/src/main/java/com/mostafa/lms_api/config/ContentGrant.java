@@ -0,0 +1,14 @@
+package com.mostafa.lms_api.config;
+
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+/**
+ * Principal of a request authorized by a signed content URL (SignedUrlFilter): ONE resource
+ * ("/api/videos/{id}" => its /content & /hls/*, "/api/files/{id}" => its /content) for one viewer until expiresAt.
+ * userId => null for anonymous viewers of preview content.
+ */
+public record ContentGrant(UUID userId, String resource, Instant expiresAt) {
+}
@@ -0,0 +1,141 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+
+/**
+ * Content URLs handed out in responses carry (viewer, expiry, HMAC-SHA256 of resource + viewer + expiry)
+ * => SignedUrlFilter authorizes media requests from the URL alone, no entitlement query per byte range / segment.
+ * Expiries are rounded up to EXPIRY_STEP => the same viewer gets the same URL for a while (browser & player caches hit).
+ */
+@Component
+public class ContentUrlSigner {
+    public static final String PARAM_EXPIRES = "exp";
+    public static final String PARAM_USER = "uid";
+    public static final String PARAM_SIGNATURE = "sig";
+
+    private static final String VIDEOS = "/api/videos/";
+    private static final String FILES = "/api/files/";
+    private static final long EXPIRY_STEP_SECONDS = 10 * 60;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    // Mac is stateful => one per thread, no locking on the media path
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+
+    public ContentUrlSigner(@Value("${lms.content.url-secret}") String secret,
+                            @Value("${lms.content.url-ttl:4h}") Duration ttl) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttl.toSeconds();
+    }
+
+
+    public static String videoResource(UUID videoId) {
+        return VIDEOS + videoId;
+    }
+
+    public static String fileResource(UUID fileId) {
+        return FILES + fileId;
+    }
+
+    // "/api/videos/{id}/content" => signed for the viewer, anything else (external URLs, null) unchanged
+    public String sign(String url, UUID userId) {
+        if (url == null || resourceOf(url) == null) {
+            return url;
+        }
+
+        return url + "?" + signedQuery(resourceOf(url), userId);
+    }
+
+    // exp=..&uid=..&sig=.. => valid for every path under the resource (playlist => its segments)
+    public String signedQuery(String resource, UUID userId) {
+        long now = Instant.now().getEpochSecond();
+        long expires = ((now + ttlSeconds) / EXPIRY_STEP_SECONDS + 1) * EXPIRY_STEP_SECONDS;
+        String user = userId != null ? userId.toString() : "";
+
+        return PARAM_EXPIRES + "=" + expires
+                + "&" + PARAM_USER + "=" + user
+                + "&" + PARAM_SIGNATURE + "=" + signature(resource, user, expires);
+    }
+
+    // null => not a content path, malformed, expired or forged
+    public ContentGrant verify(String path, String expires, String user, String signature) {
+        String resource = resourceOf(path);
+        if (resource == null || expires == null || user == null || signature == null) {
+            return null;
+        }
+
+        try {
+            long expiresAt = Long.parseLong(expires);
+            if (expiresAt < Instant.now().getEpochSecond()) {
+                return null;
+            }
+
+            byte[] expected = mac(resource, user, expiresAt);
+            byte[] actual = Base64.getUrlDecoder().decode(signature);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            return new ContentGrant(user.isEmpty() ? null : UUID.fromString(user), resource, Instant.ofEpochSecond(expiresAt));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included => bad exp / uid / base64
+            return null;
+        }
+    }
+
+    // "/api/videos/{id}/content" | "/api/videos/{id}/hls/*" | "/api/files/{id}/content" => "/api/videos/{id}" ...
+    public static String resourceOf(String path) {
+        String prefix = path.startsWith(VIDEOS) ? VIDEOS : path.startsWith(FILES) ? FILES : null;
+        if (prefix == null) {
+            return null;
+        }
+
+        int end = path.indexOf('/', prefix.length());
+        if (end <= prefix.length()) {
+            return null;
+        }
+
+        String rest = path.substring(end);
+        boolean content = rest.equals("/content") || (prefix.equals(VIDEOS) && rest.startsWith("/hls/") && rest.indexOf('/', 5) < 0);
+        return content ? path.substring(0, end) : null;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private String signature(String resource, String user, long expires) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(resource, user, expires));
+    }
+
+    private byte[] mac(String resource, String user, long expires) {
+        // Purpose prefix => a content signature can never pass for any other HMAC made with the same secret
+        String payload = "content-url\n" + resource + "\n" + user + "\n" + expires;
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+
+}
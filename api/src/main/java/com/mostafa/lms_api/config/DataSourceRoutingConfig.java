@@ -0,0 +1,78 @@
+package com.mostafa.lms_api.config;
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+// Only active when replicas are configured (lms.datasource.replica-urls) => otherwise Boot's single DataSource is used
+@Configuration
+@ConditionalOnProperty(name = "lms.datasource.replica-urls")
+public class DataSourceRoutingConfig {
+
+
+    // Primary pool => bound from spring.datasource.* & spring.datasource.hikari.* as usual
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${lms.datasource.replica-urls}") String replicaUrls,
+            @Value("${lms.datasource.replica-username:}") String replicaUsername,
+            @Value("${lms.datasource.replica-password:}") String replicaPassword,
+            @Value("${lms.datasource.sticky-window:5s}") Duration stickyWindow) {
+
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .toList();
+
+        String poolName = StringUtils.hasText(primaryDataSource.getPoolName()) ? primaryDataSource.getPoolName() : "lms-primary";
+
+        // Replicas => same pool settings as the primary (copied), own URL/name, read-only connections
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setPoolName(poolName + "-replica-" + i);
+            replica.setReadOnly(true);
+            if (StringUtils.hasText(replicaUsername)) {
+                replica.setUsername(replicaUsername);
+                replica.setPassword(replicaPassword);
+            }
+            replicas.add(replica);
+        }
+
+        return new ReadWriteRoutingDataSource(
+                primaryDataSource, replicas, new ReplicaStickiness(stickyWindow, Clock.systemUTC()));
+    }
+
+    // What JPA / JdbcTemplate use => connection fetched lazily so the read-only flag is already set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+
+}
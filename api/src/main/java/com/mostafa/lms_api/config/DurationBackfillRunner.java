@@ -0,0 +1,34 @@
+package com.mostafa.lms_api.config;
+
+
+import com.mostafa.lms_api.repository.CourseRepo;
+import com.mostafa.lms_api.repository.SectionRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+
+// Sections/Courses created before stored duration totals existed have NULL totals
+// => fill them once on startup (no-op afterwards), deltas keep them correct from then on 😉
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DurationBackfillRunner implements ApplicationRunner {
+    private final SectionRepo sectionRepo;
+    private final CourseRepo courseRepo;
+
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int sections = sectionRepo.backfillTotalDurations();
+        int courses = courseRepo.backfillTotalDurations();
+
+        if (sections > 0 || courses > 0) {
+            log.info("Backfilled duration totals for {} sections and {} courses", sections, courses);
+        }
+    }
+
+
+}
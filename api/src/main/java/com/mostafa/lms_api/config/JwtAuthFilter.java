@@ -1,6 +1,8 @@
 package com.mostafa.lms_api.config;
 
 
+import com.mostafa.lms_api.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +10,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,7 +21,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtHelper jwtHelper;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
 
 
     @Override
@@ -41,9 +41,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        Claims claims;
         try {
-            // Extract username from token
-            username = jwtHelper.extractUsername(token);
+            // Verify signature & expiry once, read username from the claims
+            claims = jwtHelper.extractAllClaims(token);
+            username = claims.getSubject();
         } catch (Exception e) {
             System.err.println("Error extracting username from token: " + e.getMessage());
             // Continue without setting authentication
@@ -51,17 +53,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Logged out (in memory => no DB lookup) => continue as anonymous
+        if (tokenRevocationService.isRevoked(claims)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // If username is valid and no authentication is set
+        // Principal comes from the signed claims (short-lived access token) => no user lookup per request
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                Boolean isTokenValid = jwtHelper.isTokenValid(token, userDetails);
+                AuthPrincipal principal = jwtHelper.toPrincipal(claims);
 
-                if (isTokenValid) {
+                // Tokens without the access claims (issued before refresh tokens) => log in again
+                if (principal != null) {
                     var authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -1,6 +1,8 @@
 package com.mostafa.lms_api.config;
 
 
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
@@ -10,15 +12,23 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.time.Duration;
+import java.util.*;
 import java.util.function.Function;
 
 
 @Component
 public class JwtHelper {
+    // Access tokens are verified by signature only (no DB) => short-lived, refresh tokens renew them
+    public static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofMinutes(10);
+
+    // Access token claims => everything the filter needs to build the principal
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_FIRST_NAME = "fn";
+    public static final String CLAIM_LAST_NAME = "ln";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SESSION_ID = "sid"; // refresh token family
+
     @Value("${jwt.secret}")
     private String JWT_SECRET;
 
@@ -44,19 +54,50 @@ public class JwtHelper {
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString()) // jti => lets a single token be revoked (logout)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24 * 14))
+                .expiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_VALIDITY.toMillis()))
                 .signWith(getSignInKey())
                 .compact();
     }
 
+    // Access token for a login / refresh session
+    public String generateAccessToken(User user, UUID sessionId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId().toString());
+        claims.put(CLAIM_FIRST_NAME, user.getFirstName());
+        claims.put(CLAIM_LAST_NAME, user.getLastName());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_SESSION_ID, sessionId.toString());
+
+        return generateToken(claims, user);
+    }
+
+    // Principal straight from the verified claims => null for tokens without the access claims
+    public AuthPrincipal toPrincipal(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        return new AuthPrincipal(
+                UUID.fromString(userId),
+                claims.getSubject(),
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                UserRole.valueOf(role)
+        );
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    // Signature & expiry verified => throws for invalid / expired tokens
+    public Claims extractAllClaims(String token) {
         return Jwts
                 .parser()
                 .verifyWith(getSignInKey())
@@ -0,0 +1,122 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Routes @Transactional(readOnly = true) work to the replicas (round robin) and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy => the key is resolved on the first statement,
+ * once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+    // Name of the transactions started by primaryReads()
+    static final String PRIMARY_READ = "primary-read";
+
+    private final List<String> replicaKeys;
+    private final List<DataSource> replicas;
+    private final ReplicaStickiness stickiness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaStickiness stickiness) {
+        this.replicas = List.copyOf(replicas);
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            keys.add(REPLICA_PREFIX + i);
+            targets.put(REPLICA_PREFIX + i, this.replicas.get(i));
+        }
+        this.replicaKeys = List.copyOf(keys);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+
+    // Reads that fill long-lived shared caches => a lagging replica must never be cached as the truth
+    // (stickiness only covers the user who wrote, not e.g. a student enrolled by an admin).
+    // REQUIRES_NEW => own primary connection even inside a read-only (replica) transaction, read-only => no stickiness
+    public static TransactionTemplate primaryReads(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        template.setName(PRIMARY_READ);
+        return template;
+    }
+
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = currentPrincipal();
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaKeys.isEmpty() || isPrimaryRead() || stickiness.isSticky(principal)) {
+                return PRIMARY;
+            }
+
+            return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+        }
+
+        // Write transaction => once it commits, this user's reads stick to the primary for a while
+        if (principal != null && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stickiness.markWrite(principal);
+                }
+            });
+        }
+
+        return PRIMARY;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static boolean isPrimaryRead() {
+        return PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName());
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getName();
+    }
+
+
+}
@@ -0,0 +1,56 @@
+package com.mostafa.lms_api.config;
+
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+// Read-your-writes => after a user commits a write, their reads stay on the primary for a short window
+// (long enough for the replicas to catch up). Expired entries are dropped lazily.
+public class ReplicaStickiness {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final Clock clock;
+
+    public ReplicaStickiness(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+
+    public void markWrite(String principal) {
+        if (principal == null) {
+            return;
+        }
+
+        long now = clock.millis();
+        stickyUntil.put(principal, now + window.toMillis());
+
+        if (stickyUntil.size() > PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    public boolean isSticky(String principal) {
+        if (principal == null) {
+            return false;
+        }
+
+        Long until = stickyUntil.get(principal);
+        if (until == null) {
+            return false;
+        }
+        if (until <= clock.millis()) {
+            stickyUntil.remove(principal, until);
+            return false;
+        }
+
+        return true;
+    }
+
+
+}
@@ -0,0 +1,14 @@
+package com.mostafa.lms_api.config;
+
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+
+// @Scheduled housekeeping (token revocation sync & pruning)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+
+}
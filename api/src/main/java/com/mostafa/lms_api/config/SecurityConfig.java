@@ -3,7 +3,6 @@ package com.mostafa.lms_api.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -29,6 +28,7 @@ import java.util.List;
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
+    private final SignedUrlFilter signedUrlFilter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -44,134 +44,11 @@ public class SecurityConfig {
                 })
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> {
-                    auth.requestMatchers(
-                                    "/api/auth/register",
-                                    "/api/auth/login").permitAll()
-                            // Swagger/OpenAPI endpoints
-                            .requestMatchers(
-                                    "/swagger-ui/**",
-                                    "/swagger-ui.html",
-                                    "/api-docs/**",
-                                    "/v3/api-docs/**",
-                                    "/swagger-resources/**",
-                                    "/webjars/**")
-                            .permitAll()
-                            // logout/me
-                            .requestMatchers(HttpMethod.GET, "/api/auth/me").authenticated()
-                            .requestMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
-                            // ((Users)) //
-                            .requestMatchers(HttpMethod.PUT, "/api/users/{userId}").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/users/{userId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/users").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/users/{userId}").authenticated()
-                            .requestMatchers(HttpMethod.POST, "/api/users/follow/{followingId}").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/users/unfollow/{followingId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followers/count").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followings/count").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followers").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/users/{userId}/followings").authenticated()
-                            // ((Courses)) //
-                            .requestMatchers(HttpMethod.POST, "/api/courses").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.PUT, "/api/courses/{courseId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.DELETE, "/api/courses/{courseId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/courses").permitAll()
-                            .requestMatchers(HttpMethod.GET, "/api/courses/search").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}").authenticated()
-                            // Create Course Transactional
-                            .requestMatchers(HttpMethod.POST, "/api/courses/transaction")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-
-                            // ((Sections)) //
-                            .requestMatchers(HttpMethod.POST, "/api/sections").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.PUT, "/api/sections/{sectionId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.DELETE, "/api/sections/{sectionId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/sections/course/{courseId}").authenticated()
-                            // ((Videos)) //
-                            .requestMatchers(HttpMethod.POST, "/api/videos").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.PUT, "/api/videos/{videoId}").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.DELETE, "/api/videos/{videoId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/videos/section/{sectionId}").authenticated()
-                            // ((Files)) //
-                            .requestMatchers(HttpMethod.POST, "/api/files").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.PUT, "/api/files/{fileId}").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.DELETE, "/api/files/{fileId}").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/files/section/{sectionId}").authenticated()
-
-                            // ((Progress)) //
-                            // Create OR Update
-                            .requestMatchers(HttpMethod.PUT, "/api/progress/videos/{videoId}")
-                            .hasAnyRole("USER", "INSTRUCTOR")
-                            // Course-Progress
-                            .requestMatchers(HttpMethod.GET, "/api/progress/videos/{videoId}")
-                            .hasAnyRole("USER", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}")
-                            .hasAnyRole("ADMIN", "USER", "INSTRUCTOR")
-                            // User-Progress
-                            .requestMatchers(HttpMethod.GET, "/api/progress/my-progress").authenticated()
-                            // Mark Video-Completed
-                            .requestMatchers(HttpMethod.PATCH, "/api/progress/videos/{videoId}/complete")
-                            .authenticated()
-                            // Instructor Analytics
-                            .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}/analytics")
-                            .hasAnyRole("INSTRUCTOR", "ADMIN")
-                            .requestMatchers(HttpMethod.GET, "/api/progress/courses/{courseId}/completed-users")
-                            .hasAnyRole("INSTRUCTOR", "ADMIN")
-
-                            // ((Enrollments)) //
-                            .requestMatchers(HttpMethod.POST, "/api/enrollments")
-                            .hasAnyRole("USER", "INSTRUCTOR", "ADMIN")
-                            .requestMatchers(HttpMethod.GET, "/api/enrollments/user/{userId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/enrollments/section/{sectionId}").authenticated()
-                            // ((Quizzes))
-                            .requestMatchers(HttpMethod.POST, "/api/quizzes").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.PUT, "/api/quizzes/{quizId}").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.DELETE, "/api/quizzes/{quizId}")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.GET, "/api/quizzes").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/quizzes/{quizId}/take").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/quizzes/{quizId}").hasAnyRole("ADMIN", "INSTRUCTOR")
-                            .requestMatchers(HttpMethod.POST, "/api/quizzes/{quizId}/submit").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/quizzes/my-attempts").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/quizzes/user/{userId}/attempts")
-                            .hasAnyRole("ADMIN", "INSTRUCTOR")
-
-
-                            //  ((Posts))  //
-                            .requestMatchers(HttpMethod.POST, "/api/posts").authenticated()
-                            .requestMatchers(HttpMethod.PUT, "/api/posts/{postId}").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/posts/{postId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/posts").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/posts/{postId}").authenticated()
-                            .requestMatchers(HttpMethod.POST, "/api/posts/{postId}/like").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/posts/user/{userId}").authenticated()
-                            //  ((Comments))  //
-                            .requestMatchers(HttpMethod.POST, "/api/comments").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/comments/{commentId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/comments/{commentId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/comments/post/{postId}").authenticated()
-                            .requestMatchers(HttpMethod.POST, "/api/comments/{commentId}/like").authenticated()
-                            //  ((Replies))  //
-                            .requestMatchers(HttpMethod.POST, "/api/replies").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/replies/{replyId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/replies/comment/{commentId}").authenticated()
-                            .requestMatchers(HttpMethod.POST, "/api/replies/{replyId}/like").authenticated()
-                            //  ((Notifications))  //
-                            .requestMatchers(HttpMethod.GET, "/api/notifications").authenticated()
-                            .requestMatchers(HttpMethod.DELETE, "/api/notifications/{notificationId}").authenticated()
-                            .requestMatchers(HttpMethod.GET, "/api/notifications/unread-count").authenticated()
-                            .requestMatchers(HttpMethod.PUT, "/api/notifications/read/{id}").authenticated()
-                            .requestMatchers(HttpMethod.PUT, "/api/notifications/read-all").authenticated()
-                            .anyRequest()
-                            .authenticated();
-
-                })
+                // URL rules => AuthorizationRules (ordered, first match wins), compiled into a segment trie
+                .authorizeHttpRequests(auth -> auth.anyRequest().access(AuthorizationRules.lms().compile()))
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Signed media URLs (<video src>, HLS segments) => checked after the bearer token, replaces it
+                .addFilterBefore(signedUrlFilter, UsernamePasswordAuthenticationFilter.class)
                 .authenticationManager(authenticationManager(http));
 
         return http.build();
@@ -0,0 +1,58 @@
+package com.mostafa.lms_api.config;
+
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * Media requests carrying a signed URL (ContentUrlSigner) => authorized from the URL alone: one HMAC, no token
+ * lookup, no entitlement query. The principal becomes a ContentGrant for that one resource, which the content
+ * services trust instead of re-checking the enrollment. Requests without a signature go through JwtAuthFilter as before.
+ */
+@Component
+@RequiredArgsConstructor
+public class SignedUrlFilter extends OncePerRequestFilter {
+    private final ContentUrlSigner contentUrlSigner;
+
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getParameter(ContentUrlSigner.PARAM_SIGNATURE) == null
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        ContentGrant grant = contentUrlSigner.verify(
+                path,
+                request.getParameter(ContentUrlSigner.PARAM_EXPIRES),
+                request.getParameter(ContentUrlSigner.PARAM_USER),
+                request.getParameter(ContentUrlSigner.PARAM_SIGNATURE));
+
+        // Expired / tampered => the client fetches a fresh URL from the listing
+        if (grant == null) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Content URL is invalid or has expired");
+            return;
+        }
+
+        // Signed URL wins over any bearer token => the services see exactly what was signed
+        var authToken = new UsernamePasswordAuthenticationToken(grant, null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        filterChain.doFilter(request, response);
+    }
+
+
+}
@@ -0,0 +1,59 @@
+package com.mostafa.lms_api.config;
+
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+// Revoked tokens kept in memory => the JWT filter checks them with two hash lookups, no I/O.
+// jti => token expiry (forgotten once the token would be expired anyway)
+// userId => watermark: every token of the user issued at or before it is revoked (logout everywhere)
+public class TokenDenylist {
+    private final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> watermarks = new ConcurrentHashMap<>();
+    private final long tokenValidityMillis;
+
+    public TokenDenylist(Duration tokenValidity) {
+        this.tokenValidityMillis = tokenValidity.toMillis();
+    }
+
+
+    public void revokeToken(String jti, long expiresAtMillis) {
+        if (jti != null) {
+            revokedJtis.merge(jti, expiresAtMillis, Math::max);
+        }
+    }
+
+    public void revokeAllBefore(UUID userId, long revokedBeforeMillis) {
+        if (userId != null) {
+            watermarks.merge(userId, revokedBeforeMillis, Math::max);
+        }
+    }
+
+    // iat has second precision => a token from the same second as the watermark counts as revoked
+    public boolean isRevoked(String jti, UUID userId, long issuedAtMillis) {
+        if (jti != null && revokedJtis.containsKey(jti)) {
+            return true;
+        }
+
+        if (userId == null) {
+            return false;
+        }
+
+        Long watermark = watermarks.get(userId);
+        return watermark != null && issuedAtMillis <= watermark;
+    }
+
+    public void prune(long nowMillis) {
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        watermarks.values().removeIf(watermark -> watermark + tokenValidityMillis <= nowMillis);
+    }
+
+    public int size() {
+        return revokedJtis.size() + watermarks.size();
+    }
+
+
+}
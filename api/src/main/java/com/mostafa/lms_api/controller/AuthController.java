@@ -3,12 +3,17 @@ package com.mostafa.lms_api.controller;
 
 import com.mostafa.lms_api.dto.auth.LoginRequestDTO;
 import com.mostafa.lms_api.dto.auth.LoginResponseDto;
+import com.mostafa.lms_api.dto.auth.RefreshRequestDTO;
 import com.mostafa.lms_api.dto.auth.RegisterRequestDTO;
 import com.mostafa.lms_api.dto.user.CurrentUserResponseDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
 import com.mostafa.lms_api.service.AuthService;
 import com.mostafa.lms_api.service.UserService;
+import com.mostafa.lms_api.utils.CurrentUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +29,7 @@ import java.util.UUID;
 public class AuthController {
     private final AuthService authService;
     private final UserService userService;
+    private final CurrentUser currentUser;
 
     @PostMapping("/register")
     public ResponseEntity<GlobalResponse<String>> register(@RequestBody RegisterRequestDTO dto) {
@@ -33,18 +39,19 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<GlobalResponse<LoginResponseDto>> login(@RequestBody LoginRequestDTO dto) {
-        Map<String, Object> loginData = authService.login(dto);
+    public ResponseEntity<GlobalResponse<LoginResponseDto>> login(@RequestBody LoginRequestDTO dto,
+                                                                  HttpServletRequest request) {
+        Map<String, Object> loginData = authService.login(dto, request.getRemoteAddr());
 
-        // Safe casting with proper handling
-        LoginResponseDto response = new LoginResponseDto(
-                (String) loginData.get("token"),
-                (UUID) loginData.get("userId"),
-                (String) loginData.get("username"),
-                (String) loginData.get("email")
-        );
+        return new ResponseEntity<>(new GlobalResponse<>(toLoginResponse(loginData)), HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(new GlobalResponse<>(response), HttpStatus.OK);
+    // Rotate refresh token => new access + refresh pair
+    @PostMapping("/refresh")
+    public ResponseEntity<GlobalResponse<LoginResponseDto>> refresh(@Valid @RequestBody RefreshRequestDTO dto) {
+        Map<String, Object> tokenData = authService.refresh(dto);
+
+        return new ResponseEntity<>(new GlobalResponse<>(toLoginResponse(tokenData)), HttpStatus.OK);
     }
 
     @GetMapping("/me")
@@ -85,11 +92,34 @@ public class AuthController {
 //    }
 
     @PostMapping("/logout")
-    public ResponseEntity<GlobalResponse<String>> logout() {
-        // Clear security context
+    public ResponseEntity<GlobalResponse<String>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        // Revoke this token, then clear security context
+        authService.logout(authHeader);
         SecurityContextHolder.clearContext();
         return new ResponseEntity<>(new GlobalResponse<>("Logged out successfully"), HttpStatus.OK);
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<GlobalResponse<String>> logoutAll() {
+        // Revoke every token of the user (all devices)
+        authService.logoutAll(currentUser.getCurrentUserId());
+        SecurityContextHolder.clearContext();
+        return new ResponseEntity<>(new GlobalResponse<>("Logged out from all devices"), HttpStatus.OK);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private LoginResponseDto toLoginResponse(Map<String, Object> tokenData) {
+        // Safe casting with proper handling
+        return new LoginResponseDto(
+                (String) tokenData.get("token"),
+                (UUID) tokenData.get("userId"),
+                (String) tokenData.get("username"),
+                (String) tokenData.get("email"),
+                (String) tokenData.get("refreshToken"),
+                (Long) tokenData.get("expiresIn")
+        );
+    }
+
 
 }
@@ -4,10 +4,12 @@ package com.mostafa.lms_api.controller;
 import com.mostafa.lms_api.dto.PaginatedResponse;
 import com.mostafa.lms_api.dto.course.CourseResponseDTO;
 import com.mostafa.lms_api.dto.course.CourseSummaryDTO;
+import com.mostafa.lms_api.dto.course.CourseTreeDTO;
 import com.mostafa.lms_api.dto.course.CreateCourseDTO;
 import com.mostafa.lms_api.dto.course.UpdateCourseDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
 import com.mostafa.lms_api.service.CourseService;
+import com.mostafa.lms_api.service.CourseTreeService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import java.util.UUID;
 @RequestMapping("/api/courses")
 public class CourseController {
     private final CourseService courseService;
+    private final CourseTreeService courseTreeService;
 
 
     //    Create
@@ -121,5 +124,14 @@ public class CourseController {
         return new ResponseEntity<>(new GlobalResponse<>(paginatedResponse), HttpStatus.OK);
     }
 
+    //    Whole Course (sections + videos + files + access) in one response
+    @GetMapping("/{courseId}/tree")
+    public ResponseEntity<GlobalResponse<CourseTreeDTO>> getCourseTree(@PathVariable UUID courseId) {
+        CourseTreeDTO tree = courseTreeService.getCourseTree(courseId);
+        GlobalResponse<CourseTreeDTO> res = new GlobalResponse<>(tree);
+
+        return new ResponseEntity<>(res, HttpStatus.OK);
+    }
+
 
 }
@@ -2,23 +2,25 @@ package com.mostafa.lms_api.controller;
 
 
 import com.mostafa.lms_api.dto.transaction.request.CreateCourseTransaction;
+import com.mostafa.lms_api.dto.transaction.response.CourseImportResponseDTO;
 import com.mostafa.lms_api.dto.transaction.response.CourseTransactionResponseDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
+import com.mostafa.lms_api.service.CourseImportService;
 import com.mostafa.lms_api.service.CourseTransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/courses/transaction")
 public class CourseTransactionController {
     private final CourseTransactionService courseTransactionService;
+    private final CourseImportService courseImportService;
 
 
     //    Create
@@ -31,5 +33,15 @@ public class CourseTransactionController {
         return new ResponseEntity<>(res, HttpStatus.CREATED);
     }
 
+    //    Bulk Import (NDJSON file => one course per line)
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GlobalResponse<CourseImportResponseDTO>> importCourses(
+            @RequestParam("file") MultipartFile file) {
+        CourseImportResponseDTO importResult = courseImportService.importCourses(file);
+        GlobalResponse<CourseImportResponseDTO> res = new GlobalResponse<>(importResult);
+
+        return new ResponseEntity<>(res, HttpStatus.OK);
+    }
+
 
 }
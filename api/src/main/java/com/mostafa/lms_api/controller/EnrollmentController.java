@@ -1,6 +1,8 @@
 package com.mostafa.lms_api.controller;
 
 import com.mostafa.lms_api.dto.PaginatedResponse;
+import com.mostafa.lms_api.dto.enrollment.BulkEnrollmentRequestDTO;
+import com.mostafa.lms_api.dto.enrollment.BulkEnrollmentResponseDTO;
 import com.mostafa.lms_api.dto.enrollment.CreateEnrollmentDTO;
 import com.mostafa.lms_api.dto.enrollment.EnrollmentResponseDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
@@ -33,6 +35,16 @@ public class EnrollmentController {
         return new ResponseEntity<>(res, HttpStatus.CREATED);
     }
 
+    // Bulk Create (cohort onboarding)
+    @PostMapping("/bulk")
+    public ResponseEntity<GlobalResponse<BulkEnrollmentResponseDTO>> createEnrollmentsBulk(
+            @Valid @RequestBody BulkEnrollmentRequestDTO dto) {
+        BulkEnrollmentResponseDTO result = enrollmentService.createEnrollmentsBulk(dto);
+        GlobalResponse<BulkEnrollmentResponseDTO> res = new GlobalResponse<>(result);
+
+        return new ResponseEntity<>(res, HttpStatus.OK);
+    }
+
     // Get All for User
     @GetMapping("/user/{userId}")
     public ResponseEntity<GlobalResponse<PaginatedResponse<EnrollmentResponseDTO>>> getAllEnrollmentsForUser(
@@ -2,12 +2,15 @@ package com.mostafa.lms_api.controller;
 
 
 import com.mostafa.lms_api.dto.PaginatedResponse;
+import com.mostafa.lms_api.dto.StoredContent;
 import com.mostafa.lms_api.dto.file.CreateFileDTO;
 import com.mostafa.lms_api.dto.file.FileResponseDTO;
 import com.mostafa.lms_api.dto.file.UpdateFileDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
+import com.mostafa.lms_api.service.ContentStreamer;
 import com.mostafa.lms_api.service.FileService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -15,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.UUID;
 
 //fileId
@@ -23,6 +27,7 @@ import java.util.UUID;
 @RequestMapping("/api/files")
 public class FileController {
     private final FileService fileService;
+    private final ContentStreamer contentStreamer;
 
 
     //    Create
@@ -84,5 +89,21 @@ public class FileController {
         return new ResponseEntity<>(new GlobalResponse<>(paginatedResponse), HttpStatus.OK);
     }
 
+    // Download / view the file bytes (Range, ETag) => files not on our storage redirect to their URL
+    @GetMapping("/{fileId}/content")
+    public void getFileContent(
+            @PathVariable UUID fileId,
+            HttpServletRequest req,
+            HttpServletResponse res) throws IOException {
+        StoredContent content = fileService.getFileContent(fileId);
+
+        if (content.externalUrl() != null) {
+            res.sendRedirect(content.externalUrl());
+            return;
+        }
+
+        contentStreamer.stream(req, res, content.storageKey(), content.contentType(), content.filename());
+    }
+
 
 }
@@ -0,0 +1,74 @@
+package com.mostafa.lms_api.controller;
+
+
+import com.mostafa.lms_api.dto.upload.CreateUploadDTO;
+import com.mostafa.lms_api.dto.upload.UploadResponseDTO;
+import com.mostafa.lms_api.global.GlobalResponse;
+import com.mostafa.lms_api.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+
+// Resumable uploads => POST session, PUT chunks (raw bytes, any order / in parallel), POST complete
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/uploads")
+public class UploadController {
+    private final UploadService uploadService;
+
+
+    //    Create
+    @PostMapping
+    public ResponseEntity<GlobalResponse<UploadResponseDTO>> createUpload(
+            @Valid @RequestBody CreateUploadDTO dto) {
+        UploadResponseDTO createdUpload = uploadService.createUpload(dto);
+        GlobalResponse<UploadResponseDTO> res = new GlobalResponse<>(createdUpload);
+
+        return new ResponseEntity<>(res, HttpStatus.CREATED);
+    }
+
+    //    Status (received chunks => resume)
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<GlobalResponse<UploadResponseDTO>> getUpload(@PathVariable UUID uploadId) {
+        UploadResponseDTO upload = uploadService.getUpload(uploadId);
+
+        return new ResponseEntity<>(new GlobalResponse<>(upload), HttpStatus.OK);
+    }
+
+    //    Chunk => body streamed straight to storage (never bound to a byte[])
+    @PutMapping("/{uploadId}/chunks/{chunkIndex}")
+    public ResponseEntity<GlobalResponse<String>> uploadChunk(
+            @PathVariable UUID uploadId,
+            @PathVariable int chunkIndex,
+            @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+            HttpServletRequest req) throws IOException {
+        uploadService.writeChunk(uploadId, chunkIndex, checksum, req.getContentLengthLong(), req.getInputStream());
+
+        return new ResponseEntity<>(new GlobalResponse<>("Chunk " + chunkIndex + " Uploaded Success"), HttpStatus.OK);
+    }
+
+    //    Complete => Video / File created
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<GlobalResponse<UploadResponseDTO>> completeUpload(@PathVariable UUID uploadId) {
+        UploadResponseDTO completedUpload = uploadService.completeUpload(uploadId);
+
+        return new ResponseEntity<>(new GlobalResponse<>(completedUpload), HttpStatus.OK);
+    }
+
+    //    Abort
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<GlobalResponse<String>> deleteUpload(@PathVariable UUID uploadId) {
+        String deletedUpload = uploadService.deleteUpload(uploadId);
+
+        return new ResponseEntity<>(new GlobalResponse<>(deletedUpload), HttpStatus.OK);
+    }
+
+
+}
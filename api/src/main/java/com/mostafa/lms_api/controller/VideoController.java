@@ -2,19 +2,26 @@ package com.mostafa.lms_api.controller;
 
 
 import com.mostafa.lms_api.dto.PaginatedResponse;
+import com.mostafa.lms_api.dto.StoredContent;
 import com.mostafa.lms_api.dto.video.CreateVideoDTO;
 import com.mostafa.lms_api.dto.video.UpdateVideoDTO;
 import com.mostafa.lms_api.dto.video.VideoResponseDTO;
 import com.mostafa.lms_api.global.GlobalResponse;
+import com.mostafa.lms_api.service.ContentStreamer;
+import com.mostafa.lms_api.service.HlsService;
 import com.mostafa.lms_api.service.VideoService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.UUID;
 
 
@@ -22,7 +29,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @RequestMapping("/api/videos")
 public class VideoController {
+    private static final MediaType HLS_PLAYLIST = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+
     private final VideoService videoService;
+    private final ContentStreamer contentStreamer;
+    private final HlsService hlsService;
 
 
     //    Create
@@ -84,5 +95,50 @@ public class VideoController {
         return new ResponseEntity<>(new GlobalResponse<>(paginatedResponse), HttpStatus.OK);
     }
 
+    // Uploaded video bytes (Range => seeking) => videos not on our storage redirect to their URL
+    @GetMapping("/{videoId}/content")
+    public void getVideoContent(
+            @PathVariable UUID videoId,
+            HttpServletRequest req,
+            HttpServletResponse res) throws IOException {
+        StoredContent content = videoService.getVideoContent(videoId);
+
+        if (content.externalUrl() != null) {
+            res.sendRedirect(content.externalUrl());
+            return;
+        }
+
+        contentStreamer.stream(req, res, content.storageKey(), content.contentType(), content.filename());
+    }
+
+    // ***************************** ((HLS)) *********************** //
+    // Playlist of a stored (fragmented MP4) video => init.mp4 & {n}.m4s resolve relative to it
+    @GetMapping("/{videoId}/hls/index.m3u8")
+    public ResponseEntity<String> getHlsPlaylist(@PathVariable UUID videoId) {
+        String playlist = hlsService.getPlaylist(videoId);
+
+        return ResponseEntity.ok()
+                .contentType(HLS_PLAYLIST)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(playlist);
+    }
+
+    @GetMapping("/{videoId}/hls/init.mp4")
+    public void getHlsInitSegment(
+            @PathVariable UUID videoId,
+            HttpServletRequest req,
+            HttpServletResponse res) throws IOException {
+        contentStreamer.streamSlice(req, res, hlsService.getInitSegment(videoId));
+    }
+
+    @GetMapping("/{videoId}/hls/{segment}.m4s")
+    public void getHlsSegment(
+            @PathVariable UUID videoId,
+            @PathVariable int segment,
+            HttpServletRequest req,
+            HttpServletResponse res) throws IOException {
+        contentStreamer.streamSlice(req, res, hlsService.getSegment(videoId, segment));
+    }
+
 
 }
@@ -0,0 +1,22 @@
+package com.mostafa.lms_api.dto;
+
+// What a content endpoint streams (storageKey) or redirects to (externalUrl => not on our storage)
+public record StoredContent(String storageKey, String contentType, String filename, String externalUrl) {
+
+    public static StoredContent stored(String storageKey, String contentType, String title) {
+        return new StoredContent(storageKey, contentType, downloadName(title, storageKey), null);
+    }
+
+    public static StoredContent external(String url) {
+        return new StoredContent(null, null, null, url);
+    }
+
+    // Title + extension of the stored object => "Week 1 Slides.pdf"
+    private static String downloadName(String title, String storageKey) {
+        int slash = storageKey.lastIndexOf('/');
+        int dot = storageKey.lastIndexOf('.');
+        String extension = dot > slash ? storageKey.substring(dot) : "";
+
+        return title.endsWith(extension) ? title : title + extension;
+    }
+}
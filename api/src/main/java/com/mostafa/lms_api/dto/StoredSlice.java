@@ -0,0 +1,13 @@
+package com.mostafa.lms_api.dto;
+
+// One HLS segment => already in memory (hot segment) OR a byte range of the stored object (streamed zero copy)
+public record StoredSlice(String storageKey, long offset, long length, String contentType, byte[] bytes) {
+
+    public static StoredSlice cached(byte[] bytes, String contentType) {
+        return new StoredSlice(null, 0, bytes.length, contentType, bytes);
+    }
+
+    public static StoredSlice range(String storageKey, long offset, long length, String contentType) {
+        return new StoredSlice(storageKey, offset, length, contentType, null);
+    }
+}
@@ -6,6 +6,8 @@ public record LoginResponseDto(
         String token,
         UUID userId,
         String username,
-        String email
+        String email,
+        String refreshToken, // POST /api/auth/refresh => new pair (single use)
+        Long expiresIn       // access token lifetime in seconds
 ) {
 }
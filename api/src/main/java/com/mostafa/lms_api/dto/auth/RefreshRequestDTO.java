@@ -0,0 +1,9 @@
+package com.mostafa.lms_api.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequestDTO(
+        @NotBlank(message = "refreshToken is required")
+        String refreshToken
+) {
+}
@@ -0,0 +1,11 @@
+package com.mostafa.lms_api.dto.course;
+
+import com.mostafa.lms_api.dto.section.SectionTreeDTO;
+
+import java.util.List;
+
+public record CourseTreeDTO(
+        CourseResponseDTO course,
+        List<SectionTreeDTO> sections
+) {
+}
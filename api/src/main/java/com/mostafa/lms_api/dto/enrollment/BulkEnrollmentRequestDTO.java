@@ -0,0 +1,14 @@
+package com.mostafa.lms_api.dto.enrollment;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkEnrollmentRequestDTO(
+        @NotEmpty(message = "Enrollments are required")
+        @Size(max = 10000, message = "A bulk request can hold at most 10000 enrollments")
+        List<@Valid CreateEnrollmentDTO> enrollments
+) {
+}
@@ -0,0 +1,11 @@
+package com.mostafa.lms_api.dto.enrollment;
+
+import java.util.List;
+
+public record BulkEnrollmentResponseDTO(
+        int total,
+        int created,
+        int skipped,
+        List<BulkEnrollmentRowDTO> rows
+) {
+}
@@ -0,0 +1,19 @@
+package com.mostafa.lms_api.dto.enrollment;
+
+import com.mostafa.lms_api.enums.BulkEnrollmentOutcome;
+import com.mostafa.lms_api.enums.EnrollmentStatus;
+
+import java.util.UUID;
+
+public record BulkEnrollmentRowDTO(
+        int index,
+        UUID userId,
+        UUID sectionId,
+        BulkEnrollmentOutcome outcome,
+
+
+        //  Only when => CREATED
+        UUID enrollmentId,
+        EnrollmentStatus status
+) {
+}
@@ -0,0 +1,17 @@
+package com.mostafa.lms_api.dto.enrollment;
+
+import com.mostafa.lms_api.enums.EnrollmentStatus;
+
+import java.util.UUID;
+
+// One enrollment flattened with its course (projection => no entity graph)
+public record EnrolledSectionRowDTO(
+        UUID courseId,
+        String courseTitle,
+        String courseImg,
+        UUID sectionId,
+        String sectionTitle,
+        Integer sectionSortOrder,
+        EnrollmentStatus status
+) {
+}
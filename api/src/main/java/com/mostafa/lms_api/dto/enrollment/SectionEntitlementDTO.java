@@ -0,0 +1,9 @@
+package com.mostafa.lms_api.dto.enrollment;
+
+import java.util.UUID;
+
+public record SectionEntitlementDTO(
+        UUID courseId,
+        UUID sectionId
+) {
+}
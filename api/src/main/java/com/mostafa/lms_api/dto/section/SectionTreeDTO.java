@@ -0,0 +1,26 @@
+package com.mostafa.lms_api.dto.section;
+
+import com.mostafa.lms_api.dto.file.FileResponseDTO;
+import com.mostafa.lms_api.dto.video.VideoResponseDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record SectionTreeDTO(
+        UUID id,
+        String title,
+        String description,
+        Boolean isPublished,
+        BigDecimal price,
+        Integer sortOrder,
+        Long totalDurationSeconds,
+        String duration,
+        boolean hasAccess,
+
+
+        //  Content
+        List<VideoResponseDTO> videos,
+        List<FileResponseDTO> files
+) {
+}
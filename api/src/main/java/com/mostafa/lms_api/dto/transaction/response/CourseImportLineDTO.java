@@ -0,0 +1,12 @@
+package com.mostafa.lms_api.dto.transaction.response;
+
+import java.util.UUID;
+
+public record CourseImportLineDTO(
+        int lineNumber,
+        boolean success,
+        UUID courseId,
+        String title,
+        String error
+) {
+}
@@ -0,0 +1,12 @@
+package com.mostafa.lms_api.dto.transaction.response;
+
+import java.util.List;
+
+public record CourseImportResponseDTO(
+        int totalLines,
+        int imported,
+        int failed,
+
+        List<CourseImportLineDTO> lines
+) {
+}
@@ -0,0 +1,40 @@
+package com.mostafa.lms_api.dto.upload;
+
+import com.mostafa.lms_api.enums.UploadTarget;
+import jakarta.validation.constraints.*;
+
+import java.util.UUID;
+
+public record CreateUploadDTO(
+        @NotNull(message = "Upload target is required (VIDEO or FILE)")
+        UploadTarget target,
+
+        @NotBlank(message = "Title is required")
+        @Size(min = 3, max = 200, message = "Title must be between 3 and 200 characters")
+        String title,
+
+        @NotBlank(message = "Filename is required")
+        @Size(max = 255, message = "Filename must be at most 255 characters")
+        String filename,
+
+        @Size(max = 128, message = "Content type must be at most 128 characters")
+        String contentType,
+
+        @NotNull(message = "Total size is required")
+        @Min(value = 1, message = "Total size must be at least 1 byte")
+        Long totalSize,
+
+        Boolean isPreview,
+
+        @Min(value = 1, message = "Sort order must be at least 1")
+        @Max(value = 60, message = "Sort order cannot be greater than 60")
+        Integer sortOrder,
+
+        // Videos only => corrected by the duration probe once uploaded
+        @Min(value = 1, message = "Duration must be at least 1 second")
+        Integer durationSeconds,
+
+        @NotNull(message = "Section ID is required")
+        UUID sectionId
+) {
+}
@@ -0,0 +1,21 @@
+package com.mostafa.lms_api.dto.upload;
+
+import com.mostafa.lms_api.enums.UploadStatus;
+import com.mostafa.lms_api.enums.UploadTarget;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record UploadResponseDTO(
+        UUID id,
+        UploadTarget target,
+        UploadStatus status,
+        Long totalSize,
+        Integer chunkSize,
+        Integer chunkCount,
+        List<Integer> receivedChunks, // resume => PUT the missing indexes
+        Instant expiresAt,
+        UUID resourceId // created Video / File (COMPLETED)
+) {
+}
@@ -0,0 +1,15 @@
+package com.mostafa.lms_api.dto.user;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EnrolledCourseDTO(
+        UUID id,
+        String title,
+        String courseImg,
+
+
+        //  Only the sections the user is enrolled in
+        List<EnrolledSectionDTO> sections
+) {
+}
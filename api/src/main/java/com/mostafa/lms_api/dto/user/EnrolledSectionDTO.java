@@ -0,0 +1,14 @@
+package com.mostafa.lms_api.dto.user;
+
+import com.mostafa.lms_api.enums.EnrollmentStatus;
+
+import java.util.UUID;
+
+public record EnrolledSectionDTO(
+        UUID id,
+        String title,
+        Integer sortOrder,
+        EnrollmentStatus status,
+        boolean isEnrolled
+) {
+}
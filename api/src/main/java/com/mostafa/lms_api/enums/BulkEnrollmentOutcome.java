@@ -0,0 +1,9 @@
+package com.mostafa.lms_api.enums;
+
+public enum BulkEnrollmentOutcome {
+    CREATED,
+    ALREADY_ENROLLED,
+    DUPLICATE_ROW,
+    USER_NOT_FOUND,
+    SECTION_NOT_FOUND
+}
@@ -0,0 +1,7 @@
+package com.mostafa.lms_api.enums;
+
+
+public enum RevocationType {
+    TOKEN,      // one token (jti) => logout
+    ALL_TOKENS  // every token of the user issued up to revokedBefore => logout everywhere
+}
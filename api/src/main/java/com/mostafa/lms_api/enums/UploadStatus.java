@@ -0,0 +1,7 @@
+package com.mostafa.lms_api.enums;
+
+
+public enum UploadStatus {
+    IN_PROGRESS, // accepting chunks
+    COMPLETED    // published & Video/File created => further chunks rejected
+}
@@ -0,0 +1,7 @@
+package com.mostafa.lms_api.enums;
+
+
+public enum UploadTarget {
+    VIDEO, // completed upload => Video row
+    FILE   // completed upload => File row
+}
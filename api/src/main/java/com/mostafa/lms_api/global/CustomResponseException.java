@@ -9,6 +9,11 @@ import lombok.Getter;
 public class CustomResponseException extends RuntimeException {
     private String message;
     private int code;
+    private Long retryAfterSeconds; // 429 / 503 => Retry-After header
+
+    public CustomResponseException(String message, int code) {
+        this(message, code, null);
+    }
 
     public static CustomResponseException ResourceNotFound(String message) {
         return new CustomResponseException(message, 404);
@@ -22,5 +27,17 @@ public class CustomResponseException extends RuntimeException {
         return new CustomResponseException(message, 400);
     }
 
+    public static CustomResponseException Forbidden(String message) {
+        return new CustomResponseException(message, 403);
+    }
+
+    public static CustomResponseException TooManyRequests(String message, long retryAfterSeconds) {
+        return new CustomResponseException(message, 429, retryAfterSeconds);
+    }
+
+    public static CustomResponseException ServiceUnavailable(String message, long retryAfterSeconds) {
+        return new CustomResponseException(message, 503, retryAfterSeconds);
+    }
+
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.mostafa.lms_api.global;
 
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,7 +31,11 @@ public class GlobalExceptionHandler {
         List<GlobalResponse.ErrorItem> errors = List.of(
                 new GlobalResponse.ErrorItem(ex.getMessage())
         );
-        return new ResponseEntity<>(new GlobalResponse<>(errors), HttpStatus.resolve(ex.getCode()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getCode());
+        if (ex.getRetryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(new GlobalResponse<>(errors));
     }
 
 
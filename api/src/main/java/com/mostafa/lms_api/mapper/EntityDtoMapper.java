@@ -1,9 +1,11 @@
 package com.mostafa.lms_api.mapper;
 
+import com.mostafa.lms_api.config.ContentUrlSigner;
 import com.mostafa.lms_api.dto.comment.CommentResponseDTO;
 import com.mostafa.lms_api.dto.comment.CreateCommentDTO;
 import com.mostafa.lms_api.dto.course.CourseResponseDTO;
 import com.mostafa.lms_api.dto.course.CourseSummaryDTO;
+import com.mostafa.lms_api.dto.course.CourseTreeDTO;
 import com.mostafa.lms_api.dto.course.CreateCourseDTO;
 import com.mostafa.lms_api.dto.enrollment.EnrollmentResponseDTO;
 import com.mostafa.lms_api.dto.file.CreateFileDTO;
@@ -20,24 +22,34 @@ import com.mostafa.lms_api.dto.reply.ReplyResponseDTO;
 import com.mostafa.lms_api.dto.section.CreateSectionDTO;
 import com.mostafa.lms_api.dto.section.SectionResponseDTO;
 import com.mostafa.lms_api.dto.section.SectionSummaryDTO;
+import com.mostafa.lms_api.dto.section.SectionTreeDTO;
 import com.mostafa.lms_api.dto.transaction.request.CreateCourseTransaction;
 import com.mostafa.lms_api.dto.transaction.request.CreateFileTransaction;
 import com.mostafa.lms_api.dto.transaction.request.CreateSectionTransaction;
 import com.mostafa.lms_api.dto.transaction.request.CreateVideoTransaction;
+import com.mostafa.lms_api.dto.upload.UploadResponseDTO;
 import com.mostafa.lms_api.dto.user.UserResponseDTO;
 import com.mostafa.lms_api.dto.video.CreateVideoDTO;
 import com.mostafa.lms_api.dto.video.VideoResponseDTO;
 import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.model.*;
+import com.mostafa.lms_api.service.FileStorage;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 
 @Component
+@RequiredArgsConstructor
 public class EntityDtoMapper {
+    private final ContentUrlSigner contentUrlSigner;
+
 
     //    ****************************** ((User)) ************************* //
     public UserResponseDTO toUserResponseDTO(User user) {
@@ -130,19 +142,49 @@ public class EntityDtoMapper {
         );
     }
 
-    // NEW: Section response without duration calculation
+    // NEW: Section response with its stored total duration
     public SectionResponseDTO toSectionResponseDTO(Section section) {
-        return new SectionResponseDTO(
+        return toSectionResponseDTO(section, formatDuration(section.getTotalDurationSeconds()));
+    }
+
+    // NEW: Section (+ its content) for the whole-course tree
+    public SectionTreeDTO toSectionTreeDTO(Section section, boolean hasAccess, List<Video> videos, List<File> files) {
+        return new SectionTreeDTO(
                 section.getId(),
                 section.getTitle(),
                 section.getDescription(),
                 section.getIsPublished(),
                 section.getPrice(),
                 section.getSortOrder(),
-                "0 minutes" // Default duration
+                section.getTotalDurationSeconds(),
+                formatDuration(section.getTotalDurationSeconds()),
+                hasAccess,
+                videos.stream().map(video -> toVideoResponseDTOWithAccess(video, hasAccess)).toList(),
+                files.stream().map(file -> toFileResponseDTOWithAccess(file, hasAccess)).toList()
         );
     }
 
+    // NEW: Cached trees are shared by every viewer => content URLs signed per request, for this viewer only
+    public CourseTreeDTO signContentUrls(CourseTreeDTO tree, UUID viewerId) {
+        List<SectionTreeDTO> sections = tree.sections().stream()
+                .map(section -> new SectionTreeDTO(
+                        section.id(),
+                        section.title(),
+                        section.description(),
+                        section.isPublished(),
+                        section.price(),
+                        section.sortOrder(),
+                        section.totalDurationSeconds(),
+                        section.duration(),
+                        section.hasAccess(),
+                        section.videos().stream().map(video -> signContentUrl(video, viewerId)).toList(),
+                        section.files().stream().map(file -> signContentUrl(file, viewerId)).toList()
+                ))
+                .toList();
+
+        return new CourseTreeDTO(tree.course(), sections);
+    }
+
     //    ****************************** ((File)) ************************* //
     public File toFileEntity(CreateFileDTO dto) {
         return File.builder()
@@ -165,12 +207,17 @@ public class EntityDtoMapper {
         return new FileResponseDTO(
                 file.getId(),
                 file.getTitle(),
-                file.getFileUrl(),
+                absoluteUrl(fileUrl(file)),
                 file.getIsPreview()
         );
     }
 
-    // File response with access control
+    // File response with access control, stored files => URL signed for the viewer (SignedUrlFilter)
+    public FileResponseDTO toFileResponseDTOWithAccess(File file, boolean hasAccess, UUID viewerId) {
+        return signContentUrl(toFileResponseDTOWithAccess(file, hasAccess), viewerId);
+    }
+
+    // File response with access control (unsigned => course tree cache)
     public FileResponseDTO toFileResponseDTOWithAccess(File file, boolean hasAccess) {
         // If user has access, show everything. If not, only show preview files
         boolean canAccess = hasAccess || file.getIsPreview();
@@ -178,11 +225,39 @@ public class EntityDtoMapper {
         return new FileResponseDTO(
                 file.getId(),
                 file.getTitle(),
-                canAccess ? file.getFileUrl() : null, // Hide URL if no access
+                canAccess ? fileUrl(file) : null, // Hide URL if no access
                 canAccess // Set to true if user can access
         );
     }
 
+    // Completed upload => File on our storage
+    public File toFileEntity(UploadSession session, Section section) {
+        return File.builder()
+                .title(session.getTitle())
+                .fileUrl(FileStorage.url(session.getStorageKey()))
+                .storageKey(session.getStorageKey())
+                .contentType(session.getContentType())
+                .sizeBytes(session.getTotalSize())
+                .isPreview(session.getIsPreview() != null ? session.getIsPreview() : false)
+                .sortOrder(session.getSortOrder())
+                .section(section)
+                .build();
+    }
+
+    // Stored on our storage => the API serves the bytes, otherwise the hosted URL
+    private String fileUrl(File file) {
+        return file.getStorageKey() != null ? "/api/files/" + file.getId() + "/content" : file.getFileUrl();
+    }
+
+    private FileResponseDTO signContentUrl(FileResponseDTO file, UUID viewerId) {
+        String signedUrl = contentUrlSigner.sign(file.fileUrl(), viewerId);
+        if (signedUrl == null || signedUrl.equals(file.fileUrl())) {
+            return file;
+        }
+
+        return new FileResponseDTO(file.id(), file.title(), absoluteUrl(signedUrl), file.isPreview());
+    }
+
     //    ****************************** ((Video)) ************************* //
     public Video toVideoEntity(CreateVideoDTO dto) {
         return Video.builder()
@@ -205,8 +280,61 @@ public class EntityDtoMapper {
                 .build();
     }
 
+    // Completed upload => Video on our storage
+    public Video toVideoEntity(UploadSession session, Section section) {
+        return Video.builder()
+                .title(session.getTitle())
+                .videoUrl(FileStorage.url(session.getStorageKey()))
+                .storageKey(session.getStorageKey())
+                .contentType(session.getContentType())
+                .sizeBytes(session.getTotalSize())
+                .sortOrder(session.getSortOrder())
+                .durationSeconds(session.getDurationSeconds())
+                .isPreview(session.getIsPreview() != null ? session.getIsPreview() : false)
+                .section(section)
+                .build();
+    }
+
+    // Stored on our storage => the API serves the bytes, otherwise the hosted URL
+    private String videoUrl(Video video) {
+        return video.getStorageKey() != null ? "/api/videos/" + video.getId() + "/content" : video.getVideoUrl();
+    }
+
+    // Same query also opens /hls/index.m3u8 of the video (the signature covers the whole "/api/videos/{id}")
+    private VideoResponseDTO signContentUrl(VideoResponseDTO video, UUID viewerId) {
+        String signedUrl = contentUrlSigner.sign(video.videoUrl(), viewerId);
+        if (signedUrl == null || signedUrl.equals(video.videoUrl())) {
+            return video;
+        }
+
+        return new VideoResponseDTO(
+                video.id(),
+                video.title(),
+                absoluteUrl(signedUrl),
+                video.isPreview(),
+                video.durationSeconds(),
+                video.formattedDuration(),
+                video.sortOrder()
+        );
+    }
+
+    // API path => absolute URL on the API origin (the client is served from another origin and uses it as is),
+    // scheme & host of the current request (X-Forwarded-* behind the proxy); no request (benchmarks, jobs) => unchanged
+    private static String absoluteUrl(String url) {
+        if (url == null || !url.startsWith("/") || RequestContextHolder.getRequestAttributes() == null) {
+            return url;
+        }
+
+        return ServletUriComponentsBuilder.fromCurrentContextPath().toUriString() + url;
+    }
+
     // Helper method to format duration
     private String formatDuration(Integer durationSeconds) {
+        return formatDuration(durationSeconds != null ? durationSeconds.longValue() : null);
+    }
+
+    // Helper method to format duration (Videos & Sections totals) => public for the benchmarks module
+    public String formatDuration(Long durationSeconds) {
         if (durationSeconds == null || durationSeconds == 0) {
             return "0 seconds";
         }
@@ -230,7 +358,7 @@ public class EntityDtoMapper {
         return new VideoResponseDTO(
                 video.getId(),
                 video.getTitle(),
-                video.getVideoUrl(),
+                absoluteUrl(videoUrl(video)),
                 video.getIsPreview(),
                 video.getDurationSeconds(),
                 formattedDuration,
@@ -238,7 +366,12 @@ public class EntityDtoMapper {
         );
     }
 
-    // Video response with access control
+    // Video response with access control, stored videos => URL signed for the viewer (SignedUrlFilter)
+    public VideoResponseDTO toVideoResponseDTOWithAccess(Video video, boolean hasAccess, UUID viewerId) {
+        return signContentUrl(toVideoResponseDTOWithAccess(video, hasAccess), viewerId);
+    }
+
+    // Video response with access control (unsigned => course tree cache)
     public VideoResponseDTO toVideoResponseDTOWithAccess(Video video, boolean hasAccess) {
         String formattedDuration = formatDuration(video.getDurationSeconds());
 
@@ -248,7 +381,7 @@ public class EntityDtoMapper {
         return new VideoResponseDTO(
                 video.getId(),
                 video.getTitle(),
-                canAccess ? video.getVideoUrl() : null, // Hide URL if no access
+                canAccess ? videoUrl(video) : null, // Hide URL if no access
                 canAccess, // Set to true if user can access
                 canAccess ? video.getDurationSeconds() : null, // Hide duration if no access
                 canAccess ? formattedDuration : "Preview only",
@@ -681,6 +814,22 @@ public class EntityDtoMapper {
     }
 
 
+    //    ****************************** ((Uploads)) ************************* //
+    public UploadResponseDTO toUploadResponseDTO(UploadSession session, List<Integer> receivedChunks) {
+        return new UploadResponseDTO(
+                session.getId(),
+                session.getTarget(),
+                session.getStatus(),
+                session.getTotalSize(),
+                session.getChunkSize(),
+                session.getChunkCount(),
+                receivedChunks,
+                session.getExpiresAt(),
+                session.getResourceId()
+        );
+    }
+
+
     //    ****************************** ((Notifications)) ************************* //
     public NotificationDTO toNotificationDTO(Notification notification) {
         return new NotificationDTO(
@@ -6,6 +6,7 @@ import com.mostafa.lms_api.enums.CourseLevel;
 import com.mostafa.lms_api.enums.CourseStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -14,6 +15,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "courses")
+@DynamicUpdate // Only write changed columns => don't overwrite durations maintained by SQL deltas
 @Builder
 @Getter
 @Setter
@@ -49,6 +51,11 @@ public class Course extends BaseEntity<UUID> {
     @Builder.Default
     private Double estimatedDurationHours = 0.0;
 
+    // Sum of all sections totalDurationSeconds => maintained by deltas (DurationTracker)
+    @Column(name = "total_duration_seconds", updatable = false)
+    @Builder.Default
+    private Long totalDurationSeconds = 0L;
+
     @Column(name = "is_published")
     @Builder.Default
     private Boolean isPublished = true;
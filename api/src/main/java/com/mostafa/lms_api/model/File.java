@@ -22,6 +22,17 @@ public class File extends BaseEntity<UUID> {
     @Column(name = "file_url", nullable = false)
     private String fileUrl;
 
+    // Stored on our own storage (FileStorage) => served by GET /api/files/{fileId}/content
+    // null => hosted elsewhere (fileUrl only)
+    @Column(name = "storage_key", length = 512)
+    private String storageKey;
+
+    @Column(name = "content_type", length = 128)
+    private String contentType;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
     @Column(name = "is_preview")
     @Builder.Default
     private Boolean isPreview = false; // Free preview files
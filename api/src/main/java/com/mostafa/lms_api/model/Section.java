@@ -34,6 +34,11 @@ public class Section extends BaseEntity<UUID> {
     @Column(name = "sort_order")
     private Integer sortOrder; //  (((for Range)))
 
+    // Sum of videos durationSeconds => maintained by deltas (DurationTracker), never by entity updates
+    @Column(name = "total_duration_seconds", updatable = false)
+    @Builder.Default
+    private Long totalDurationSeconds = 0L;
+
 
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,39 @@
+package com.mostafa.lms_api.model;
+
+import com.mostafa.lms_api.base.BaseEntity;
+import com.mostafa.lms_api.enums.RevocationType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+// Revocation log => replayed into memory on startup (and from other instances), never read per request
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TokenRevocation extends BaseEntity<UUID> {
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RevocationType type;
+
+    @Column(name = "jti", unique = true)
+    private String jti; // TOKEN only
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "revoked_before")
+    private Instant revokedBefore; // ALL_TOKENS only
+
+    // After this no token it covers can still be valid => safe to forget
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
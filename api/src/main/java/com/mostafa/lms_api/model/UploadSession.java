@@ -0,0 +1,82 @@
+package com.mostafa.lms_api.model;
+
+import com.mostafa.lms_api.base.BaseEntity;
+import com.mostafa.lms_api.enums.UploadStatus;
+import com.mostafa.lms_api.enums.UploadTarget;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+// One resumable upload => chunks land in the staging object, complete publishes it & creates the Video/File
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UploadSession extends BaseEntity<UUID> {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false)
+    private UploadTarget target;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private UploadStatus status = UploadStatus.IN_PROGRESS;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "filename")
+    private String filename;
+
+    @Column(name = "content_type", length = 128)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    @Column(name = "staging_key", nullable = false, length = 512)
+    private String stagingKey;
+
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey; // final key once completed
+
+    // Carried over to the created Video / File
+    @Column(name = "is_preview")
+    @Builder.Default
+    private Boolean isPreview = false;
+
+    @Column(name = "sort_order")
+    private Integer sortOrder;
+
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    @Column(name = "resource_id")
+    private UUID resourceId; // created Video / File
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    //    RelationShips
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id", nullable = false)
+    private Section section;
+}
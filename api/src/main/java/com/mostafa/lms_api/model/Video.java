@@ -5,6 +5,7 @@ import com.mostafa.lms_api.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +24,30 @@ public class Video extends BaseEntity<UUID> {
     @Column(name = "video_url", nullable = false)
     private String videoUrl;
 
+    // Uploaded to our own storage (FileStorage) => served by GET /api/videos/{videoId}/content
+    // null => hosted elsewhere (videoUrl only)
+    @Column(name = "storage_key", length = 512)
+    private String storageKey;
+
+    @Column(name = "content_type", length = 128)
+    private String contentType;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    // Read from the container headers (VideoMetadataService) => stored videos only
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "bitrate")
+    private Long bitrate; // bits per second (average)
+
+    @Column(name = "probed_at")
+    private Instant probedAt;
+
     @Column(name = "is_preview")
     @Builder.Default
     private Boolean isPreview = false; // Free preview videos 😉
@@ -6,7 +6,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -18,4 +21,12 @@ public interface CommentLikeRepo extends JpaRepository<CommentLike, UUID> {
     // Count likes for a specific comment
     @Query("SELECT COUNT(cl) FROM CommentLike cl WHERE cl.comment.id = :commentId")
     Long countLikesByCommentId(@Param("commentId") UUID commentId);
+
+    // Likes count for a whole page of comments => [commentId, count] (comments without likes are absent)
+    @Query("SELECT cl.comment.id, COUNT(cl) FROM CommentLike cl WHERE cl.comment.id IN :commentIds GROUP BY cl.comment.id")
+    List<Object[]> countLikesByCommentIds(@Param("commentIds") Collection<UUID> commentIds);
+
+    // Which comments of a page the user liked
+    @Query("SELECT cl.comment.id FROM CommentLike cl WHERE cl.user.id = :userId AND cl.comment.id IN :commentIds")
+    Set<UUID> findLikedCommentIds(@Param("userId") UUID userId, @Param("commentIds") Collection<UUID> commentIds);
 }
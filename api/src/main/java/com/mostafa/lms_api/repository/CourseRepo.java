@@ -3,18 +3,52 @@ package com.mostafa.lms_api.repository;
 import com.mostafa.lms_api.model.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 
 @Repository
 public interface CourseRepo extends JpaRepository<Course, UUID> {
+    //    Course list => owners in the same query
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Course> findAll(Pageable pageable);
+
     // Search By Title
     @Query("SELECT c FROM Course c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     Page<Course> searchByTitle(@Param("title") String title, Pageable pageable);
 
+    // Course ((Tree)) => course + its owner in one query
+    @Query("SELECT c FROM Course c JOIN FETCH c.user WHERE c.id = :courseId")
+    Optional<Course> findByIdWithUser(@Param("courseId") UUID courseId);
+
+    // Apply a duration delta to the course only (e.g. a whole section was deleted)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE courses SET total_duration_seconds = COALESCE(total_duration_seconds, 0) + :delta, " +
+            "estimated_duration = ROUND((COALESCE(total_duration_seconds, 0) + :delta) / 3600.0, 2) " +
+            "WHERE id = :courseId",
+            nativeQuery = true)
+    int applyDurationDelta(@Param("courseId") UUID courseId, @Param("delta") long delta);
+
+    // Backfill courses created before totals existed (run after sections backfill)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE courses c SET total_duration_seconds = t.total, " +
+            "estimated_duration = ROUND(t.total / 3600.0, 2) " +
+            "FROM (SELECT c2.id, COALESCE(SUM(s.total_duration_seconds), 0) AS total " +
+            "FROM courses c2 LEFT JOIN sections s ON s.course_id = c2.id " +
+            "WHERE c2.total_duration_seconds IS NULL GROUP BY c2.id) t " +
+            "WHERE c.id = t.id",
+            nativeQuery = true)
+    int backfillTotalDurations();
+
 }
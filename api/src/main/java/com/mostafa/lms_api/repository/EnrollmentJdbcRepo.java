@@ -0,0 +1,134 @@
+package com.mostafa.lms_api.repository;
+
+
+import com.mostafa.lms_api.enums.EnrollmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+
+/**
+ * Set-based enrollment SQL for bulk onboarding (JDBC => no entity per row).
+ * Lookups are chunked so IN lists stay bounded, inserts go out as chunked multi-row statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentJdbcRepo {
+    private static final int IN_CHUNK_SIZE = 1000;
+    private static final int INSERT_CHUNK_SIZE = 500;   // x 9 binds per row => well under the 32767 bind limit
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+
+    public record UserSection(UUID userId, UUID sectionId) {
+    }
+
+    public record NewEnrollment(UUID id, UUID userId, UUID sectionId, BigDecimal amountPaid, EnrollmentStatus status) {
+    }
+
+
+    // Which of these users exist
+    public Set<UUID> findExistingUserIds(Collection<UUID> userIds) {
+        Set<UUID> existing = new HashSet<>();
+        for (List<UUID> chunk : chunks(userIds)) {
+            existing.addAll(jdbc.queryForList(
+                    "SELECT id FROM users WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk),
+                    UUID.class));
+        }
+
+        return existing;
+    }
+
+    // Price of each existing section (missing sections are simply absent)
+    public Map<UUID, BigDecimal> findSectionPrices(Collection<UUID> sectionIds) {
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (List<UUID> chunk : chunks(sectionIds)) {
+            jdbc.query("SELECT id, price FROM sections WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk),
+                    rs -> {
+                        prices.put(rs.getObject("id", UUID.class), rs.getBigDecimal("price"));
+                    });
+        }
+
+        return prices;
+    }
+
+    // Existing (user, section) pairs among the given users & sections
+    public Set<UserSection> findExistingPairs(Collection<UUID> userIds, Collection<UUID> sectionIds) {
+        Set<UserSection> existing = new HashSet<>();
+        if (sectionIds.isEmpty()) {
+            return existing;
+        }
+
+        // Sections per onboarding are few, users are many => chunk on users only
+        for (List<UUID> chunk : chunks(userIds)) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("userIds", chunk)
+                    .addValue("sectionIds", sectionIds);
+
+            jdbc.query("SELECT user_id, section_id FROM enrollments " +
+                            "WHERE user_id IN (:userIds) AND section_id IN (:sectionIds)",
+                    params,
+                    rs -> {
+                        existing.add(new UserSection(
+                                rs.getObject("user_id", UUID.class),
+                                rs.getObject("section_id", UUID.class)));
+                    });
+        }
+
+        return existing;
+    }
+
+    /**
+     * Multi-row INSERT ... ON CONFLICT DO NOTHING RETURNING id, chunked => rows a concurrent request inserted
+     * meanwhile are simply not returned. Batch update counts can't tell: with reWriteBatchedInserts PgJDBC
+     * reports SUCCESS_NO_INFO for every row, skipped or not.
+     * Returns the IDs that were actually inserted.
+     */
+    public Set<UUID> insertIgnoringConflicts(List<NewEnrollment> enrollments, String auditor) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> inserted = new HashSet<>();
+
+        for (int i = 0; i < enrollments.size(); i += INSERT_CHUNK_SIZE) {
+            // One (?, ?, ...) tuple per row
+            List<Object[]> rows = new ArrayList<>();
+            for (NewEnrollment enrollment : enrollments.subList(i, Math.min(i + INSERT_CHUNK_SIZE, enrollments.size()))) {
+                rows.add(new Object[]{
+                        enrollment.id(), enrollment.amountPaid(), enrollment.status().name(),
+                        enrollment.userId(), enrollment.sectionId(), auditor, now, auditor, now
+                });
+            }
+
+            inserted.addAll(jdbc.queryForList(
+                    "INSERT INTO enrollments (id, amount_paid, status, user_id, section_id, " +
+                            "created_by, created_date, last_modified_by, last_modified_date) " +
+                            "VALUES :rows " +
+                            "ON CONFLICT (user_id, section_id) DO NOTHING " +
+                            "RETURNING id",
+                    new MapSqlParameterSource("rows", rows),
+                    UUID.class));
+        }
+
+        return inserted;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static List<List<UUID>> chunks(Collection<UUID> ids) {
+        List<UUID> all = new ArrayList<>(ids);
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += IN_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + IN_CHUNK_SIZE, all.size())));
+        }
+
+        return chunks;
+    }
+
+
+}
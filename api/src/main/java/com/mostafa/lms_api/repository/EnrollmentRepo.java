@@ -1,5 +1,8 @@
 package com.mostafa.lms_api.repository;
 
+import com.mostafa.lms_api.dto.enrollment.EnrolledSectionRowDTO;
+import com.mostafa.lms_api.dto.enrollment.SectionEntitlementDTO;
+import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.model.Enrollment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,6 +26,54 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, UUID> {
     @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.section.id = :sectionId")
     Optional<Enrollment> findByUserIdAndSectionId(@Param("userId") UUID userId, @Param("sectionId") UUID sectionId);
 
+    // Enroll in ONE statement => status from the section price, duplicates (user_id, section_id) ignored.
+    // Returns the new ID, or nothing if already enrolled / user or section missing
+    @Query(value = "INSERT INTO enrollments (id, amount_paid, status, user_id, section_id, " +
+            "created_by, created_date, last_modified_by, last_modified_date) " +
+            "SELECT gen_random_uuid(), :amountPaid, " +
+            "CASE WHEN CAST(:amountPaid AS numeric) >= s.price THEN 'ACTIVE' ELSE 'PENDING_PAID' END, " +
+            "u.id, s.id, :auditor, LOCALTIMESTAMP, :auditor, LOCALTIMESTAMP " +
+            "FROM sections s JOIN users u ON u.id = :userId " +
+            "WHERE s.id = :sectionId " +
+            "ON CONFLICT (user_id, section_id) DO NOTHING " +
+            "RETURNING id",
+            nativeQuery = true)
+    Optional<UUID> insertIfAbsent(@Param("userId") UUID userId,
+                                  @Param("sectionId") UUID sectionId,
+                                  @Param("amountPaid") BigDecimal amountPaid,
+                                  @Param("auditor") String auditor);
+
+    // Single enrollment with everything the response needs (section -> course -> sections)
+    @Query("SELECT e FROM Enrollment e " +
+            "JOIN FETCH e.section s " +
+            "JOIN FETCH s.course c " +
+            "LEFT JOIN FETCH c.sections " +
+            "WHERE e.id = :enrollmentId")
+    Optional<Enrollment> findByIdWithDetails(@Param("enrollmentId") UUID enrollmentId);
+
+    @Query("SELECT e FROM Enrollment e " +
+            "JOIN FETCH e.section s " +
+            "JOIN FETCH s.course c " +
+            "LEFT JOIN FETCH c.sections " +
+            "WHERE e.user.id = :userId AND e.section.id = :sectionId")
+    Optional<Enrollment> findByUserIdAndSectionIdWithDetails(@Param("userId") UUID userId,
+                                                             @Param("sectionId") UUID sectionId);
+
+    // All (course, section) pairs a user is enrolled in with a given status => ONE query for every course
+    @Query("SELECT new com.mostafa.lms_api.dto.enrollment.SectionEntitlementDTO(s.course.id, s.id) " +
+            "FROM Enrollment e JOIN e.section s " +
+            "WHERE e.user.id = :userId AND e.status = :status")
+    List<SectionEntitlementDTO> findSectionEntitlements(@Param("userId") UUID userId,
+                                                        @Param("status") EnrollmentStatus status);
+
+    // Compact view of a user's enrollments (course & section ids/titles) => ONE query, no lazy loading
+    @Query("SELECT new com.mostafa.lms_api.dto.enrollment.EnrolledSectionRowDTO(" +
+            "c.id, c.title, c.courseImg, s.id, s.title, s.sortOrder, e.status) " +
+            "FROM Enrollment e JOIN e.section s JOIN s.course c " +
+            "WHERE e.user.id = :userId " +
+            "ORDER BY c.title ASC, s.sortOrder ASC")
+    List<EnrolledSectionRowDTO> findEnrolledSectionRows(@Param("userId") UUID userId);
+
     // Find all enrollments for a user with course details
     @Query("SELECT e FROM Enrollment e " +
             "JOIN FETCH e.section s " +
@@ -33,6 +86,7 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, UUID> {
     @Query("SELECT e FROM Enrollment e " +
             "JOIN FETCH e.user u " +
             "JOIN FETCH e.section s " +
+            "JOIN FETCH s.course c " +
             "WHERE e.section.id = :sectionId")
     Page<Enrollment> findAllBySectionIdWithDetails(@Param("sectionId") UUID sectionId, Pageable pageable);
 
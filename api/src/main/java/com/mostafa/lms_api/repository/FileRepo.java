@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 
@@ -17,5 +18,9 @@ public interface FileRepo extends JpaRepository<File, UUID> {
     @Query("SELECT f FROM File f WHERE f.section.id = :sectionId")
     Page<File> findBySectionId(@Param("sectionId") UUID sectionId, Pageable pageable);
 
+    // Course ((Tree)) => every file of the course in one query
+    @Query("SELECT f FROM File f WHERE f.section.course.id = :courseId ORDER BY f.sortOrder ASC")
+    List<File> findAllByCourseIdOrderBySortOrder(@Param("courseId") UUID courseId);
+
 
 }
@@ -3,6 +3,7 @@ package com.mostafa.lms_api.repository;
 import com.mostafa.lms_api.model.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,6 +16,7 @@ import java.util.UUID;
 @Repository
 public interface NotificationRepo extends JpaRepository<Notification, UUID> {
     //    Get All (Notifications-> (Read,unRead))   For ((Specific-User))
+    @EntityGraph(attributePaths = "triggeredByUser")
     Page<Notification> findByUserIdOrderByCreatedDateDesc(UUID userId, Pageable pageable);
 
     //    Get unRead Counts
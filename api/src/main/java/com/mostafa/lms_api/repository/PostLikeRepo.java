@@ -6,7 +6,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -19,5 +22,13 @@ public interface PostLikeRepo extends JpaRepository<PostLike, UUID> {
     @Query("SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = :postId")
     Long countLikesByPostId(@Param("postId") UUID postId);
 
+    // Likes count for a whole page of posts => [postId, count] (posts without likes are absent)
+    @Query("SELECT pl.post.id, COUNT(pl) FROM PostLike pl WHERE pl.post.id IN :postIds GROUP BY pl.post.id")
+    List<Object[]> countLikesByPostIds(@Param("postIds") Collection<UUID> postIds);
+
+    // Which posts of a page the user liked
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.id = :userId AND pl.post.id IN :postIds")
+    Set<UUID> findLikedPostIds(@Param("userId") UUID userId, @Param("postIds") Collection<UUID> postIds);
+
 
 }
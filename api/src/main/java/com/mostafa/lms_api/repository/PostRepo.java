@@ -3,16 +3,27 @@ package com.mostafa.lms_api.repository;
 import com.mostafa.lms_api.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 
 @Repository
 public interface PostRepo extends JpaRepository<Post, UUID> {
     //    Get All Posts for ((Specific-User))
+    @EntityGraph(attributePaths = "user")
     Page<Post> findByUserId(@Param("userId") UUID userId, Pageable pageable);
 
+    //    Feed => posts with their authors in one query
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Post> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Post> findWithUserById(UUID postId);
+
 }
\ No newline at end of file
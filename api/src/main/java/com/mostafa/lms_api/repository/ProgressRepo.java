@@ -3,6 +3,7 @@ package com.mostafa.lms_api.repository;
 import com.mostafa.lms_api.model.Progress;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,15 +17,19 @@ import java.util.UUID;
 @Repository
 public interface ProgressRepo extends JpaRepository<Progress, UUID> {
     // Find specific progress entry
+    @EntityGraph(attributePaths = {"user", "course", "video"})
     Optional<Progress> findByUserIdAndCourseIdAndVideoId(UUID userId, UUID courseId, UUID videoId);
 
     // Find all progress for a user in a specific course
+    @EntityGraph(attributePaths = {"user", "course", "video"})
     List<Progress> findByUserIdAndCourseIdOrderByVideoSortOrderAsc(UUID userId, UUID courseId);
 
     // Find all progress for a user
+    @EntityGraph(attributePaths = {"user", "course", "video"})
     Page<Progress> findByUserIdOrderByLastWatchedAtDesc(UUID userId, Pageable pageable);
 
     // Find all progress for a course (for instructor analytics)
+    @EntityGraph(attributePaths = {"user", "course", "video"})
     Page<Progress> findByCourseIdOrderByLastWatchedAtDesc(UUID courseId, Pageable pageable);
 
     // Find users who completed a specific course (for instructor analytics)
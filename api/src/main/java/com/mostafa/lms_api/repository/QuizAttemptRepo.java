@@ -1,6 +1,7 @@
 package com.mostafa.lms_api.repository;
 
 import com.mostafa.lms_api.model.QuizAttempt;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,5 +15,6 @@ public interface QuizAttemptRepo extends JpaRepository<QuizAttempt, UUID> {
 
     int countByUserIdAndQuizId(UUID userId, UUID quizId);
 
+    @EntityGraph(attributePaths = {"quiz", "quiz.course"})
     List<QuizAttempt> findCompletedAttemptsByUserId(UUID userId);
 }
@@ -2,6 +2,9 @@ package com.mostafa.lms_api.repository;
 
 import com.mostafa.lms_api.model.Question;
 import com.mostafa.lms_api.model.Quiz;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +17,13 @@ import java.util.UUID;
 
 @Repository
 public interface QuizRepo extends JpaRepository<Quiz, UUID> {
+    //    Quiz list => creator & course in the same query
+    @Override
+    @EntityGraph(attributePaths = {"user", "course"})
+    Page<Quiz> findAll(Pageable pageable);
+
     // Instead of trying to fetch both collections at once
-    @Query("SELECT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.id = :quizId")
+    @Query("SELECT q FROM Quiz q JOIN FETCH q.user JOIN FETCH q.course LEFT JOIN FETCH q.questions WHERE q.id = :quizId")
     Optional<Quiz> findByIdWithQuestions(@Param("quizId") UUID quizId);
 
     // Separate method to fetch question options
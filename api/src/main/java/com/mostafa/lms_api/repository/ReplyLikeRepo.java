@@ -6,7 +6,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -19,5 +22,13 @@ public interface ReplyLikeRepo extends JpaRepository<ReplyLike, UUID> {
     @Query("SELECT COUNT(rl) FROM ReplyLike rl WHERE rl.reply.id = :replyId")
     Long countLikesByReplyId(@Param("replyId") UUID replyId);
 
+    // Likes count for a whole page of replys => [replyId, count] (replys without likes are absent)
+    @Query("SELECT rl.reply.id, COUNT(rl) FROM ReplyLike rl WHERE rl.reply.id IN :replyIds GROUP BY rl.reply.id")
+    List<Object[]> countLikesByReplyIds(@Param("replyIds") Collection<UUID> replyIds);
+
+    // Which replys of a page the user liked
+    @Query("SELECT rl.reply.id FROM ReplyLike rl WHERE rl.user.id = :userId AND rl.reply.id IN :replyIds")
+    Set<UUID> findLikedReplyIds(@Param("userId") UUID userId, @Param("replyIds") Collection<UUID> replyIds);
+
 
 }
\ No newline at end of file
@@ -4,10 +4,13 @@ import com.mostafa.lms_api.model.Section;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 
@@ -17,5 +20,32 @@ public interface SectionRepo extends JpaRepository<Section, UUID> {
     @Query("SELECT s FROM Section s WHERE s.course.id = :courseId")
     Page<Section> findByCourseId(@Param("courseId") UUID courseId, Pageable pageable);
 
+    // Course ((Tree)) => ordered sections of the course
+    @Query("SELECT s FROM Section s WHERE s.course.id = :courseId ORDER BY s.sortOrder ASC")
+    List<Section> findAllByCourseIdOrderBySortOrder(@Param("courseId") UUID courseId);
+
+
+    // ***************************** ((Durations)) *********************** //
+    // Apply (newDuration - oldDuration) to the section AND its course in ONE statement
+    @Modifying
+    @Transactional
+    @Query(value = "WITH updated_section AS (" +
+            "UPDATE sections SET total_duration_seconds = COALESCE(total_duration_seconds, 0) + :delta " +
+            "WHERE id = :sectionId RETURNING course_id) " +
+            "UPDATE courses c SET total_duration_seconds = COALESCE(c.total_duration_seconds, 0) + :delta, " +
+            "estimated_duration = ROUND((COALESCE(c.total_duration_seconds, 0) + :delta) / 3600.0, 2) " +
+            "FROM updated_section s WHERE c.id = s.course_id",
+            nativeQuery = true)
+    int applyDurationDelta(@Param("sectionId") UUID sectionId, @Param("delta") long delta);
+
+    // Backfill sections created before totals existed (total_duration_seconds IS NULL)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE sections s SET total_duration_seconds = " +
+            "COALESCE((SELECT SUM(v.duration_seconds) FROM videos v WHERE v.section_id = s.id), 0) " +
+            "WHERE s.total_duration_seconds IS NULL",
+            nativeQuery = true)
+    int backfillTotalDurations();
+
 
 }
@@ -0,0 +1,30 @@
+package com.mostafa.lms_api.repository;
+
+import com.mostafa.lms_api.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+
+@Repository
+public interface TokenRevocationRepo extends JpaRepository<TokenRevocation, UUID> {
+    // Startup => everything that still revokes a live token
+    List<TokenRevocation> findByExpiresAtAfter(Instant now);
+
+    // Periodic sync => revocations written (by any instance) since the last sync
+    List<TokenRevocation> findByCreatedDateAfterAndExpiresAtAfter(LocalDateTime since, Instant now);
+
+    boolean existsByJti(String jti);
+
+    //    Prune entries whose tokens are expired anyway
+    @Modifying
+    @Query("DELETE FROM TokenRevocation tr WHERE tr.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
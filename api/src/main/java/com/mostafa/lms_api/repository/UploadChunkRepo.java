@@ -0,0 +1,49 @@
+package com.mostafa.lms_api.repository;
+
+import com.mostafa.lms_api.model.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+
+@Repository
+public interface UploadChunkRepo extends JpaRepository<UploadChunk, UUID> {
+    // ONE statement per chunk => a retried / re-sent chunk just replaces its checksum
+    // Own transaction => chunk uploads run outside any service transaction
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO upload_chunks (id, upload_session_id, chunk_index, sha256, size_bytes, " +
+            "created_by, created_date, last_modified_by, last_modified_date) " +
+            "VALUES (gen_random_uuid(), :uploadSessionId, :chunkIndex, :sha256, :sizeBytes, " +
+            ":auditor, LOCALTIMESTAMP, :auditor, LOCALTIMESTAMP) " +
+            "ON CONFLICT (upload_session_id, chunk_index) DO UPDATE " +
+            "SET sha256 = EXCLUDED.sha256, size_bytes = EXCLUDED.size_bytes, " +
+            "last_modified_by = EXCLUDED.last_modified_by, last_modified_date = EXCLUDED.last_modified_date",
+            nativeQuery = true)
+    int upsert(@Param("uploadSessionId") UUID uploadSessionId,
+               @Param("chunkIndex") int chunkIndex,
+               @Param("sha256") String sha256,
+               @Param("sizeBytes") long sizeBytes,
+               @Param("auditor") String auditor);
+
+    @Query("SELECT uc.chunkIndex FROM UploadChunk uc WHERE uc.uploadSession.id = :uploadSessionId ORDER BY uc.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("uploadSessionId") UUID uploadSessionId);
+
+    @Query("SELECT COUNT(uc) FROM UploadChunk uc WHERE uc.uploadSession.id = :uploadSessionId")
+    long countByUploadSessionId(@Param("uploadSessionId") UUID uploadSessionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadChunk uc WHERE uc.uploadSession.id = :uploadSessionId AND uc.chunkIndex = :chunkIndex")
+    int deleteChunk(@Param("uploadSessionId") UUID uploadSessionId, @Param("chunkIndex") int chunkIndex);
+
+    @Modifying
+    @Query("DELETE FROM UploadChunk uc WHERE uc.uploadSession.id = :uploadSessionId")
+    int deleteByUploadSessionId(@Param("uploadSessionId") UUID uploadSessionId);
+}
@@ -0,0 +1,25 @@
+package com.mostafa.lms_api.repository;
+
+import com.mostafa.lms_api.model.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+
+@Repository
+public interface UploadSessionRepo extends JpaRepository<UploadSession, UUID> {
+    // Row lock => two concurrent "complete" calls cannot both publish & create the Video/File
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT us FROM UploadSession us WHERE us.id = :id")
+    Optional<UploadSession> findForCompletion(@Param("id") UUID id);
+
+    List<UploadSession> findTop100ByExpiresAtBefore(Instant now);
+}
@@ -1,14 +1,18 @@
 package com.mostafa.lms_api.repository;
 
 import com.mostafa.lms_api.model.Video;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 
@@ -19,16 +23,29 @@ public interface VideoRepo extends JpaRepository<Video, UUID> {
     Page<Video> findBySectionId(@Param("sectionId") UUID sectionId, Pageable pageable);
 
 
-    // Get total duration in seconds for all videos in a course
-    @Query("SELECT COALESCE(SUM(v.durationSeconds), 0) FROM Video v " +
-            "JOIN v.section s " +
-            "WHERE s.course.id = :courseId")
-    Long getTotalDurationSecondsByCourseId(@Param("courseId") UUID courseId);
+    // Progress => video with its section & course (course id is needed for every progress lookup)
+    @EntityGraph(attributePaths = {"section", "section.course"})
+    Optional<Video> findWithSectionAndCourseById(UUID videoId);
+
+
+    // Duration probing => row lock so the duration delta is computed from the value being replaced
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"section"})
+    @Query("SELECT v FROM Video v WHERE v.id = :videoId")
+    Optional<Video> findForProbe(@Param("videoId") UUID videoId);
+
+    // Stored videos whose headers were never read (restart, full probe queue, uploaded before probing existed)
+    @Query("SELECT v.id FROM Video v WHERE v.storageKey IS NOT NULL AND v.probedAt IS NULL ORDER BY v.createdDate")
+    List<UUID> findIdsToProbe(Pageable pageable);
 
 
     // Course ((Transaction))
     @Query("SELECT v FROM Video v WHERE v.section.course.id = :courseId")
     List<Video> findVideosByCourseId(@Param("courseId") UUID courseId);
 
+    // Course ((Tree)) => every video of the course in one query
+    @Query("SELECT v FROM Video v WHERE v.section.course.id = :courseId ORDER BY v.sortOrder ASC")
+    List<Video> findAllByCourseIdOrderBySortOrder(@Param("courseId") UUID courseId);
+
 
 }
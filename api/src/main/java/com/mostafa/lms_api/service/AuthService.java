@@ -2,18 +2,22 @@ package com.mostafa.lms_api.service;
 
 import com.mostafa.lms_api.config.JwtHelper;
 import com.mostafa.lms_api.dto.auth.LoginRequestDTO;
+import com.mostafa.lms_api.dto.auth.RefreshRequestDTO;
 import com.mostafa.lms_api.dto.auth.RegisterRequestDTO;
 import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.model.User;
 import com.mostafa.lms_api.repository.UserRepo;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +26,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtHelper jwtHelper;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginRateLimiter loginRateLimiter;
 
     // Register
     public void register(RegisterRequestDTO dto) {
@@ -29,7 +37,7 @@ public class AuthService {
 
         userAccount.setUsername(dto.username());
         userAccount.setEmail(dto.email());
-        userAccount.setPassword(passwordEncoder.encode(dto.password()));
+        userAccount.setPassword(passwordHashingExecutor.execute(() -> passwordEncoder.encode(dto.password())));
         userAccount.setFirstName(dto.firstName());
         userAccount.setLastName(dto.lastName());
         userAccount.setPhoneNumber(dto.phoneNumber());
@@ -40,21 +48,59 @@ public class AuthService {
     }
 
     // Login
-    public Map<String, Object> login(LoginRequestDTO dto) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(dto.email(), dto.password()));
+    public Map<String, Object> login(LoginRequestDTO dto, String clientIp) {
+        // Throttle before any BCrypt work (429)
+        loginRateLimiter.acquire(clientIp, dto.email());
 
-        User user = userRepo.findByEmail(dto.email())
-                .orElseThrow(CustomResponseException::BadCredentials);
+        // BCrypt on the bounded hashing pool (503 when it is saturated)
+        Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(dto.email(), dto.password())));
 
-        Map<String, Object> customClaims = new HashMap<>();
-        customClaims.put("userId", user.getId());
+        // Principal = the User loaded by CustomUserDetailsService => no second lookup
+        if (!(authentication.getPrincipal() instanceof User user)) {
+            throw CustomResponseException.BadCredentials();
+        }
 
-        String token = jwtHelper.generateToken(customClaims, user);
+        return tokenResponse(refreshTokenService.issue(user));
+    }
+
+    // Refresh => rotate the refresh token, new access token with fresh claims (role / names)
+    public Map<String, Object> refresh(RefreshRequestDTO dto) {
+        return tokenResponse(refreshTokenService.rotate(dto.refreshToken()));
+    }
+
+    // Logout => revoke the presented access token (denylist) and its refresh token session
+    public void logout(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw CustomResponseException.BadRequest("Bearer token is required");
+        }
+
+        Claims claims = jwtHelper.extractAllClaims(authHeader.substring(7));
+        tokenRevocationService.revokeToken(claims);
+
+        String sessionId = claims.get(JwtHelper.CLAIM_SESSION_ID, String.class);
+        if (sessionId != null) {
+            refreshTokenService.revokeSession(UUID.fromString(sessionId));
+        }
+    }
+
+    // Logout everywhere => revoke every access token issued so far and every refresh token session
+    public void logoutAll(UUID userId) {
+        tokenRevocationService.revokeAllTokens(userId);
+        refreshTokenService.revokeAllSessions(userId);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Map<String, Object> tokenResponse(RefreshTokenService.IssuedRefreshToken refreshToken) {
+        User user = refreshToken.user();
+        String token = jwtHelper.generateAccessToken(user, refreshToken.familyId());
 
-        // Prepare response with token and user info
+        // Prepare response with tokens and user info
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
+        response.put("refreshToken", refreshToken.token());
+        response.put("expiresIn", JwtHelper.ACCESS_TOKEN_VALIDITY.toSeconds());
         response.put("userId", user.getId());
         response.put("username", user.getUsername());
         response.put("email", user.getEmail());
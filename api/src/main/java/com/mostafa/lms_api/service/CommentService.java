@@ -20,8 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 
 @Service
@@ -36,6 +35,7 @@ public class CommentService {
 
 
     //    Create
+    @Transactional
     public CommentResponseDTO createComment(CreateCommentDTO dto) {
         User user = userRepo.findById(dto.userId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User not found with this ID: " + dto.userId()));
@@ -59,6 +59,7 @@ public class CommentService {
     }
 
     //    Get Single Comment For Test (Response)
+    @Transactional(readOnly = true)
     public CommentResponseDTO getByCommentId(UUID commentId, UUID currentUserId) {
         Comment comment = commentRepo.findById(commentId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Comment not found with this ID: " + commentId));
@@ -73,6 +74,7 @@ public class CommentService {
     }
 
     //    Delete
+    @Transactional
     public String deleteComment(UUID commentId) {
         Comment comment = commentRepo.findById(commentId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Comment not found with this ID: " + commentId));
@@ -84,6 +86,7 @@ public class CommentService {
 
     // ***************************** ((Specifications)) *********************** //
     // Get All Comments for Specific ((Post))
+    @Transactional(readOnly = true)
     public Page<CommentResponseDTO> getCommentsByPostId(UUID postId, int page, int size, UUID currentUserId) {
         if (postId == null) {
             throw new IllegalArgumentException("Post ID cannot be null");
@@ -97,14 +100,7 @@ public class CommentService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Comment> commentsPage = commentRepo.findByPostId(postId, pageable);
 
-        return commentsPage.map(comment -> {
-            Long likesCount = commentLikeRepo.countLikesByCommentId(comment.getId());
-            // Check CurrentUser ((Liked or Not))
-            boolean isLikedByCurrentUser = currentUserId != null &&
-                    commentLikeRepo.findByUserIdAndCommentId(currentUserId, comment.getId()).isPresent();
-
-            return mapper.toCommentResponseDTO(comment, likesCount, isLikedByCurrentUser);
-        });
+        return toCommentResponsePage(commentsPage, currentUserId);
     }
 
     // like/disLike Comment
@@ -138,4 +134,28 @@ public class CommentService {
     }
 
 
+    // ***************************** ((Helper)) *********************** //
+    // Likes for the whole page in 2 grouped queries (instead of 2 queries per comment)
+    private Page<CommentResponseDTO> toCommentResponsePage(Page<Comment> commentsPage, UUID currentUserId) {
+        List<UUID> commentIds = commentsPage.getContent().stream().map(Comment::getId).toList();
+        if (commentIds.isEmpty()) {
+            return commentsPage.map(comment -> mapper.toCommentResponseDTO(comment, 0L, false));
+        }
+
+        Map<UUID, Long> likesCounts = new HashMap<>();
+        for (Object[] row : commentLikeRepo.countLikesByCommentIds(commentIds)) {
+            likesCounts.put((UUID) row[0], (Long) row[1]);
+        }
+        Set<UUID> likedByCurrentUser = currentUserId != null
+                ? commentLikeRepo.findLikedCommentIds(currentUserId, commentIds)
+                : Set.of();
+
+        return commentsPage.map(comment -> mapper.toCommentResponseDTO(
+                comment,
+                likesCounts.getOrDefault(comment.getId(), 0L),
+                likedByCurrentUser.contains(comment.getId())
+        ));
+    }
+
+
 }
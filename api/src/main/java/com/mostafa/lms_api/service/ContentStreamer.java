@@ -0,0 +1,282 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.dto.StoredSlice;
+import com.mostafa.lms_api.global.CustomResponseException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Writes stored bytes to the response: conditional GET (ETag), single byte ranges (206 / 416)
+ * and zero copy => Tomcat sendfile for local files, FileChannel.transferTo otherwise.
+ * Nothing is read into the heap, so multi-GB files cost the same memory as 1 KB ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentStreamer {
+    // Tomcat (NIO connector) => the poller writes the file with sendfile after the servlet returns
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Same threshold as Tomcat's DefaultServlet => small bodies are cheaper to just write
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    // Segment URLs name immutable bytes => the player may keep them while seeking back and forth
+    private static final long SEGMENT_MAX_AGE = 3600;
+
+    private final FileStorage fileStorage;
+
+
+    // Inclusive byte range
+    record ByteRange(long start, long end) {
+        static final ByteRange NOT_SATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+
+    public void stream(HttpServletRequest request, HttpServletResponse response,
+                       String storageKey, String contentType, String filename) throws IOException {
+        FileStorage.StoredObject object = fileStorage.stat(storageKey);
+        long size = object.size();
+
+        response.setHeader(HttpHeaders.ETAG, object.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.lastModifiedMillis());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Entitlement-gated => browser cache only, revalidated with the ETag (304, no body)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), object.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteRange range = rangeFor(request, object);
+        if (range == ByteRange.NOT_SATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        if (filename != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.inline().filename(filename, StandardCharsets.UTF_8).build().toString());
+        }
+
+        long start = 0;
+        long length = size;
+        if (range != null) {
+            start = range.start();
+            length = range.length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(length);
+
+        send(request, response, object, start, length);
+    }
+
+    // Fixed slice of a stored object (HLS segments) => the URL always names the same bytes, so no validators / ranges
+    public void streamSlice(HttpServletRequest request, HttpServletResponse response, StoredSlice slice) throws IOException {
+        FileStorage.StoredObject object = slice.bytes() == null ? fileStorage.stat(slice.storageKey()) : null;
+        if (object != null && slice.offset() + slice.length() > object.size()) {
+            throw CustomResponseException.ResourceNotFound("Segment is past the end of " + slice.storageKey());
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(slice.contentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + SEGMENT_MAX_AGE);
+        response.setContentLengthLong(slice.length());
+
+        if (object != null) {
+            send(request, response, object, slice.offset(), slice.length());
+            return;
+        }
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+        try {
+            response.getOutputStream().write(slice.bytes());
+        } catch (IOException e) {
+            log.debug("Segment write aborted: {}", e.getMessage());
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // Status & headers already set => body only (sendfile when Tomcat can, else copy loop)
+    private void send(HttpServletRequest request, HttpServletResponse response,
+                      FileStorage.StoredObject object, long start, long length) throws IOException {
+        if (length == 0 || "HEAD".equalsIgnoreCase(request.getMethod())) {
+            return;
+        }
+
+        if (object.localPath() != null && length >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, object.localPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (SeekableByteChannel channel = fileStorage.openForRead(object.key())) {
+            try {
+                copy(channel, Channels.newChannel(response.getOutputStream()), start, length);
+            } catch (EOFException e) {
+                log.warn("Stored file {} is shorter than its metadata: {}", object.key(), e.getMessage());
+            } catch (IOException e) {
+                // Seeking players drop connections all the time => nothing left to answer
+                log.debug("Content stream of {} aborted: {}", object.key(), e.getMessage());
+            }
+        }
+    }
+
+    private static void copy(SeekableByteChannel source, WritableByteChannel target, long start, long length) throws IOException {
+        long position = start;
+        long remaining = length;
+
+        if (source instanceof FileChannel fileChannel) {
+            while (remaining > 0) {
+                long sent = fileChannel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new EOFException("Stored file shrank while streaming");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return;
+        }
+
+        source.position(start);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(COPY_BUFFER_SIZE, remaining));
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            if (source.read(buffer) < 0) {
+                throw new EOFException("Stored file shrank while streaming");
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                remaining -= target.write(buffer);
+            }
+        }
+    }
+
+    // Range is ignored when If-Range names another version => whole (current) entity
+    private static ByteRange rangeFor(HttpServletRequest request, FileStorage.StoredObject object) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.trim().equals(object.etag())) {
+                    return null;
+                }
+            } else {
+                long since;
+                try {
+                    since = request.getDateHeader(HttpHeaders.IF_RANGE);
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+                if (object.lastModifiedMillis() / 1000 > since / 1000) {
+                    return null;
+                }
+            }
+        }
+
+        return parseRange(range, object.size());
+    }
+
+    // Single range only (players & download managers) => multi-range requests get the whole entity
+    // null => no usable range, NOT_SATISFIABLE => 416
+    static ByteRange parseRange(String header, long size) {
+        if (header == null || !header.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+
+        try {
+            if (dash == 0) {
+                // bytes=-500 => last 500 bytes
+                long suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix <= 0 || size == 0) {
+                    return ByteRange.NOT_SATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+
+            long start = Long.parseLong(spec.substring(0, dash).trim());
+            String last = spec.substring(dash + 1).trim();
+            // Only an explicit last-byte-pos below the first one makes the spec invalid (ignored)
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return ByteRange.NOT_SATISFIABLE;
+            }
+
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // If-None-Match => weak comparison, "*" or a list of tags
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+}
@@ -0,0 +1,110 @@
+package com.mostafa.lms_api.service;
+
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mostafa.lms_api.dto.transaction.request.CreateCourseTransaction;
+import com.mostafa.lms_api.dto.transaction.response.CourseImportLineDTO;
+import com.mostafa.lms_api.dto.transaction.response.CourseImportResponseDTO;
+import com.mostafa.lms_api.dto.transaction.response.CourseTransactionResponseDTO;
+import com.mostafa.lms_api.global.CustomResponseException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CourseImportService {
+    private static final int MAX_IMPORT_LINES = 1000;
+
+    private final CourseTransactionService courseTransactionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // One NDJSON line => one course => its own short transaction (a bad line never rolls back the others)
+    private CourseImportLineDTO importLine(int lineNumber, String line) {
+        CreateCourseTransaction dto;
+        try {
+            dto = objectMapper.readValue(line, CreateCourseTransaction.class);
+        } catch (JsonProcessingException e) {
+            return new CourseImportLineDTO(lineNumber, false, null, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<CreateCourseTransaction>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return new CourseImportLineDTO(lineNumber, false, null, dto.title(), error);
+        }
+
+        try {
+            CourseTransactionResponseDTO created = courseTransactionService.createCourse(dto);
+            return new CourseImportLineDTO(lineNumber, true, created.course().id(), dto.title(), null);
+        } catch (CustomResponseException e) {
+            return new CourseImportLineDTO(lineNumber, false, null, dto.title(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Course import failed at line {}: {}", lineNumber, e.getMessage());
+            return new CourseImportLineDTO(lineNumber, false, null, dto.title(), "Failed to create course");
+        } finally {
+            // Don't keep every imported aggregate attached to the request's persistence context
+            entityManager.clear();
+        }
+    }
+
+    //    Import Courses from NDJSON (one CreateCourseTransaction per line)
+    public CourseImportResponseDTO importCourses(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw CustomResponseException.BadRequest("Import file is empty");
+        }
+
+        List<CourseImportLineDTO> lines = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (lines.size() >= MAX_IMPORT_LINES) {
+                    lines.add(new CourseImportLineDTO(lineNumber, false, null, null,
+                            "Import limit of " + MAX_IMPORT_LINES + " courses reached, remaining lines were skipped"));
+                    break;
+                }
+
+                lines.add(importLine(lineNumber, line));
+            }
+        } catch (IOException e) {
+            throw CustomResponseException.BadRequest("Failed to read import file: " + e.getMessage());
+        }
+
+        int imported = (int) lines.stream().filter(CourseImportLineDTO::success).count();
+
+        return new CourseImportResponseDTO(lines.size(), imported, lines.size() - imported, lines);
+    }
+
+
+}
@@ -10,13 +10,13 @@ import com.mostafa.lms_api.model.Course;
 import com.mostafa.lms_api.model.User;
 import com.mostafa.lms_api.repository.CourseRepo;
 import com.mostafa.lms_api.repository.UserRepo;
-import com.mostafa.lms_api.repository.VideoRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -26,15 +26,16 @@ import java.util.UUID;
 public class CourseService {
     private final CourseRepo courseRepo;
     private final UserRepo userRepo;
-    private final VideoRepo videoRepo;
     private final EntityDtoMapper mapper;
+    private final CourseTreeService courseTreeService;
     private final CurrentUser currentUser;
 
 
     //    Create
+    @Transactional
     public CourseResponseDTO createCourse(CreateCourseDTO dto) {
         // currentUser
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
 
         Course course = mapper.toCourseEntity(dto);
         course.setUser(authUser);
@@ -45,6 +46,7 @@ public class CourseService {
     }
 
     //    Update BY ((courseId))
+    @Transactional
     public CourseResponseDTO updateCourse(UUID courseId, UpdateCourseDTO dto) {
         Course existingCourse = courseRepo.findById(courseId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
@@ -72,21 +74,25 @@ public class CourseService {
         }
 
         Course updatedCourse = courseRepo.save(existingCourse);
+        courseTreeService.evictCourse(courseId);
 
         return mapper.toCourseResponseDTO(updatedCourse);
     }
 
     //    Delete BY ((courseId))
+    @Transactional
     public String deleteCourse(UUID courseId) {
         Course course = courseRepo.findById(courseId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
 
         courseRepo.delete(course);
+        courseTreeService.evictCourse(courseId);
 
         return "Course Deleted Success";
     }
 
     //    Get BY ((courseId))
+    @Transactional(readOnly = true)
     public CourseResponseDTO getSingle(UUID courseId) {
         Course course = courseRepo.findById(courseId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
@@ -95,6 +101,7 @@ public class CourseService {
     }
 
     //    Get All
+    @Transactional(readOnly = true)
     public Page<CourseResponseDTO> getAllCourses(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Course> coursesPage = courseRepo.findAll(pageable);
@@ -105,31 +112,8 @@ public class CourseService {
 
 
     // ***************************** ((Specifications)) *********************** //
-    // New: Calculate and update estimated duration automatically => ((used in -> VideoService 😉))
-    public void updateEstimatedDuration(UUID courseId) {
-        Course course = courseRepo.findById(courseId)
-                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
-
-        // Get total duration in seconds for all videos in this course
-        Long totalDurationSeconds = videoRepo.getTotalDurationSecondsByCourseId(courseId);
-
-        if (totalDurationSeconds == null) {
-            totalDurationSeconds = 0L;
-        }
-
-        // Convert seconds to hours (with decimal precision)
-        Double estimatedHours = totalDurationSeconds / 3600.0;
-
-        // Round to 2 decimal places
-        estimatedHours = Math.round(estimatedHours * 100.0) / 100.0;
-
-        // Update the course with calculated duration
-        course.setEstimatedDurationHours(estimatedHours);
-        courseRepo.save(course);
-    }
-
-
     // Search courses by title with pagination
+    @Transactional(readOnly = true)
     public Page<CourseSummaryDTO> searchCoursesByTitle(String title, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Course> coursesPage = courseRepo.searchByTitle(title, pageable);
@@ -11,9 +11,6 @@ import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.*;
 import com.mostafa.lms_api.repository.CourseRepo;
-import com.mostafa.lms_api.repository.FileRepo;
-import com.mostafa.lms_api.repository.SectionRepo;
-import com.mostafa.lms_api.repository.VideoRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,29 +26,22 @@ import java.util.List;
 public class CourseTransactionService {
     private final CurrentUser currentUser;
     private final CourseRepo courseRepo;
-    private final SectionRepo sectionRepo;
-    private final VideoRepo videoRepo;
-    private final FileRepo fileRepo;
     private final EntityDtoMapper mapper;
 
 
     // ******************************** (((Helper)))  ******************************** //
-    private double calculateTotalDuration(Course course) {
-        try {
-            List<Video> allVideos = videoRepo.findVideosByCourseId(course.getId());
-            return allVideos.stream()
-                    .mapToInt(video -> video.getDurationSeconds() != null ? video.getDurationSeconds() : 0)
-                    .sum() / 3600.0; // Convert seconds to hours
-        } catch (Exception e) {
-            return 0.0;
-        }
+    // Seconds -> Hours (rounded to 2 decimal places like CourseService)
+    private double toEstimatedHours(long totalDurationSeconds) {
+        return Math.round(totalDurationSeconds / 3600.0 * 100.0) / 100.0;
     }
 
     //    Create Course ((Transaction))
+    //    The whole aggregate (Course -> Sections -> Videos/Files) is built in memory and persisted
+    //    with ONE save => Hibernate cascades it and flushes all inserts in JDBC batches on commit 😉
     @Transactional
     public CourseTransactionResponseDTO createCourse(CreateCourseTransaction dto) {
         // Get current user
-        User user = currentUser.getCurrentUser();
+        User user = currentUser.getCurrentUserReference();
         if (user == null) {
             throw CustomResponseException.BadCredentials();
         }
@@ -62,45 +52,31 @@ public class CourseTransactionService {
         }
 
         try {
-            // 1. Create and save the course
-            Course course = Course.builder()
-                    .title(dto.title())
-                    .description(dto.description())
-                    .shortDescription(dto.shortDescription())
-                    .courseImg(dto.courseImg())
-                    .level(dto.level())
-                    .price(BigDecimal.ZERO) // Will be calculated from sections
-                    .user(user)
-                    .build();
-
-            course = courseRepo.save(course);
+            // 1. Build the course (price & duration are calculated in memory below)
+            Course course = mapper.toCourseEntity(dto, user);
+            course.setSections(new ArrayList<>());
 
-            // 2. Create sections with their content
-            List<SectionTransactionResponseDTO> sectionResponses = new ArrayList<>();
             BigDecimal totalCoursePrice = BigDecimal.ZERO;
+            long totalDurationSeconds = 0;
 
+            // 2. Build sections with their content
             for (CreateSectionTransaction sectionDto : dto.sections()) {
                 // Validate section data
                 if (sectionDto.price() == null || sectionDto.price().compareTo(BigDecimal.ZERO) <= 0) {
                     throw CustomResponseException.BadRequest("Section price must be greater than 0");
                 }
 
-                // Create and save section
-                Section section = Section.builder()
-                        .title(sectionDto.title())
-                        .description(sectionDto.description())
-                        .price(sectionDto.price())
-                        .sortOrder(sectionDto.sortOrder())
-                        .course(course)
-                        .build();
+                Section section = mapper.toSectionEntity(sectionDto, course);
+                section.setVideos(new ArrayList<>());
+                section.setFiles(new ArrayList<>());
+                course.getSections().add(section);
 
-                section = sectionRepo.save(section);
+                long sectionDurationSeconds = 0;
 
                 // Add section price to total course price
                 totalCoursePrice = totalCoursePrice.add(sectionDto.price());
 
-                // Create videos for this section
-                List<Video> videos = new ArrayList<>();
+                // Videos for this section
                 if (sectionDto.videos() != null) {
                     for (CreateVideoTransaction videoDto : sectionDto.videos()) {
                         // Validate video data
@@ -108,55 +84,37 @@ public class CourseTransactionService {
                             throw CustomResponseException.BadRequest("Video duration must be greater than 0 seconds");
                         }
 
-                        Video video = Video.builder()
-                                .title(videoDto.title())
-                                .videoUrl(videoDto.videoUrl())
-                                .sortOrder(videoDto.sortOrder())
-                                .durationSeconds(videoDto.durationSeconds())
-                                .isPreview(videoDto.isPreview() != null ? videoDto.isPreview() : false)
-                                .section(section)
-                                .build();
-
-                        video = videoRepo.save(video);
-                        videos.add(video);
+                        section.getVideos().add(mapper.toVideoEntity(videoDto, section));
+                        sectionDurationSeconds += videoDto.durationSeconds();
                     }
                 }
+                section.setTotalDurationSeconds(sectionDurationSeconds);
+                totalDurationSeconds += sectionDurationSeconds;
 
-                // Create files for this section
-                List<File> files = new ArrayList<>();
+                // Files for this section
                 if (sectionDto.files() != null) {
                     for (CreateFileTransaction fileDto : sectionDto.files()) {
-                        File file = File.builder()
-                                .title(fileDto.title())
-                                .fileUrl(fileDto.fileUrl())
-                                .isPreview(fileDto.isPreview() != null ? fileDto.isPreview() : false)
-                                .section(section)
-                                .build();
-
-                        file = fileRepo.save(file);
-                        files.add(file);
+                        section.getFiles().add(mapper.toFileEntity(fileDto, section));
                     }
                 }
-
-                // Map to response DTOs
-                SectionTransactionResponseDTO sectionResponse = new SectionTransactionResponseDTO(
-                        videos.stream().map(mapper::toVideoResponseDTO).toList(),
-                        files.stream().map(mapper::toFileResponseDTO).toList()
-                );
-                sectionResponses.add(sectionResponse);
             }
 
-            // 3. Update course with calculated total price
+            // 3. Set calculated totals (no reload of the videos we already have)
             course.setPrice(totalCoursePrice);
-            course = courseRepo.save(course);
+            course.setTotalDurationSeconds(totalDurationSeconds);
+            course.setEstimatedDurationHours(toEstimatedHours(totalDurationSeconds));
 
-            // 4. Calculate estimated duration from all videos
-            double totalDurationHours = calculateTotalDuration(course);
-            course.setEstimatedDurationHours(totalDurationHours);
+            // 4. Single save => cascades to sections, videos & files
             course = courseRepo.save(course);
 
-
             // 5. Return the complete response
+            List<SectionTransactionResponseDTO> sectionResponses = course.getSections().stream()
+                    .map(section -> new SectionTransactionResponseDTO(
+                            section.getVideos().stream().map(mapper::toVideoResponseDTO).toList(),
+                            section.getFiles().stream().map(mapper::toFileResponseDTO).toList()
+                    ))
+                    .toList();
+
             return new CourseTransactionResponseDTO(
                     mapper.toCourseResponseDTO(course),
                     sectionResponses
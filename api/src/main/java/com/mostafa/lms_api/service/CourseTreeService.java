@@ -0,0 +1,132 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.config.ReadWriteRoutingDataSource;
+import com.mostafa.lms_api.dto.course.CourseTreeDTO;
+import com.mostafa.lms_api.dto.section.SectionTreeDTO;
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.mapper.EntityDtoMapper;
+import com.mostafa.lms_api.model.Course;
+import com.mostafa.lms_api.model.File;
+import com.mostafa.lms_api.model.Section;
+import com.mostafa.lms_api.model.Video;
+import com.mostafa.lms_api.repository.CourseRepo;
+import com.mostafa.lms_api.repository.FileRepo;
+import com.mostafa.lms_api.repository.SectionRepo;
+import com.mostafa.lms_api.repository.VideoRepo;
+import com.mostafa.lms_api.utils.CurrentUser;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+
+/**
+ * Whole course in one response => course, ordered sections, videos, files and per-section access.
+ * Built from 4 set-based queries (course+owner, sections, videos, files) and cached per
+ * (course, entitled sections) => every user with the same entitlements shares one entry.
+ */
+@Service
+public class CourseTreeService {
+    private final CourseRepo courseRepo;
+    private final SectionRepo sectionRepo;
+    private final VideoRepo videoRepo;
+    private final FileRepo fileRepo;
+    private final EntitlementService entitlementService;
+    private final EntityDtoMapper mapper;
+    private final CurrentUser currentUser;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate primaryTx;
+
+    public CourseTreeService(CourseRepo courseRepo,
+                             SectionRepo sectionRepo,
+                             VideoRepo videoRepo,
+                             FileRepo fileRepo,
+                             EntitlementService entitlementService,
+                             EntityDtoMapper mapper,
+                             CurrentUser currentUser,
+                             CacheManager cacheManager,
+                             PlatformTransactionManager transactionManager) {
+        this.courseRepo = courseRepo;
+        this.sectionRepo = sectionRepo;
+        this.videoRepo = videoRepo;
+        this.fileRepo = fileRepo;
+        this.entitlementService = entitlementService;
+        this.mapper = mapper;
+        this.currentUser = currentUser;
+        this.cacheManager = cacheManager;
+        // Cached trees are built from the primary, never from a lagging replica
+        this.primaryTx = ReadWriteRoutingDataSource.primaryReads(transactionManager);
+    }
+
+
+    // Cache key => same course + same paid sections = same tree
+    public record CourseTreeKey(UUID courseId, Set<UUID> entitledSectionIds) {
+    }
+
+
+    public CourseTreeDTO getCourseTree(UUID courseId) {
+        UUID userId = currentUser.getCurrentUserId();
+        Set<UUID> entitled = entitlementService.getActiveSectionIds(userId, courseId);
+
+        CourseTreeKey key = new CourseTreeKey(courseId, entitled);
+        CourseTreeDTO tree = cache().get(key, () -> primaryTx.execute(status -> buildTree(courseId, entitled)));
+
+        return mapper.signContentUrls(tree, userId);
+    }
+
+    // Call whenever the course, its sections, videos or files change (evicted after commit)
+    public void evictCourse(UUID courseId) {
+        if (courseId == null) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            Cache cache = cache();
+            if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caffeine.asMap().keySet().removeIf(key ->
+                        key instanceof CourseTreeKey treeKey && treeKey.courseId().equals(courseId));
+            } else {
+                cache.clear();
+            }
+        });
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private CourseTreeDTO buildTree(UUID courseId, Set<UUID> entitled) {
+        Course course = courseRepo.findByIdWithUser(courseId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
+
+        List<Section> sections = sectionRepo.findAllByCourseIdOrderBySortOrder(courseId);
+
+        // Videos & Files come back already ordered => grouping keeps the order per section
+        Map<UUID, List<Video>> videosBySection = videoRepo.findAllByCourseIdOrderBySortOrder(courseId).stream()
+                .collect(Collectors.groupingBy(video -> video.getSection().getId()));
+        Map<UUID, List<File>> filesBySection = fileRepo.findAllByCourseIdOrderBySortOrder(courseId).stream()
+                .collect(Collectors.groupingBy(file -> file.getSection().getId()));
+
+        List<SectionTreeDTO> sectionTrees = sections.stream()
+                .map(section -> mapper.toSectionTreeDTO(
+                        section,
+                        entitled.contains(section.getId()),
+                        videosBySection.getOrDefault(section.getId(), List.of()),
+                        filesBySection.getOrDefault(section.getId(), List.of())
+                ))
+                .toList();
+
+        return new CourseTreeDTO(mapper.toCourseResponseDTO(course), sectionTrees);
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.COURSE_TREES));
+    }
+
+
+}
@@ -0,0 +1,85 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.repository.SectionRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+
+/**
+ * Keeps Section & Course duration totals up to date with deltas (newDuration - oldDuration)
+ * instead of re-summing every video of the course.
+ * <p>
+ * Inside a transaction the deltas are only collected and merged per section, then applied once
+ * right before commit => many video changes in one request cost ONE statement per touched section.
+ */
+@Component
+@RequiredArgsConstructor
+public class DurationTracker {
+    private static final Object PENDING_DELTAS_KEY = DurationTracker.class.getName() + ".pendingDeltas";
+
+    private final SectionRepo sectionRepo;
+
+
+    public void applyDelta(UUID sectionId, long deltaSeconds) {
+        if (sectionId == null || deltaSeconds == 0) {
+            return;
+        }
+
+        // No transaction => nothing to coalesce with, apply now
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sectionRepo.applyDurationDelta(sectionId, deltaSeconds);
+            return;
+        }
+
+        pendingDeltas().merge(sectionId, deltaSeconds, Long::sum);
+    }
+
+    // Convenience for (old -> new) changes of a video duration
+    public void applyChange(UUID sectionId, Integer oldDurationSeconds, Integer newDurationSeconds) {
+        applyDelta(sectionId, toLong(newDurationSeconds) - toLong(oldDurationSeconds));
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private long toLong(Integer durationSeconds) {
+        return durationSeconds != null ? durationSeconds : 0L;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Long> pendingDeltas() {
+        Map<UUID, Long> pending = (Map<UUID, Long>) TransactionSynchronizationManager.getResource(PENDING_DELTAS_KEY);
+        if (pending != null) {
+            return pending;
+        }
+
+        // TreeMap => sections are always updated in the same order (no deadlocks between requests)
+        Map<UUID, Long> newPending = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, newPending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                newPending.forEach((sectionId, delta) -> {
+                    if (delta != 0) {
+                        sectionRepo.applyDurationDelta(sectionId, delta);
+                    }
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS_KEY);
+            }
+        });
+
+        return newPending;
+    }
+
+
+}
@@ -1,18 +1,22 @@
 package com.mostafa.lms_api.service;
 
 
+import com.mostafa.lms_api.dto.enrollment.BulkEnrollmentRequestDTO;
+import com.mostafa.lms_api.dto.enrollment.BulkEnrollmentResponseDTO;
+import com.mostafa.lms_api.dto.enrollment.BulkEnrollmentRowDTO;
 import com.mostafa.lms_api.dto.enrollment.CreateEnrollmentDTO;
 import com.mostafa.lms_api.dto.enrollment.EnrollmentResponseDTO;
+import com.mostafa.lms_api.enums.BulkEnrollmentOutcome;
 import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.Enrollment;
-import com.mostafa.lms_api.model.Section;
-import com.mostafa.lms_api.model.User;
+import com.mostafa.lms_api.repository.EnrollmentJdbcRepo;
 import com.mostafa.lms_api.repository.EnrollmentRepo;
 import com.mostafa.lms_api.repository.SectionRepo;
 import com.mostafa.lms_api.repository.UserRepo;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.*;
 
 
 @Service
@@ -30,9 +34,20 @@ public class EnrollmentService {
     private final SectionRepo sectionRepo;
     private final EntityDtoMapper mapper;
     private final UserRepo userRepo;
+    private final EntitlementService entitlementService;
+    private final AuditorAware<String> auditorAware;
+    private final EnrollmentJdbcRepo enrollmentJdbcRepo;
 
 
     // ********************************** ((Helper)) **************************************** //
+    private CustomResponseException missingUserOrSection(CreateEnrollmentDTO dto) {
+        if (!userRepo.existsById(dto.userId())) {
+            return CustomResponseException.ResourceNotFound("User not found with this ID: " + dto.userId());
+        }
+
+        return CustomResponseException.ResourceNotFound("Section not found with this ID: " + dto.sectionId());
+    }
+
     private EnrollmentStatus determineEnrollmentStatus(BigDecimal amountPaid, BigDecimal sectionPrice) {
         if (amountPaid == null || sectionPrice == null) {
             return EnrollmentStatus.PENDING_PAID;
@@ -42,40 +57,114 @@ public class EnrollmentService {
                 EnrollmentStatus.ACTIVE : EnrollmentStatus.PENDING_PAID;
     }
 
-    //    Create
+    //    Create  =>  idempotent (enrolling twice returns the existing enrollment)
     @Transactional
     public EnrollmentResponseDTO createEnrollment(CreateEnrollmentDTO dto) {
-        // Check User
-        User user = userRepo.findById(dto.userId())
-                .orElseThrow((() -> CustomResponseException.ResourceNotFound("User not found with this ID: " + dto.userId())));
+        // ONE statement => INSERT ... ON CONFLICT DO NOTHING (status is decided from the section price in SQL)
+        Optional<UUID> insertedId = enrollmentRepo.insertIfAbsent(
+                dto.userId(),
+                dto.sectionId(),
+                dto.amountPaid(),
+                auditorAware.getCurrentAuditor().orElse(null)
+        );
+
+        if (insertedId.isPresent()) {
+            // Refresh cached section access for this user (after commit)
+            entitlementService.onEnrollmentChanged(dto.userId());
+
+            Enrollment enrollment = enrollmentRepo.findByIdWithDetails(insertedId.get())
+                    .orElseThrow(() -> CustomResponseException.ResourceNotFound("Enrollment not found with this ID: " + insertedId.get()));
+            return mapper.toEnrollmentResponseDTO(enrollment);
+        }
 
-        // Validate section exists
-        Section section = sectionRepo.findById(dto.sectionId())
-                .orElseThrow(() -> new RuntimeException("Section not found with ID: " + dto.sectionId()));
+        // Nothing inserted => already enrolled (double-click / retry) OR user / section does not exist
+        return enrollmentRepo.findByUserIdAndSectionIdWithDetails(dto.userId(), dto.sectionId())
+                .map(mapper::toEnrollmentResponseDTO)
+                .orElseThrow(() -> missingUserOrSection(dto));
+    }
 
-        // Check if user is already enrolled
-        if (enrollmentRepo.existsByUserIdAndSectionId(dto.userId(), dto.sectionId())) {
-            throw CustomResponseException.BadRequest("User is already enrolled in this section");
+    //    Bulk Create  =>  cohort onboarding (set-based validation + multi-row inserts, result per row)
+    @Transactional
+    public BulkEnrollmentResponseDTO createEnrollmentsBulk(BulkEnrollmentRequestDTO dto) {
+        List<CreateEnrollmentDTO> rows = dto.enrollments();
+
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> sectionIds = new HashSet<>();
+        for (CreateEnrollmentDTO row : rows) {
+            userIds.add(row.userId());
+            sectionIds.add(row.sectionId());
         }
 
-        // Determine enrollment status based on payment
-        EnrollmentStatus status = determineEnrollmentStatus(dto.amountPaid(), section.getPrice());
-
-        // Create enrollment
-        Enrollment enrollment = Enrollment.builder()
-                .user(user)
-                .section(section)
-                .amountPaid(dto.amountPaid())
-                .status(status)
-                .build();
+        // ONE lookup per kind (chunked) instead of per row
+        Set<UUID> existingUsers = enrollmentJdbcRepo.findExistingUserIds(userIds);
+        Map<UUID, BigDecimal> sectionPrices = enrollmentJdbcRepo.findSectionPrices(sectionIds);
+        Set<EnrollmentJdbcRepo.UserSection> alreadyEnrolled =
+                enrollmentJdbcRepo.findExistingPairs(existingUsers, sectionPrices.keySet());
+
+        BulkEnrollmentOutcome[] outcomes = new BulkEnrollmentOutcome[rows.size()];
+        Map<Integer, EnrollmentJdbcRepo.NewEnrollment> toInsert = new LinkedHashMap<>();
+        Set<EnrollmentJdbcRepo.UserSection> seen = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            CreateEnrollmentDTO row = rows.get(i);
+            EnrollmentJdbcRepo.UserSection pair = new EnrollmentJdbcRepo.UserSection(row.userId(), row.sectionId());
+
+            if (!existingUsers.contains(row.userId())) {
+                outcomes[i] = BulkEnrollmentOutcome.USER_NOT_FOUND;
+            } else if (!sectionPrices.containsKey(row.sectionId())) {
+                outcomes[i] = BulkEnrollmentOutcome.SECTION_NOT_FOUND;
+            } else if (alreadyEnrolled.contains(pair)) {
+                outcomes[i] = BulkEnrollmentOutcome.ALREADY_ENROLLED;
+            } else if (!seen.add(pair)) {
+                outcomes[i] = BulkEnrollmentOutcome.DUPLICATE_ROW;
+            } else {
+                EnrollmentStatus status = determineEnrollmentStatus(row.amountPaid(), sectionPrices.get(row.sectionId()));
+                toInsert.put(i, new EnrollmentJdbcRepo.NewEnrollment(
+                        UUID.randomUUID(), row.userId(), row.sectionId(), row.amountPaid(), status));
+                outcomes[i] = BulkEnrollmentOutcome.CREATED;
+            }
+        }
 
-        enrollment = enrollmentRepo.save(enrollment);
+        // Only rows the database really inserted come back => concurrently inserted ones are already enrolled
+        Set<UUID> insertedIds = toInsert.isEmpty() ? Set.of() : enrollmentJdbcRepo.insertIgnoringConflicts(
+                List.copyOf(toInsert.values()),
+                auditorAware.getCurrentAuditor().orElse(null)
+        );
+
+        List<BulkEnrollmentRowDTO> results = new ArrayList<>(rows.size());
+        Set<UUID> enrolledUsers = new HashSet<>();
+        int created = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            CreateEnrollmentDTO row = rows.get(i);
+            EnrollmentJdbcRepo.NewEnrollment inserted = toInsert.get(i);
+
+            if (inserted != null && !insertedIds.contains(inserted.id())) {
+                outcomes[i] = BulkEnrollmentOutcome.ALREADY_ENROLLED;
+                inserted = null;
+            }
+            if (inserted != null) {
+                created++;
+                enrolledUsers.add(row.userId());
+            }
+
+            results.add(new BulkEnrollmentRowDTO(
+                    i,
+                    row.userId(),
+                    row.sectionId(),
+                    outcomes[i],
+                    inserted != null ? inserted.id() : null,
+                    inserted != null ? inserted.status() : null
+            ));
+        }
 
+        // Refresh cached section access for every user that gained an enrollment (after commit)
+        entitlementService.onEnrollmentsChanged(enrolledUsers);
 
-        return mapper.toEnrollmentResponseDTO(enrollment);
+        return new BulkEnrollmentResponseDTO(rows.size(), created, rows.size() - created, results);
     }
 
     //    Get All For ((Specific-User))
+    @Transactional(readOnly = true)
     public Page<EnrollmentResponseDTO> getAllEnrollmentsForUser(UUID userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Enrollment> enrollments = enrollmentRepo.findAllByUserIdWithDetails(userId, pageable);
@@ -84,6 +173,7 @@ public class EnrollmentService {
     }
 
     //    Get All For ((Specific-Section))
+    @Transactional(readOnly = true)
     public Page<EnrollmentResponseDTO> getAllEnrollmentsForSection(UUID sectionId, int page, int size) {
         // Validate section exists
         if (!sectionRepo.existsById(sectionId)) {
@@ -0,0 +1,116 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.config.ReadWriteRoutingDataSource;
+import com.mostafa.lms_api.dto.enrollment.SectionEntitlementDTO;
+import com.mostafa.lms_api.enums.EnrollmentStatus;
+import com.mostafa.lms_api.repository.EnrollmentRepo;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+
+/**
+ * Which sections a user has paid for (ACTIVE enrollments).
+ * Loaded with ONE query for all of the user's courses, cached per user and
+ * evicted after commit whenever the user's enrollments change => access checks become set lookups.
+ * Always loaded from the primary => an enrollment a replica hasn't seen yet is never cached as "not paid".
+ */
+@Service
+public class EntitlementService {
+    private final EnrollmentRepo enrollmentRepo;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate primaryReads;
+
+    public EntitlementService(EnrollmentRepo enrollmentRepo,
+                              CacheManager cacheManager,
+                              PlatformTransactionManager transactionManager) {
+        this.enrollmentRepo = enrollmentRepo;
+        this.cacheManager = cacheManager;
+        this.primaryReads = ReadWriteRoutingDataSource.primaryReads(transactionManager);
+    }
+
+
+    // ACTIVE section IDs grouped by course
+    public record UserEntitlements(Map<UUID, Set<UUID>> sectionsByCourse, Set<UUID> sectionIds) {
+        static final UserEntitlements NONE = new UserEntitlements(Map.of(), Set.of());
+
+        public Set<UUID> forCourse(UUID courseId) {
+            return sectionsByCourse.getOrDefault(courseId, Set.of());
+        }
+
+        public boolean hasSection(UUID sectionId) {
+            return sectionIds.contains(sectionId);
+        }
+    }
+
+
+    public UserEntitlements getEntitlements(UUID userId) {
+        if (userId == null) {
+            return UserEntitlements.NONE;
+        }
+
+        return cache().get(userId, () -> primaryReads.execute(status -> loadEntitlements(userId)));
+    }
+
+    // User's ACTIVE section IDs for a whole course
+    public Set<UUID> getActiveSectionIds(UUID userId, UUID courseId) {
+        return getEntitlements(userId).forCourse(courseId);
+    }
+
+    // Check if user has paid for section
+    public boolean hasUserPaidForSection(UUID userId, UUID sectionId) {
+        return getEntitlements(userId).hasSection(sectionId);
+    }
+
+    // Call whenever a user's enrollments change (evicted only once the change is committed)
+    public void onEnrollmentChanged(UUID userId) {
+        TransactionCallbacks.afterCommit(() -> evictUser(userId));
+    }
+
+    // Same as above for many users at once (bulk enrollment) => one after-commit callback
+    public void onEnrollmentsChanged(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = List.copyOf(userIds);
+        TransactionCallbacks.afterCommit(() -> ids.forEach(this::evictUser));
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private UserEntitlements loadEntitlements(UUID userId) {
+        List<SectionEntitlementDTO> rows = enrollmentRepo.findSectionEntitlements(userId, EnrollmentStatus.ACTIVE);
+
+        Map<UUID, Set<UUID>> sectionsByCourse = rows.stream()
+                .collect(Collectors.groupingBy(
+                        SectionEntitlementDTO::courseId,
+                        Collectors.mapping(SectionEntitlementDTO::sectionId, Collectors.toUnmodifiableSet())
+                ));
+        Set<UUID> sectionIds = rows.stream()
+                .map(SectionEntitlementDTO::sectionId)
+                .collect(Collectors.toUnmodifiableSet());
+
+        return new UserEntitlements(Map.copyOf(sectionsByCourse), sectionIds);
+    }
+
+    // Every per-user cache derived from enrollments (/me summary included)
+    private void evictUser(UUID userId) {
+        cache().evict(userId);
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.USER_ENROLLMENTS)).evict(userId);
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.SECTION_ENTITLEMENTS));
+    }
+
+
+}
@@ -1,24 +1,25 @@
 package com.mostafa.lms_api.service;
 
 
+import com.mostafa.lms_api.config.ContentUrlSigner;
+import com.mostafa.lms_api.dto.StoredContent;
 import com.mostafa.lms_api.dto.file.CreateFileDTO;
 import com.mostafa.lms_api.dto.file.FileResponseDTO;
 import com.mostafa.lms_api.dto.file.UpdateFileDTO;
-import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.File;
 import com.mostafa.lms_api.model.Section;
-import com.mostafa.lms_api.model.User;
-import com.mostafa.lms_api.repository.EnrollmentRepo;
 import com.mostafa.lms_api.repository.FileRepo;
 import com.mostafa.lms_api.repository.SectionRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -28,12 +29,16 @@ import java.util.UUID;
 public class FileService {
     private final FileRepo fileRepo;
     private final SectionRepo sectionRepo;
-    private final EnrollmentRepo enrollmentRepo;
+    private final EntitlementService entitlementService;
     private final EntityDtoMapper mapper;
+    private final CourseTreeService courseTreeService;
     private final CurrentUser currentUser;
+    private final FileStorage fileStorage;
+    private final StoredContentCache storedContentCache;
 
 
     //    Create
+    @Transactional
     public FileResponseDTO createFile(CreateFileDTO dto) {
         Section section = sectionRepo.findById(dto.sectionId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + dto.sectionId()));
@@ -42,14 +47,17 @@ public class FileService {
         file.setSection(section);
 
         File savedFile = fileRepo.save(file);
+        courseTreeService.evictCourse(section.getCourse().getId());
 
         return mapper.toFileResponseDTO(savedFile);
     }
 
     //    Update BY ((fileId))
+    @Transactional
     public FileResponseDTO updateFile(UUID fileId, UpdateFileDTO dto) {
         File existingFile = fileRepo.findById(fileId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("File not found with this ID: " + fileId));
+        UUID oldCourseId = existingFile.getSection().getCourse().getId();
 
         if (dto.title() != null) {
             existingFile.setTitle(dto.title());
@@ -64,48 +72,94 @@ public class FileService {
         }
 
         File updatedFile = fileRepo.save(existingFile);
+        storedContentCache.evict(ContentUrlSigner.fileResource(fileId));
+        courseTreeService.evictCourse(oldCourseId);
+        UUID newCourseId = updatedFile.getSection().getCourse().getId();
+        if (!oldCourseId.equals(newCourseId)) {
+            courseTreeService.evictCourse(newCourseId);
+        }
 
         return mapper.toFileResponseDTO(updatedFile);
     }
 
     //    Delete BY ((fileId))  =>  ||||Do not Delete||||
+    @Transactional
     public String deleteFile(UUID fileId) {
         File file = fileRepo.findById(fileId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("File not found with this ID: " + fileId));
 
+        UUID courseId = file.getSection().getCourse().getId();
+        String storageKey = file.getStorageKey();
         fileRepo.delete(file);
+        storedContentCache.evict(ContentUrlSigner.fileResource(fileId));
+        if (storageKey != null) {
+            TransactionCallbacks.afterCommit(() -> fileStorage.delete(storageKey));
+        }
+        courseTreeService.evictCourse(courseId);
 
         return "File Deleted Success";
     }
 
     // ***************************** ((Specifications)) *********************** //
     // Get All Files Dependent on (sectionId) with access control
+    @Transactional(readOnly = true)
     public Page<FileResponseDTO> getAllFilesForSection(UUID sectionId, int page, int size) {
         if (sectionId == null) {
             throw new IllegalArgumentException("Section ID cannot be null");
         }
 
-        sectionRepo.findById(sectionId)
-                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId));
+        if (!sectionRepo.existsById(sectionId)) {
+            throw CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId);
+        }
 
         // Get current user
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
-        // Check if user has paid for this section
-        boolean hasAccess = hasUserPaidForSection(authUser.getId(), sectionId);
+        // Check if user has paid for this section (cached set lookup)
+        boolean hasAccess = entitlementService.hasUserPaidForSection(authUserId, sectionId);
 
         Pageable pageable = PageRequest.of(page, size);
         Page<File> filesPage = fileRepo.findBySectionId(sectionId, pageable);
 
-        // Convert Page<File> to Page<FileResponseDTO> with access control
-        return filesPage.map(file -> mapper.toFileResponseDTOWithAccess(file, hasAccess));
+        // Convert Page<File> to Page<FileResponseDTO> with access control (content URLs signed for this user)
+        return filesPage.map(file -> mapper.toFileResponseDTOWithAccess(file, hasAccess, authUserId));
+    }
+
+    // Content (bytes) of ONE file => signed URL OR same rule as the listing: paid for the section OR preview
+    // Only metadata here, no transaction => the (possibly multi-GB) streaming never holds a connection,
+    // a signed request (access proven by SignedUrlFilter) is answered from memory
+    public StoredContent getFileContent(UUID fileId) {
+        String resource = ContentUrlSigner.fileResource(fileId);
+        if (currentUser.hasContentGrant(resource)) {
+            return storedContentCache.get(resource, () -> toStoredContent(findFile(fileId)));
+        }
+
+        File file = findFile(fileId);
+        if (!Boolean.TRUE.equals(file.getIsPreview())) {
+            // Section id from the lazy proxy => no section load
+            UUID sectionId = file.getSection().getId();
+            if (!entitlementService.hasUserPaidForSection(currentUser.getCurrentUserId(), sectionId)) {
+                throw CustomResponseException.Forbidden("You have not purchased the section of this file");
+            }
+        }
+
+        return toStoredContent(file);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private File findFile(UUID fileId) {
+        return fileRepo.findById(fileId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("File not found with this ID: " + fileId));
     }
 
-    // Helper method to check if user has paid for section
-    private boolean hasUserPaidForSection(UUID userId, UUID sectionId) {
-        return enrollmentRepo.findByUserIdAndSectionId(userId, sectionId)
-                .map(enrollment -> enrollment.getStatus() == EnrollmentStatus.ACTIVE)
-                .orElse(false);
+    private static StoredContent toStoredContent(File file) {
+        if (file.getStorageKey() == null) {
+            return StoredContent.external(file.getFileUrl());
+        }
+
+        return StoredContent.stored(file.getStorageKey(), file.getContentType(), file.getTitle());
     }
 
+
 }
@@ -0,0 +1,47 @@
+package com.mostafa.lms_api.service;
+
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+
+
+/**
+ * Where course materials (and later uploads) live. Keys are write-once: new content => new key,
+ * so (key, size, last modified) identifies the bytes and can back a strong ETag.
+ */
+public interface FileStorage {
+    // video_url / file_url of rows whose bytes live here (the API serves them, see EntityDtoMapper)
+    String URL_PREFIX = "storage:";
+
+    // localPath => set when the bytes are a plain file on this machine (sendfile), null for remote backends
+    record StoredObject(String key, long size, long lastModifiedMillis, String etag, Path localPath) {
+    }
+
+
+    // Metadata only => throws ResourceNotFound when the key has no content
+    StoredObject stat(String key);
+
+    // Caller closes => positioned reads, nothing buffered beyond the copy loop
+    SeekableByteChannel openForRead(String key) throws IOException;
+
+    // ********************************** ((Staged Uploads)) **************************************** //
+    // Writes exactly `length` bytes of source at `position` of the staging object (created on first write).
+    // Chunks may arrive in any order & in parallel => each write only touches its own byte range.
+    // Returns the bytes written (< length => the source ended early)
+    long writeAt(String stagingKey, long position, ReadableByteChannel source, long length) throws IOException;
+
+    // Staging object becomes visible under key in one atomic step (never half-written)
+    void publish(String stagingKey, String key) throws IOException;
+
+    // Best effort => missing keys ignored, failures logged (an orphaned object only costs disk)
+    void delete(String key);
+
+
+    static String url(String key) {
+        return URL_PREFIX + key;
+    }
+
+
+}
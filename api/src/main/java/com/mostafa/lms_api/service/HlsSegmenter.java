@@ -0,0 +1,310 @@
+package com.mostafa.lms_api.service;
+
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mostafa.lms_api.service.MediaProbe.fourCc;
+import static com.mostafa.lms_api.service.MediaProbe.read;
+import static com.mostafa.lms_api.service.MediaProbe.readBox;
+
+
+/**
+ * HLS (fMP4) rendition of a stored video WITHOUT re-encoding or copying: a fragmented MP4
+ * (moov + moof/mdat pairs, e.g. ffmpeg -movflags frag_keyframe+empty_moov, CMAF) already is a run of playable fragments.
+ * init segment => bytes up to the end of moov, media segment => whole consecutive fragments (~target duration),
+ * so every segment is just a byte range of the stored object. Progressive MP4 / WebM => no rendition (null).
+ */
+@Component
+public class HlsSegmenter {
+    private static final int FTYP = fourCc("ftyp");
+    private static final int MOOV = fourCc("moov");
+    private static final int MOOF = fourCc("moof");
+    private static final int MDAT = fourCc("mdat");
+    private static final int MVEX = fourCc("mvex");
+    private static final int TREX = fourCc("trex");
+    private static final int TRAK = fourCc("trak");
+    private static final int TKHD = fourCc("tkhd");
+    private static final int MDIA = fourCc("mdia");
+    private static final int MDHD = fourCc("mdhd");
+    private static final int HDLR = fourCc("hdlr");
+    private static final int TRAF = fourCc("traf");
+    private static final int TFHD = fourCc("tfhd");
+    private static final int TRUN = fourCc("trun");
+    private static final int VIDE = fourCc("vide");
+
+    // 3 h lecture cut every second => ~22k top-level boxes (generous, but bounded for corrupt files)
+    private static final int MAX_BOXES = 1_000_000;
+    // moof only holds sample tables => read whole, parsed in memory
+    private static final int MAX_MOOF_SIZE = 4 * 1024 * 1024;
+
+
+    // Byte range of the stored object
+    public record Segment(long offset, long length, double durationSeconds) {
+    }
+
+    public record HlsIndex(long initLength, List<Segment> segments) {
+        // EXT-X-TARGETDURATION => no segment may be longer (rounded)
+        public int targetDuration() {
+            double longest = 0;
+            for (Segment segment : segments) {
+                longest = Math.max(longest, segment.durationSeconds());
+            }
+            return (int) Math.max(1, Math.round(Math.ceil(longest)));
+        }
+    }
+
+    // Timing source => the video track (else the first track), trex => defaults for fragments that omit them
+    private record Track(int id, long timescale, long defaultSampleDuration) {
+    }
+
+    private record Trak(int id, long timescale, boolean video) {
+    }
+
+
+    // null => not a fragmented MP4 (played through /content with Range instead)
+    public HlsIndex index(SeekableByteChannel channel, double targetSegmentSeconds) throws IOException {
+        long size = channel.size();
+        MediaProbe.Box box = readBox(channel, 0, size);
+        if (box == null || box.type() != FTYP) {
+            return null;
+        }
+
+        Track track = null;
+        long initLength = -1;
+        List<Segment> segments = new ArrayList<>();
+
+        // Boxes between two fragments (styp, sidx, emsg...) ride along with the fragment that follows
+        long segmentStart = -1;
+        double segmentDuration = 0;
+        long fragmentTicks = 0;
+        long fragmentEnd = -1;
+        boolean inFragment = false;
+        int seen = 0;
+
+        for (; box != null; box = readBox(channel, box.end(), size)) {
+            if (++seen > MAX_BOXES) {
+                return null;
+            }
+
+            if (track == null) {
+                if (box.type() == MOOV) {
+                    track = parseTrack(channel, box);
+                    if (track == null) {
+                        return null;
+                    }
+                    initLength = box.end();
+                }
+                continue;
+            }
+
+            if (box.type() == MOOF) {
+                long ticks = fragmentTicks(channel, box, track);
+                if (ticks < 0) {
+                    return null;
+                }
+                if (segmentStart < 0) {
+                    segmentStart = fragmentEnd < 0 ? initLength : fragmentEnd;
+                }
+                fragmentTicks += ticks;
+                inFragment = true;
+            } else if (box.type() == MDAT && inFragment) {
+                // Fragment complete => cut here once the segment is long enough
+                segmentDuration += (double) fragmentTicks / track.timescale();
+                fragmentTicks = 0;
+                fragmentEnd = box.end();
+                inFragment = false;
+
+                if (segmentDuration >= targetSegmentSeconds) {
+                    segments.add(new Segment(segmentStart, box.end() - segmentStart, segmentDuration));
+                    segmentStart = -1;
+                    segmentDuration = 0;
+                }
+            }
+        }
+
+        // Tail shorter than the target (mfra & friends after the last mdat are left out)
+        if (segmentStart >= 0 && fragmentEnd > segmentStart && segmentDuration > 0) {
+            segments.add(new Segment(segmentStart, fragmentEnd - segmentStart, segmentDuration));
+        }
+
+        return initLength > 0 && !segments.isEmpty() ? new HlsIndex(initLength, List.copyOf(segments)) : null;
+    }
+
+
+    // ********************************** ((moov)) **************************************** //
+    // No mvex => progressive file => null
+    private Track parseTrack(SeekableByteChannel channel, MediaProbe.Box moov) throws IOException {
+        List<Trak> traks = new ArrayList<>();
+        Map<Integer, Long> trexDurations = new HashMap<>();
+        boolean fragmented = false;
+
+        for (MediaProbe.Box box = readBox(channel, moov.dataStart(), moov.end()); box != null;
+             box = readBox(channel, box.end(), moov.end())) {
+            if (box.type() == TRAK) {
+                Trak trak = parseTrak(channel, box);
+                if (trak != null) {
+                    traks.add(trak);
+                }
+            } else if (box.type() == MVEX) {
+                fragmented = true;
+                for (MediaProbe.Box child = readBox(channel, box.dataStart(), box.end()); child != null;
+                     child = readBox(channel, child.end(), box.end())) {
+                    if (child.type() == TREX) {
+                        ByteBuffer data = read(channel, child.dataStart(), 16);
+                        if (data.remaining() == 16) {
+                            trexDurations.put(data.getInt(4), data.getInt(12) & 0xFFFFFFFFL);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!fragmented || traks.isEmpty()) {
+            return null;
+        }
+
+        Trak chosen = traks.stream().filter(Trak::video).findFirst().orElse(traks.get(0));
+        return new Track(chosen.id(), chosen.timescale(), trexDurations.getOrDefault(chosen.id(), 0L));
+    }
+
+    // tkhd track_ID, mdia/mdhd timescale, mdia/hdlr handler type (version 1 => 64-bit times before the fields)
+    private Trak parseTrak(SeekableByteChannel channel, MediaProbe.Box trak) throws IOException {
+        Integer id = null;
+        long timescale = 0;
+        boolean video = false;
+
+        for (MediaProbe.Box box = readBox(channel, trak.dataStart(), trak.end()); box != null;
+             box = readBox(channel, box.end(), trak.end())) {
+            if (box.type() == TKHD) {
+                ByteBuffer data = read(channel, box.dataStart(), 24);
+                if (data.remaining() == 24) {
+                    id = data.getInt(data.get(0) == 1 ? 20 : 12);
+                }
+            } else if (box.type() == MDIA) {
+                for (MediaProbe.Box child = readBox(channel, box.dataStart(), box.end()); child != null;
+                     child = readBox(channel, child.end(), box.end())) {
+                    ByteBuffer data = read(channel, child.dataStart(), 24);
+                    if (child.type() == MDHD && data.remaining() == 24) {
+                        timescale = data.getInt(data.get(0) == 1 ? 20 : 12) & 0xFFFFFFFFL;
+                    } else if (child.type() == HDLR && data.remaining() >= 12) {
+                        video = data.getInt(8) == VIDE;
+                    }
+                }
+            }
+        }
+
+        return id != null && timescale > 0 ? new Trak(id, timescale, video) : null;
+    }
+
+
+    // ********************************** ((moof)) **************************************** //
+    // Sum of the track's sample durations in this fragment (timescale ticks), -1 => corrupt
+    private long fragmentTicks(SeekableByteChannel channel, MediaProbe.Box moof, Track track) throws IOException {
+        long moofSize = moof.end() - moof.dataStart();
+        if (moofSize > MAX_MOOF_SIZE) {
+            return -1;
+        }
+
+        ByteBuffer data = read(channel, moof.dataStart(), (int) moofSize);
+        if (data.remaining() != moofSize) {
+            return -1;
+        }
+
+        long ticks = 0;
+        for (int traf = 0; traf + 8 <= data.limit(); ) {
+            int trafEnd = childEnd(data, traf, data.limit());
+            if (trafEnd < 0) {
+                return -1;
+            }
+            if (data.getInt(traf + 4) == TRAF) {
+                long trafTicks = trafTicks(data, traf + 8, trafEnd, track);
+                if (trafTicks < 0) {
+                    return -1;
+                }
+                ticks += trafTicks;
+            }
+            traf = trafEnd;
+        }
+
+        return ticks;
+    }
+
+    // tfhd (track, default duration) always precedes its truns
+    private long trafTicks(ByteBuffer data, int start, int end, Track track) {
+        long defaultDuration = track.defaultSampleDuration();
+        long ticks = 0;
+
+        for (int box = start; box + 8 <= end; ) {
+            int boxEnd = childEnd(data, box, end);
+            if (boxEnd < 0) {
+                return -1;
+            }
+            int type = data.getInt(box + 4);
+
+            if (type == TFHD) {
+                if (box + 16 > boxEnd) {
+                    return -1;
+                }
+                int flags = data.getInt(box + 8) & 0xFFFFFF;
+                if (data.getInt(box + 12) != track.id()) {
+                    return 0;
+                }
+                int offset = box + 16;
+                offset += (flags & 0x01) != 0 ? 8 : 0;   // base_data_offset
+                offset += (flags & 0x02) != 0 ? 4 : 0;   // sample_description_index
+                if ((flags & 0x08) != 0) {
+                    if (offset + 4 > boxEnd) {
+                        return -1;
+                    }
+                    defaultDuration = data.getInt(offset) & 0xFFFFFFFFL;
+                }
+            } else if (type == TRUN) {
+                if (box + 16 > boxEnd) {
+                    return -1;
+                }
+                int flags = data.getInt(box + 8) & 0xFFFFFF;
+                long sampleCount = data.getInt(box + 12) & 0xFFFFFFFFL;
+                int offset = box + 16;
+                offset += (flags & 0x01) != 0 ? 4 : 0;   // data_offset
+                offset += (flags & 0x04) != 0 ? 4 : 0;   // first_sample_flags
+
+                if ((flags & 0x100) == 0) {
+                    ticks += sampleCount * defaultDuration;
+                } else {
+                    // duration | size | flags | composition offset => 4 bytes each when present
+                    int entrySize = 4 * Integer.bitCount(flags & 0xF00);
+                    if (offset + sampleCount * entrySize > boxEnd) {
+                        return -1;
+                    }
+                    for (long i = 0; i < sampleCount; i++) {
+                        ticks += data.getInt((int) (offset + i * entrySize)) & 0xFFFFFFFFL;
+                    }
+                }
+            }
+            box = boxEnd;
+        }
+
+        return ticks;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // End of the (32-bit sized) child box at position, -1 => does not fit its parent
+    private static int childEnd(ByteBuffer data, int position, int parentEnd) {
+        long size = data.getInt(position) & 0xFFFFFFFFL;
+        if (size < 8 || position + size > parentEnd) {
+            return -1;
+        }
+        return (int) (position + size);
+    }
+
+
+}
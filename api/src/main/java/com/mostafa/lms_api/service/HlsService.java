@@ -0,0 +1,185 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.config.ContentUrlSigner;
+import com.mostafa.lms_api.dto.StoredContent;
+import com.mostafa.lms_api.dto.StoredSlice;
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.utils.CurrentUser;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+
+/**
+ * HLS playback of stored lectures: playlist + init segment + media segments, all byte ranges of the
+ * one stored (fragmented) MP4 => nothing transcoded or duplicated on disk.
+ * Same access rule as /content (paid section OR preview). Segment index cached per storage key,
+ * hot segments (first minutes of each lecture) served from memory, the rest zero copy from disk.
+ * Hot segments => Caffeine under a FIXED byte budget (weight = segment size), memory stays flat whatever the
+ * number of viewers; concurrent misses on one segment (lecture start) share a single disk read.
+ */
+@Service
+public class HlsService {
+    private static final String SEGMENT_TYPE = "video/mp4";
+    // init segment => always hot (every viewer starts with it)
+    private static final int INIT_SEGMENT = -1;
+
+    private final VideoService videoService;
+    private final FileStorage fileStorage;
+    private final HlsSegmenter segmenter;
+    // (storage key, segment) => bytes, keys are write-once so an entry never goes stale
+    private final com.github.benmanes.caffeine.cache.Cache<SegmentKey, byte[]> segmentCache;
+    // One segment may not push out more than 1/16 of the cache
+    private final long maxSegmentBytes;
+    private final CacheManager cacheManager;
+    private final ContentUrlSigner contentUrlSigner;
+    private final CurrentUser currentUser;
+    private final double segmentSeconds;
+    private final int hotSegments;
+
+
+    public HlsService(VideoService videoService,
+                      FileStorage fileStorage,
+                      HlsSegmenter segmenter,
+                      CacheManager cacheManager,
+                      ContentUrlSigner contentUrlSigner,
+                      CurrentUser currentUser,
+                      @Value("${lms.media.hls.segment-duration:6s}") Duration segmentDuration,
+                      @Value("${lms.media.hls.hot-segments:30}") int hotSegments,
+                      @Value("${lms.media.hls.cache-size:256MB}") DataSize cacheSize) {
+        this.videoService = videoService;
+        this.fileStorage = fileStorage;
+        this.segmenter = segmenter;
+        this.cacheManager = cacheManager;
+        this.contentUrlSigner = contentUrlSigner;
+        this.currentUser = currentUser;
+        this.segmentSeconds = segmentDuration.toMillis() / 1000.0;
+        this.hotSegments = hotSegments;
+        this.segmentCache = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .weigher((SegmentKey key, byte[] bytes) -> bytes.length)
+                .build();
+        this.maxSegmentBytes = cacheSize.toBytes() / 16;
+    }
+
+
+    record SegmentKey(String storageKey, int segment) {
+    }
+
+
+    // Media playlist (VOD) => URIs relative to the playlist (init.mp4, 0.m4s, ...)
+    // and signed for the viewer => every segment request after this one is checked without the database
+    public String getPlaylist(UUID videoId) {
+        HlsSegmenter.HlsIndex index = index(storedVideo(videoId));
+        String query = "?" + contentUrlSigner.signedQuery(ContentUrlSigner.videoResource(videoId), currentUser.getViewerId());
+
+        StringBuilder playlist = new StringBuilder(256 + index.segments().size() * (32 + query.length()))
+                .append("#EXTM3U\n")
+                .append("#EXT-X-VERSION:7\n")
+                .append("#EXT-X-TARGETDURATION:").append(index.targetDuration()).append('\n')
+                .append("#EXT-X-MEDIA-SEQUENCE:0\n")
+                .append("#EXT-X-PLAYLIST-TYPE:VOD\n")
+                .append("#EXT-X-MAP:URI=\"init.mp4").append(query).append("\"\n");
+
+        List<HlsSegmenter.Segment> segments = index.segments();
+        for (int i = 0; i < segments.size(); i++) {
+            playlist.append(String.format(Locale.ROOT, "#EXTINF:%.3f,\n", segments.get(i).durationSeconds()))
+                    .append(i).append(".m4s").append(query).append('\n');
+        }
+
+        return playlist.append("#EXT-X-ENDLIST\n").toString();
+    }
+
+    public StoredSlice getInitSegment(UUID videoId) {
+        String storageKey = storedVideo(videoId);
+        return slice(storageKey, INIT_SEGMENT, 0, index(storageKey).initLength());
+    }
+
+    public StoredSlice getSegment(UUID videoId, int segment) {
+        String storageKey = storedVideo(videoId);
+        List<HlsSegmenter.Segment> segments = index(storageKey).segments();
+        if (segment < 0 || segment >= segments.size()) {
+            throw CustomResponseException.ResourceNotFound("Segment " + segment + " not found for video: " + videoId);
+        }
+
+        HlsSegmenter.Segment found = segments.get(segment);
+        return slice(storageKey, segment, found.offset(), found.length());
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // Access check (signed URL, paid OR preview) + storage key => external videos have no HLS rendition
+    private String storedVideo(UUID videoId) {
+        StoredContent content = videoService.getVideoContent(videoId);
+        if (content.storageKey() == null) {
+            throw CustomResponseException.ResourceNotFound("Video is not hosted here, play its URL instead: " + videoId);
+        }
+        return content.storageKey();
+    }
+
+    // Built once per stored object (keys are write-once) => no rendition cached too, so progressive files aren't rescanned
+    private HlsSegmenter.HlsIndex index(String storageKey) {
+        HlsSegmenter.HlsIndex index = cache().get(storageKey, () -> {
+            try (SeekableByteChannel channel = fileStorage.openForRead(storageKey)) {
+                return segmenter.index(channel, segmentSeconds);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not index video " + storageKey, e);
+            }
+        });
+
+        if (index == null) {
+            throw CustomResponseException.ResourceNotFound("Video has no HLS rendition (not a fragmented MP4), use its content URL");
+        }
+        return index;
+    }
+
+    // Hot => memory (loaded once, other requests for it wait for that load), cold => byte range streamed from disk
+    private StoredSlice slice(String storageKey, int segment, long offset, long length) {
+        boolean hot = segment < hotSegments && length <= maxSegmentBytes;
+        if (!hot) {
+            return StoredSlice.range(storageKey, offset, length, SEGMENT_TYPE);
+        }
+
+        byte[] bytes = segmentCache.get(new SegmentKey(storageKey, segment), key -> readFully(storageKey, offset, (int) length));
+        return StoredSlice.cached(bytes, SEGMENT_TYPE);
+    }
+
+    private byte[] readFully(String storageKey, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        try (SeekableByteChannel channel = fileStorage.openForRead(storageKey)) {
+            channel.position(offset);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Stored video " + storageKey + " is shorter than its segment index");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read segment of " + storageKey, e);
+        }
+
+        return buffer.array();
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.HLS_INDEXES));
+    }
+
+
+}
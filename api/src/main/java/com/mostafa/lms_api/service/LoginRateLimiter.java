@@ -0,0 +1,118 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+
+/**
+ * In-memory token buckets for login attempts, one per client IP and one per account (email).
+ * A bucket holds `capacity` attempts and refills continuously at `refill-per-minute` =>
+ * bursts (a classroom behind one NAT) pass, sustained guessing gets 429 + Retry-After before any BCrypt work.
+ * The IP bucket is sized for a whole school behind one NAT (the account bucket stops password guessing);
+ * ip-capacity=0 turns it off. Client IP => request.getRemoteAddr(), resolved from X-Forwarded-For behind trusted proxies.
+ * ConcurrentHashMap.compute updates a bucket atomically per key (no locks); full buckets are pruned.
+ */
+@Component
+public class LoginRateLimiter {
+    private static final int PRUNE_THRESHOLD = 50_000;
+
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> accountBuckets = new ConcurrentHashMap<>();
+    // null => no per-IP limit
+    private final Limit ipLimit;
+    private final Limit accountLimit;
+    private final LongSupplier nanoClock;
+
+
+    record Limit(double capacity, double tokensPerNano) {
+        static Limit of(int capacity, int refillPerMinute) {
+            return new Limit(capacity, refillPerMinute / 60_000_000_000.0);
+        }
+
+        double nanosUntilOneToken(double tokens) {
+            return (1 - tokens) / tokensPerNano;
+        }
+    }
+
+    // Immutable => replaced inside compute(); granted = did THIS update take a token
+    record Bucket(double tokens, long updatedAtNanos, boolean granted) {
+        Bucket take(Limit limit, long now) {
+            double refilled = Math.min(limit.capacity(), tokens + (now - updatedAtNanos) * limit.tokensPerNano());
+            return refilled >= 1
+                    ? new Bucket(refilled - 1, now, true)
+                    : new Bucket(refilled, now, false);
+        }
+    }
+
+
+    public LoginRateLimiter(
+            @Value("${lms.auth.login-rate.ip-capacity:300}") int ipCapacity,
+            @Value("${lms.auth.login-rate.ip-refill-per-minute:120}") int ipRefillPerMinute,
+            @Value("${lms.auth.login-rate.account-capacity:5}") int accountCapacity,
+            @Value("${lms.auth.login-rate.account-refill-per-minute:5}") int accountRefillPerMinute) {
+        this(ipCapacity > 0 ? Limit.of(ipCapacity, ipRefillPerMinute) : null,
+                Limit.of(accountCapacity, accountRefillPerMinute),
+                System::nanoTime);
+    }
+
+    LoginRateLimiter(Limit ipLimit, Limit accountLimit, LongSupplier nanoClock) {
+        this.ipLimit = ipLimit;
+        this.accountLimit = accountLimit;
+        this.nanoClock = nanoClock;
+    }
+
+
+    // Throws 429 when either the IP or the account is out of attempts
+    public void acquire(String clientIp, String email) {
+        long now = nanoClock.getAsLong();
+
+        if (clientIp != null && ipLimit != null) {
+            Bucket ip = take(ipBuckets, clientIp, ipLimit, now);
+            if (!ip.granted()) {
+                throw tooManyRequests(ipLimit, ip);
+            }
+        }
+
+        if (email != null) {
+            Bucket account = take(accountBuckets, email.trim().toLowerCase(Locale.ROOT), accountLimit, now);
+            if (!account.granted()) {
+                throw tooManyRequests(accountLimit, account);
+            }
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Bucket take(Map<String, Bucket> buckets, String key, Limit limit, long now) {
+        Bucket bucket = buckets.compute(key, (k, current) -> current == null
+                ? new Bucket(limit.capacity() - 1, now, true)
+                : current.take(limit, now));
+
+        if (buckets.size() > PRUNE_THRESHOLD) {
+            prune(buckets, limit, now);
+        }
+
+        return bucket;
+    }
+
+    // A bucket that has refilled completely is the same as no bucket
+    private void prune(Map<String, Bucket> buckets, Limit limit, long now) {
+        buckets.entrySet().removeIf(entry ->
+                entry.getValue().tokens() + (now - entry.getValue().updatedAtNanos()) * limit.tokensPerNano() >= limit.capacity());
+    }
+
+    private CustomResponseException tooManyRequests(Limit limit, Bucket bucket) {
+        // - 1e-6 => float noise must not round 10.000000001s up to 11s
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(limit.nanosUntilOneToken(bucket.tokens()) / 1_000_000_000.0 - 1e-6));
+        return CustomResponseException.TooManyRequests("Too many login attempts, please retry later", retryAfterSeconds);
+    }
+
+
+}
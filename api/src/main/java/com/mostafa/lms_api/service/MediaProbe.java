@@ -0,0 +1,390 @@
+package com.mostafa.lms_api.service;
+
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Duration / resolution / average bitrate straight from the container headers, without decoding anything.
+ * MP4 => top-level boxes are skipped by size until `moov` (mvhd = duration, tkhd = video track size),
+ * WebM => EBML elements up to Segment/Info (Duration) and Tracks (PixelWidth/Height), clusters skipped.
+ * Only a few small positioned reads => a 20 GB lecture costs the same as a 20 MB one, wherever `moov` sits.
+ */
+@Component
+public class MediaProbe {
+    private static final int MOOV = fourCc("moov");
+    private static final int MVHD = fourCc("mvhd");
+    private static final int TRAK = fourCc("trak");
+    private static final int TKHD = fourCc("tkhd");
+    private static final int FTYP = fourCc("ftyp");
+
+    private static final long EBML_HEADER = 0x1A45DFA3L;
+    private static final long EBML_SEGMENT = 0x18538067L;
+    private static final long EBML_INFO = 0x1549A966L;
+    private static final long EBML_TIMECODE_SCALE = 0x2AD7B1L;
+    private static final long EBML_DURATION = 0x4489L;
+    private static final long EBML_TRACKS = 0x1654AE6BL;
+    private static final long EBML_TRACK_ENTRY = 0xAEL;
+    private static final long EBML_VIDEO = 0xE0L;
+    private static final long EBML_PIXEL_WIDTH = 0xB0L;
+    private static final long EBML_PIXEL_HEIGHT = 0xBAL;
+    private static final long EBML_CLUSTER = 0x1F43B675L;
+    private static final long EBML_UNKNOWN_SIZE = -1;
+
+    // Corrupt / hostile files => give up instead of walking forever
+    private static final int MAX_ELEMENTS = 10_000;
+
+
+    // Any field may be null (e.g. live-recorded WebM has no Duration)
+    public record MediaInfo(Double durationSeconds, Integer width, Integer height, Long bitrate) {
+    }
+
+
+    // null => not an MP4 / WebM container we understand
+    public MediaInfo probe(SeekableByteChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer head = read(channel, 0, 8);
+        if (head.remaining() < 8) {
+            return null;
+        }
+
+        if ((head.getInt(0) & 0xFFFFFFFFL) == EBML_HEADER) {
+            return probeWebm(channel, size);
+        }
+        if (head.getInt(4) == FTYP) {
+            return probeMp4(channel, size);
+        }
+
+        return null;
+    }
+
+
+    // ********************************** ((MP4)) **************************************** //
+    // start => first header byte, dataStart => first byte after the header
+    record Box(int type, long start, long dataStart, long end) {
+    }
+
+    private MediaInfo probeMp4(SeekableByteChannel channel, long size) throws IOException {
+        int seen = 0;
+        for (Box box = readBox(channel, 0, size); box != null && seen++ < MAX_ELEMENTS; box = readBox(channel, box.end(), size)) {
+            if (box.type() == MOOV) {
+                return parseMoov(channel, box, size);
+            }
+        }
+
+        return null;
+    }
+
+    private MediaInfo parseMoov(SeekableByteChannel channel, Box moov, long size) throws IOException {
+        Double duration = null;
+        Integer width = null;
+        Integer height = null;
+        int seen = 0;
+
+        for (Box box = readBox(channel, moov.dataStart(), moov.end()); box != null && seen++ < MAX_ELEMENTS;
+             box = readBox(channel, box.end(), moov.end())) {
+            if (box.type() == MVHD) {
+                duration = mvhdDuration(channel, box);
+            } else if (box.type() == TRAK && width == null) {
+                int[] dimensions = trakDimensions(channel, box);
+                if (dimensions != null) {
+                    width = dimensions[0];
+                    height = dimensions[1];
+                }
+            }
+        }
+
+        return new MediaInfo(duration, width, height, bitrate(size, duration));
+    }
+
+    // version 0 => 32-bit times, version 1 => 64-bit
+    private Double mvhdDuration(SeekableByteChannel channel, Box mvhd) throws IOException {
+        ByteBuffer data = read(channel, mvhd.dataStart(), 32);
+        if (data.remaining() < 20) {
+            return null;
+        }
+
+        int version = data.get(0) & 0xFF;
+        long timescale;
+        long duration;
+        if (version == 1) {
+            if (data.remaining() < 32) {
+                return null;
+            }
+            timescale = data.getInt(20) & 0xFFFFFFFFL;
+            duration = data.getLong(24);
+        } else {
+            timescale = data.getInt(12) & 0xFFFFFFFFL;
+            duration = data.getInt(16) & 0xFFFFFFFFL;
+        }
+
+        // all ones => unknown duration (fragmented files)
+        if (timescale == 0 || duration <= 0 || (version == 0 && duration == 0xFFFFFFFFL)) {
+            return null;
+        }
+
+        return (double) duration / timescale;
+    }
+
+    // tkhd width/height (16.16 fixed point) => 0x0 for audio tracks
+    private int[] trakDimensions(SeekableByteChannel channel, Box trak) throws IOException {
+        for (Box box = readBox(channel, trak.dataStart(), trak.end()); box != null; box = readBox(channel, box.end(), trak.end())) {
+            if (box.type() != TKHD) {
+                continue;
+            }
+
+            ByteBuffer data = read(channel, box.dataStart(), 96);
+            if (data.remaining() < 1) {
+                return null;
+            }
+            int offset = (data.get(0) & 0xFF) == 1 ? 88 : 76;
+            if (data.remaining() < offset + 8) {
+                return null;
+            }
+
+            int width = data.getInt(offset) >>> 16;
+            int height = data.getInt(offset + 4) >>> 16;
+            return width > 0 && height > 0 ? new int[]{width, height} : null;
+        }
+
+        return null;
+    }
+
+    // size 1 => 64-bit largesize follows, size 0 => box runs to the end of its parent
+    static Box readBox(SeekableByteChannel channel, long position, long end) throws IOException {
+        if (position + 8 > end) {
+            return null;
+        }
+
+        ByteBuffer header = read(channel, position, 16);
+        if (header.remaining() < 8) {
+            return null;
+        }
+
+        long boxSize = header.getInt(0) & 0xFFFFFFFFL;
+        int type = header.getInt(4);
+        long headerSize = 8;
+        if (boxSize == 1) {
+            if (header.remaining() < 16) {
+                return null;
+            }
+            boxSize = header.getLong(8);
+            headerSize = 16;
+        } else if (boxSize == 0) {
+            boxSize = end - position;
+        }
+
+        // boxSize > end - position => a 64-bit largesize cannot overflow position + boxSize
+        if (boxSize < headerSize || boxSize > end - position) {
+            return null;
+        }
+
+        return new Box(type, position, position + headerSize, position + boxSize);
+    }
+
+
+    // ********************************** ((WebM / Matroska)) **************************************** //
+    private record Element(long id, long dataStart, long end) {
+        boolean unknownSize() {
+            return end == EBML_UNKNOWN_SIZE;
+        }
+    }
+
+    private MediaInfo probeWebm(SeekableByteChannel channel, long size) throws IOException {
+        Element header = readElement(channel, 0, size);
+        if (header == null || header.unknownSize()) {
+            return null;
+        }
+
+        Element segment = readElement(channel, header.end(), size);
+        if (segment == null || segment.id() != EBML_SEGMENT) {
+            return null;
+        }
+        long segmentEnd = segment.unknownSize() ? size : Math.min(segment.end(), size);
+
+        long timecodeScale = 1_000_000; // default => milliseconds
+        Double rawDuration = null;
+        int[] dimensions = null;
+        int seen = 0;
+
+        long position = segment.dataStart();
+        while (position < segmentEnd && seen++ < MAX_ELEMENTS) {
+            Element element = readElement(channel, position, segmentEnd);
+            if (element == null) {
+                break;
+            }
+
+            if (element.id() == EBML_INFO && !element.unknownSize()) {
+                for (Element child : children(channel, element)) {
+                    if (child.id() == EBML_TIMECODE_SCALE) {
+                        timecodeScale = readUnsigned(channel, child);
+                    } else if (child.id() == EBML_DURATION) {
+                        rawDuration = readFloat(channel, child);
+                    }
+                }
+            } else if (element.id() == EBML_TRACKS && !element.unknownSize()) {
+                dimensions = trackDimensions(channel, element);
+            } else if (element.id() == EBML_CLUSTER && (dimensions != null || element.unknownSize())) {
+                // Media data from here on => Info & Tracks (if any) are behind us
+                break;
+            }
+
+            if (element.unknownSize()) {
+                break;
+            }
+            position = element.end();
+        }
+
+        Double duration = rawDuration != null && rawDuration > 0 ? rawDuration * timecodeScale / 1_000_000_000.0 : null;
+        return new MediaInfo(duration,
+                dimensions != null ? dimensions[0] : null,
+                dimensions != null ? dimensions[1] : null,
+                bitrate(size, duration));
+    }
+
+    private int[] trackDimensions(SeekableByteChannel channel, Element tracks) throws IOException {
+        for (Element entry : children(channel, tracks)) {
+            if (entry.id() != EBML_TRACK_ENTRY) {
+                continue;
+            }
+            for (Element video : children(channel, entry)) {
+                if (video.id() != EBML_VIDEO) {
+                    continue;
+                }
+
+                long width = 0;
+                long height = 0;
+                for (Element child : children(channel, video)) {
+                    if (child.id() == EBML_PIXEL_WIDTH) {
+                        width = readUnsigned(channel, child);
+                    } else if (child.id() == EBML_PIXEL_HEIGHT) {
+                        height = readUnsigned(channel, child);
+                    }
+                }
+                if (width > 0 && height > 0) {
+                    return new int[]{(int) width, (int) height};
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private List<Element> children(SeekableByteChannel channel, Element parent) throws IOException {
+        List<Element> children = new ArrayList<>();
+        long position = parent.dataStart();
+
+        while (position < parent.end() && children.size() < MAX_ELEMENTS) {
+            Element child = readElement(channel, position, parent.end());
+            if (child == null || child.unknownSize()) {
+                break;
+            }
+            children.add(child);
+            position = child.end();
+        }
+
+        return children;
+    }
+
+    // ID keeps its length marker (as in the spec tables), size drops it; all ones => unknown size
+    private Element readElement(SeekableByteChannel channel, long position, long end) throws IOException {
+        ByteBuffer data = read(channel, position, 12);
+        if (data.remaining() < 2) {
+            return null;
+        }
+
+        int idLength = vintLength(data.get(0));
+        if (idLength == 0 || idLength > 4 || data.remaining() < idLength + 1) {
+            return null;
+        }
+        long id = 0;
+        for (int i = 0; i < idLength; i++) {
+            id = (id << 8) | (data.get(i) & 0xFF);
+        }
+
+        int sizeLength = vintLength(data.get(idLength));
+        if (sizeLength == 0 || data.remaining() < idLength + sizeLength) {
+            return null;
+        }
+        long size = data.get(idLength) & (0xFF >> sizeLength);
+        boolean allOnes = size == (0xFF >> sizeLength);
+        for (int i = 1; i < sizeLength; i++) {
+            int b = data.get(idLength + i) & 0xFF;
+            size = (size << 8) | b;
+            allOnes &= b == 0xFF;
+        }
+
+        long dataStart = position + idLength + sizeLength;
+        if (allOnes) {
+            return new Element(id, dataStart, EBML_UNKNOWN_SIZE);
+        }
+        if (size < 0 || size > end - dataStart) {
+            return null;
+        }
+
+        return new Element(id, dataStart, dataStart + size);
+    }
+
+    // Leading zero bits + 1 = length of a variable-size integer (0 => invalid)
+    private static int vintLength(byte first) {
+        int value = first & 0xFF;
+        return value == 0 ? 0 : Integer.numberOfLeadingZeros(value) - 23;
+    }
+
+    private long readUnsigned(SeekableByteChannel channel, Element element) throws IOException {
+        int length = (int) Math.min(8, element.end() - element.dataStart());
+        ByteBuffer data = read(channel, element.dataStart(), length);
+
+        long value = 0;
+        while (data.hasRemaining()) {
+            value = (value << 8) | (data.get() & 0xFF);
+        }
+        return value;
+    }
+
+    private Double readFloat(SeekableByteChannel channel, Element element) throws IOException {
+        long length = element.end() - element.dataStart();
+        ByteBuffer data = read(channel, element.dataStart(), (int) Math.min(length, 8));
+
+        if (length == 4 && data.remaining() == 4) {
+            return (double) data.getFloat(0);
+        }
+        if (length == 8 && data.remaining() == 8) {
+            return data.getDouble(0);
+        }
+        return null;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // Positioned read of up to n bytes (fewer at the end of the file) => flipped, big-endian
+    static ByteBuffer read(SeekableByteChannel channel, long position, int n) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(n);
+        channel.position(position);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    // Average over the whole file (container overhead included) => good enough for delivery decisions
+    private static Long bitrate(long size, Double durationSeconds) {
+        return durationSeconds != null && durationSeconds > 0 ? Math.round(size * 8 / durationSeconds) : null;
+    }
+
+    static int fourCc(String type) {
+        return (type.charAt(0) << 24) | (type.charAt(1) << 16) | (type.charAt(2) << 8) | type.charAt(3);
+    }
+
+
+}
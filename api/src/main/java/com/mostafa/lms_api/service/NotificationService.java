@@ -147,6 +147,7 @@ public class NotificationService {
 
     //    ******************************** ((Specifications)) *********************************** //
     // Get paginated notifications for user
+    @Transactional(readOnly = true)
     public Page<NotificationDTO> getUserNotifications(UUID userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Notification> notifications = notificationRepo.findByUserIdOrderByCreatedDateDesc(userId, pageable);
@@ -156,6 +157,7 @@ public class NotificationService {
     }
 
     //    Delete
+    @Transactional
     public String deleteNotification(UUID notificationId) {
         Notification notification = notificationRepo.findById(notificationId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Notification not found with this ID: " + notificationId));
@@ -166,6 +168,7 @@ public class NotificationService {
     }
 
     // Get unread notifications count
+    @Transactional(readOnly = true)
     public long getUnreadCount(UUID userId) {
         return notificationRepo.countByUserIdAndIsReadFalse(userId);
     }
@@ -0,0 +1,84 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * BCrypt (login / register) runs on its own small pool instead of the request threads.
+ * A login storm can then only use `threads` cores; everything beyond `queue-capacity` waiting
+ * logins is shed right away with 503 + Retry-After, so the other endpoints keep their threads & CPU.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private final ThreadPoolExecutor executor;
+    private final long waitMillis;
+
+
+    public PasswordHashingExecutor(
+            @Value("${lms.auth.hashing.threads:0}") int threads,
+            @Value("${lms.auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${lms.auth.hashing.wait-timeout-ms:5000}") long waitMillis) {
+        // 0 => half of the cores (BCrypt is pure CPU)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.waitMillis = waitMillis;
+    }
+
+
+    // Runs the hashing work, rethrows its exceptions unchanged (e.g. BadCredentialsException)
+    public <T> T execute(Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work::get);
+        } catch (RejectedExecutionException e) {
+            throw CustomResponseException.ServiceUnavailable("Too many logins right now, please retry shortly", 2);
+        }
+
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw CustomResponseException.ServiceUnavailable("Too many logins right now, please retry shortly", 2);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw CustomResponseException.ServiceUnavailable("Login interrupted, please retry", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+}
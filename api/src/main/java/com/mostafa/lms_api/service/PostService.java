@@ -19,8 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 
 @Service
@@ -34,6 +33,7 @@ public class PostService {
 
 
     //    Create
+    @Transactional
     public PostResponseDTO createPost(CreatePostDTO dto) {
         User user = userRepo.findById(dto.userId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User not found with this ID: " + dto.userId()));
@@ -52,8 +52,9 @@ public class PostService {
     }
 
     //    Update
+    @Transactional
     public PostResponseDTO updatePost(UUID postId, UpdatePostDTO dto, UUID currentUserId) {
-        Post existingPost = postRepo.findById(postId)
+        Post existingPost = postRepo.findWithUserById(postId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Post not found with this ID: " + postId));
 
         // Only update fields that are provided (not null)
@@ -74,6 +75,7 @@ public class PostService {
     }
 
     //    Delete
+    @Transactional
     public String deletePost(UUID postId) {
         Post post = postRepo.findById(postId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Post not found with this ID: " + postId));
@@ -84,8 +86,9 @@ public class PostService {
     }
 
     //    Get Single
+    @Transactional(readOnly = true)
     public PostResponseDTO getPost(UUID postId, UUID currentUserId) {
-        Post post = postRepo.findById(postId)
+        Post post = postRepo.findWithUserById(postId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Post not found with this ID: " + postId));
 
         // Get likes count
@@ -99,40 +102,22 @@ public class PostService {
     }
 
     //    Get All
+    @Transactional(readOnly = true)
     public Page<PostResponseDTO> getAllPosts(int page, int size, UUID currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Post> postsPage = postRepo.findAll(pageable);
 
-        // Convert Page<Post> to Page<PostResponseDTO>
-        return postsPage.map(post -> {
-            // Get likes count
-            Long likesCount = postLikeRepo.countLikesByPostId(post.getId());
-            // Check CurrentUser ((Liked or Not))
-            boolean isLikedByCurrentUser = currentUserId != null &&
-                    postLikeRepo.findByUserIdAndPostId(currentUserId, post.getId()).isPresent();
-
-
-            return mapper.toPostResponseDTO(post, likesCount, isLikedByCurrentUser);
-        });
+        return toPostResponsePage(postsPage, currentUserId);
     }
 
     // Get All for ((Specific-User))
+    @Transactional(readOnly = true)
     public Page<PostResponseDTO> getAllPostsForUser(
             UUID userId, int page, int size, UUID currentUserId) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Post> postsPage = postRepo.findByUserId(userId, pageable);
 
-        // Convert Page<Post> to Page<PostResponseDTO>
-        return postsPage.map(post -> {
-            // Get likes count
-            Long likesCount = postLikeRepo.countLikesByPostId(post.getId());
-            // Check CurrentUser ((Liked or Not))
-            boolean isLikedByCurrentUser = currentUserId != null &&
-                    postLikeRepo.findByUserIdAndPostId(currentUserId, post.getId()).isPresent();
-
-
-            return mapper.toPostResponseDTO(post, likesCount, isLikedByCurrentUser);
-        });
+        return toPostResponsePage(postsPage, currentUserId);
     }
 
     //    ************************ ((Specifications)) ******************************** //
@@ -167,4 +152,28 @@ public class PostService {
     }
 
 
+    //    ************************ ((Helper)) ******************************** //
+    // Likes for the whole page in 2 grouped queries (instead of 2 queries per post)
+    private Page<PostResponseDTO> toPostResponsePage(Page<Post> postsPage, UUID currentUserId) {
+        List<UUID> postIds = postsPage.getContent().stream().map(Post::getId).toList();
+        if (postIds.isEmpty()) {
+            return postsPage.map(post -> mapper.toPostResponseDTO(post, 0L, false));
+        }
+
+        Map<UUID, Long> likesCounts = new HashMap<>();
+        for (Object[] row : postLikeRepo.countLikesByPostIds(postIds)) {
+            likesCounts.put((UUID) row[0], (Long) row[1]);
+        }
+        Set<UUID> likedByCurrentUser = currentUserId != null
+                ? postLikeRepo.findLikedPostIds(currentUserId, postIds)
+                : Set.of();
+
+        return postsPage.map(post -> mapper.toPostResponseDTO(
+                post,
+                likesCounts.getOrDefault(post.getId(), 0L),
+                likedByCurrentUser.contains(post.getId())
+        ));
+    }
+
+
 }
@@ -13,13 +13,13 @@ import com.mostafa.lms_api.repository.CourseRepo;
 import com.mostafa.lms_api.repository.ProgressRepo;
 import com.mostafa.lms_api.repository.VideoRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -77,10 +77,10 @@ public class ProgressService {
      * Automatically calculates completion percentage and completion status
      */
     public ProgressResponseDTO updateProgress(UUID videoId, UpdateProgressDTO dto) {
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
 
         // Get video and validate
-        Video video = videoRepo.findById(videoId)
+        Video video = videoRepo.findWithSectionAndCourseById(videoId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with ID: " + videoId));
 
         Course course = video.getSection().getCourse();
@@ -106,16 +106,17 @@ public class ProgressService {
     /**
      * Get specific progress for (currentUser + Video)
      */
+    @Transactional(readOnly = true)
     public ProgressResponseDTO getProgress(UUID videoId) {
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
-        Video video = videoRepo.findById(videoId)
+        Video video = videoRepo.findWithSectionAndCourseById(videoId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with ID: " + videoId));
 
         Course course = video.getSection().getCourse();
 
         Progress progress = progressRepo.findByUserIdAndCourseIdAndVideoId(
-                authUser.getId(), course.getId(), videoId
+                authUserId, course.getId(), videoId
         ).orElseThrow(() -> CustomResponseException.ResourceNotFound(
                 "No progress found for this video. Start watching to create progress."));
 
@@ -125,15 +126,16 @@ public class ProgressService {
     /**
      * Get all progress for(((currentUser + Course)))
      */
+    @Transactional(readOnly = true)
     public List<ProgressResponseDTO> getCourseProgress(UUID courseId) {
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
         // Validate course exists
         courseRepo.findById(courseId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with ID: " + courseId));
 
         List<Progress> progressList = progressRepo.findByUserIdAndCourseIdOrderByVideoSortOrderAsc(
-                authUser.getId(), courseId);
+                authUserId, courseId);
 
         return progressList.stream()
                 .map(mapper::toProgressResponseDTO)
@@ -143,12 +145,13 @@ public class ProgressService {
     /**
      * Get paginated progress for ((currentUser + All-Courses))
      */
+    @Transactional(readOnly = true)
     public Page<ProgressResponseDTO> getAllUserProgress(int page, int size) {
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Progress> progressPage = progressRepo.findByUserIdOrderByLastWatchedAtDesc(
-                authUser.getId(), pageable);
+                authUserId, pageable);
 
         return progressPage.map(mapper::toProgressResponseDTO);
     }
@@ -160,6 +163,7 @@ public class ProgressService {
     /**
      * Get progress analytics for a course (instructor only)
      */
+    @Transactional(readOnly = true)
     public Page<ProgressResponseDTO> getCourseProgressAnalytics(UUID courseId, int page, int size) {
         courseRepo.findById(courseId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with ID: " + courseId));
@@ -173,6 +177,7 @@ public class ProgressService {
     /**
      * Get list of users who completed a course
      */
+    @Transactional(readOnly = true)
     public List<UUID> getCompletedUsers(UUID courseId) {
         return progressRepo.findUsersWhoCompletedCourse(courseId);
     }
@@ -183,9 +188,9 @@ public class ProgressService {
      * Mark video as completed (useful for quick completion without watching)
      */
     public ProgressResponseDTO markVideoCompleted(UUID videoId) {
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
 
-        Video video = videoRepo.findById(videoId)
+        Video video = videoRepo.findWithSectionAndCourseById(videoId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with ID: " + videoId));
 
         Course course = video.getSection().getCourse();
@@ -0,0 +1,76 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.model.Question;
+import com.mostafa.lms_api.model.QuestionOption;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Grades a submission (questionId -> selected optionId) against the quiz questions.
+ * A question has a handful of options => a plain loop over them beats both a stream pipeline
+ * (allocations per answer) and a per-submission hash index (see QuizGradingBenchmark).
+ */
+@Component
+public class QuizGrader {
+
+    public record GradedAnswer(Question question, QuestionOption selectedOption, boolean correct, double pointsEarned) {
+    }
+
+    public record GradedQuiz(List<GradedAnswer> answers, double totalScore) {
+    }
+
+
+    public GradedQuiz grade(List<Question> questions,
+                            Map<UUID, List<QuestionOption>> optionsByQuestion,
+                            Map<UUID, UUID> questionAnswerMap) {
+        List<GradedAnswer> answers = new ArrayList<>(questions.size());
+        double totalScore = 0.0;
+
+        for (Question question : questions) {
+            UUID selectedOptionId = questionAnswerMap.get(question.getId());
+            if (selectedOptionId == null) {
+                throw CustomResponseException.BadRequest("Answer required for question: " + question.getId());
+            }
+
+            List<QuestionOption> options = optionsByQuestion.get(question.getId());
+            if (options == null) {
+                throw CustomResponseException.BadRequest("Question options not found for question: " + question.getId());
+            }
+
+            // Validate option belongs to question
+            QuestionOption selectedOption = findOption(options, selectedOptionId);
+            if (selectedOption == null) {
+                throw CustomResponseException.BadRequest("Invalid option selected for question: " + question.getId());
+            }
+
+            boolean isCorrect = selectedOption.getIsCorrect();
+            double pointsEarned = isCorrect ? question.getPoints() : 0.0;
+            totalScore += pointsEarned;
+
+            answers.add(new GradedAnswer(question, selectedOption, isCorrect, pointsEarned));
+        }
+
+        return new GradedQuiz(answers, totalScore);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static QuestionOption findOption(List<QuestionOption> options, UUID optionId) {
+        for (QuestionOption option : options) {
+            if (option.getId().equals(optionId)) {
+                return option;
+            }
+        }
+
+        return null;
+    }
+
+
+}
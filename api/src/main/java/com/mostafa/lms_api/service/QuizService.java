@@ -35,6 +35,7 @@ public class QuizService {
     private final UserRepo userRepo;
     private final CurrentUser currentUser;
     private final EntityDtoMapper mapper;
+    private final QuizGrader quizGrader;
 
 
     // ====================== CREATE QUIZ ======================
@@ -47,7 +48,7 @@ public class QuizService {
         Course course = courseRepo.findById(createQuizDTO.courseId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with ID: " + createQuizDTO.courseId()));
 
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
 
         // Validate questions have at least one correct answer
         validateQuestions(createQuizDTO.questions());
@@ -97,6 +98,7 @@ public class QuizService {
     }
 
     // ====================== GET ALL QUIZZES WITH STATUS CHECK ======================
+    @Transactional(readOnly = true)
     public Page<QuizSummaryResponseDTO> getAllQuizzes(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Quiz> quizzesPage = quizRepo.findAll(pageable);
@@ -106,9 +108,12 @@ public class QuizService {
     }
 
     // ====================== GET SINGLE QUIZ For Update ======================
+    @Transactional(readOnly = true)
     public QuizResponseDTO getSingleForUpdate(UUID quizId) {
-        Quiz quiz = quizRepo.findById(quizId)
+        // Quiz + creator + course + questions, then all options in one more query
+        Quiz quiz = quizRepo.findByIdWithQuestions(quizId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Quiz not found with ID: " + quizId));
+        quizRepo.findQuestionsWithOptionsByQuizId(quizId);
 
         return mapper.toQuizResponseDTO(quiz, false);
     }
@@ -119,7 +124,7 @@ public class QuizService {
         Quiz quiz = quizRepo.findById(quizId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Quiz not found with ID: " + quizId));
 
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
         ZonedDateTime now = ZonedDateTime.now();
 
         // Check if user has already taken this quiz
@@ -158,10 +163,11 @@ public class QuizService {
     }
 
     // ====================== GET FINISHED QUIZZES FOR CURRENT USER WITH SCORES ======================
+    @Transactional(readOnly = true)
     public List<QuizAttemptResponseDTO> getFinishedQuizzesForUser() {
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
-        List<QuizAttempt> completedAttempts = quizAttemptRepo.findCompletedAttemptsByUserId(authUser.getId());
+        List<QuizAttempt> completedAttempts = quizAttemptRepo.findCompletedAttemptsByUserId(authUserId);
 
         return completedAttempts.stream()
                 .map(mapper::mapToQuizAttemptResponseDTO)
@@ -169,6 +175,7 @@ public class QuizService {
     }
 
     // ====================== GET FINISHED QUIZZES FOR SPECIFIC USER WITH SCORES (Admin/Instructor use) ======================
+    @Transactional(readOnly = true)
     public List<QuizAttemptResponseDTO> getFinishedQuizzesForUser(UUID userId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User not found with ID: " + userId));
@@ -183,7 +190,7 @@ public class QuizService {
     // ====================== SUBMIT QUIZ ANSWERS ======================
     @Transactional
     public QuizAttemptResponseDTO submitQuizAnswers(UUID quizId, Map<UUID, UUID> questionAnswerMap) {
-        User authUser = currentUser.getCurrentUser();
+        User authUser = currentUser.getCurrentUserReference();
 
         // Get quiz with questions only
         Quiz quiz = quizRepo.findByIdWithQuestions(quizId)
@@ -228,42 +235,19 @@ public class QuizService {
 
         QuizAttempt savedAttempt = quizAttemptRepo.save(quizAttempt);
 
-        // Process answers and calculate score
-        double totalScore = 0.0;
-        List<UserAnswer> userAnswers = new ArrayList<>();
-
-        for (Question question : quiz.getQuestions()) {
-            UUID selectedOptionId = questionAnswerMap.get(question.getId());
-
-            if (selectedOptionId == null) {
-                throw CustomResponseException.BadRequest("Answer required for question: " + question.getId());
-            }
-
-            // Get options from our map instead of from the question entity
-            List<QuestionOption> options = questionOptionsMap.get(question.getId());
-            if (options == null) {
-                throw CustomResponseException.BadRequest("Question options not found for question: " + question.getId());
-            }
-
-            // Validate option belongs to question
-            QuestionOption selectedOption = options.stream()
-                    .filter(option -> option.getId().equals(selectedOptionId))
-                    .findFirst()
-                    .orElseThrow(() -> CustomResponseException.BadRequest("Invalid option selected for question: " + question.getId()));
-
-            // Calculate points
-            boolean isCorrect = selectedOption.getIsCorrect();
-            double pointsEarned = isCorrect ? question.getPoints() : 0.0;
-            totalScore += pointsEarned;
+        // Grade (validates every answer) and build the user answers
+        QuizGrader.GradedQuiz graded = quizGrader.grade(quiz.getQuestions(), questionOptionsMap, questionAnswerMap);
+        double totalScore = graded.totalScore();
+        List<UserAnswer> userAnswers = new ArrayList<>(graded.answers().size());
 
-            // Create user answer
+        for (QuizGrader.GradedAnswer answer : graded.answers()) {
             UserAnswer userAnswer = UserAnswer.builder()
                     .answeredAt(now)
-                    .isCorrect(isCorrect)
-                    .pointsEarned(pointsEarned)
+                    .isCorrect(answer.correct())
+                    .pointsEarned(answer.pointsEarned())
                     .user(authUser)
-                    .question(question)
-                    .selectedOption(selectedOption)
+                    .question(answer.question())
+                    .selectedOption(answer.selectedOption())
                     .quizAttempt(savedAttempt)
                     .build();
 
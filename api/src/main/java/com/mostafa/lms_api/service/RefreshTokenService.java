@@ -0,0 +1,122 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.model.RefreshToken;
+import com.mostafa.lms_api.model.User;
+import com.mostafa.lms_api.repository.RefreshTokenRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+
+/**
+ * Opaque, single-use refresh tokens (only their SHA-256 is stored).
+ * Every refresh rotates the token within its family (= login session); presenting an already
+ * rotated token means it leaked => the whole family is revoked and the session has to log in again.
+ * This is the only place that checks persisted state, the access token path stays I/O free.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+    public static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofDays(14);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepo refreshTokenRepo;
+
+
+    public record IssuedRefreshToken(String token, UUID familyId, User user) {
+    }
+
+
+    // Login => new family
+    @Transactional
+    public IssuedRefreshToken issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    // Refresh => old token used up, new token in the same family
+    @Transactional(noRollbackFor = CustomResponseException.class)
+    public IssuedRefreshToken rotate(String presentedToken) {
+        RefreshToken current = refreshTokenRepo.findForRotation(hash(presentedToken))
+                .orElseThrow(CustomResponseException::BadCredentials);
+        Instant now = Instant.now();
+
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now)) {
+            throw CustomResponseException.BadCredentials();
+        }
+
+        if (current.getUsedAt() != null) {
+            // Reuse of a rotated token => stolen, kill the session (committed despite the exception)
+            refreshTokenRepo.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected, revoked session {} of user {}",
+                    current.getFamilyId(), current.getUser().getId());
+            throw CustomResponseException.BadCredentials();
+        }
+
+        current.setUsedAt(now);
+
+        return issue(current.getUser(), current.getFamilyId());
+    }
+
+    @Transactional
+    public void revokeSession(UUID familyId) {
+        refreshTokenRepo.revokeFamily(familyId, Instant.now());
+    }
+
+    @Transactional
+    public void revokeAllSessions(UUID userId) {
+        refreshTokenRepo.revokeAllForUser(userId, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${lms.auth.refresh-token-cleanup-interval:1h}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepo.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private IssuedRefreshToken issue(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepo.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .expiresAt(Instant.now().plus(REFRESH_TOKEN_VALIDITY))
+                .user(user)
+                .build());
+
+        return new IssuedRefreshToken(token, familyId, user);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+
+}
@@ -7,15 +7,14 @@ import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.Course;
 import com.mostafa.lms_api.model.Section;
-import com.mostafa.lms_api.model.Video;
 import com.mostafa.lms_api.repository.CourseRepo;
 import com.mostafa.lms_api.repository.SectionRepo;
-import com.mostafa.lms_api.repository.VideoRepo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -25,11 +24,12 @@ import java.util.UUID;
 public class SectionService {
     private final SectionRepo sectionRepo;
     private final CourseRepo courseRepo;
-    private final VideoRepo videoRepo;
     private final EntityDtoMapper mapper;
+    private final CourseTreeService courseTreeService;
 
 
     //    Create
+    @Transactional
     public SectionResponseDTO createSection(CreateSectionDTO dto) {
         Course course = courseRepo.findById(dto.courseId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + dto.courseId()));
@@ -38,11 +38,13 @@ public class SectionService {
         section.setCourse(course);
 
         Section savedSection = sectionRepo.save(section);
+        courseTreeService.evictCourse(course.getId());
 
         return mapper.toSectionResponseDTO(savedSection, null);
     }
 
     //    Update BY ((sectionId))
+    @Transactional
     public SectionResponseDTO updateSection(UUID sectionId, UpdateSectionDTO dto) {
         Section existingSection = sectionRepo.findById(sectionId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId));
@@ -61,18 +63,26 @@ public class SectionService {
         }
 
         Section updatedSection = sectionRepo.save(existingSection);
-        // Get Section All Duration
-        String duration = getSectionDurationFormatted(updatedSection.getId());
+        courseTreeService.evictCourse(updatedSection.getCourse().getId());
 
-        return mapper.toSectionResponseDTO(updatedSection, duration);
+        // Duration comes from the stored section total (no videos query)
+        return mapper.toSectionResponseDTO(updatedSection);
     }
 
     //    Delete BY ((sectionId))  =>  ||||Do not Delete||||
+    @Transactional
     public String deleteSection(UUID sectionId) {
         Section section = sectionRepo.findById(sectionId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId));
 
+        // Course loses the whole section duration (its videos are removed with it)
+        Long sectionDuration = section.getTotalDurationSeconds();
+        if (sectionDuration != null && sectionDuration != 0) {
+            courseRepo.applyDurationDelta(section.getCourse().getId(), -sectionDuration);
+        }
+
         sectionRepo.delete(section);
+        courseTreeService.evictCourse(section.getCourse().getId());
 
         return "Section Deleted Success";
     }
@@ -80,45 +90,21 @@ public class SectionService {
 
     // ***************************** ((Specifications)) *********************** //
     //     Get All Sections Dependent on (courseId)
+    @Transactional(readOnly = true)
     public Page<SectionResponseDTO> getAllSectionsForCourse(UUID courseId, int page, int size) {
         if (courseId == null) {
             throw new IllegalArgumentException("Course ID cannot be null");
         }
 
-        courseRepo.findById(courseId)
-                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId));
-
+        if (!courseRepo.existsById(courseId)) {
+            throw CustomResponseException.ResourceNotFound("Course not found with this ID: " + courseId);
+        }
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Section> sectionsPage = sectionRepo.findByCourseId(courseId, pageable);
 
-        // Convert Page<Section> to Page<SectionResponseDTO>
-        return sectionsPage.map(section -> {
-            String duration = getSectionDurationFormatted(section.getId());
-            return mapper.toSectionResponseDTO(section, duration);
-        });
-    }
-
-
-    // NEW: Utility method to get total duration for a section ((Helper))
-    public String getSectionDurationFormatted(UUID sectionId) {
-        Page<Video> videos = videoRepo.findBySectionId(sectionId, Pageable.unpaged());
-
-        long totalSeconds = videos.getContent().stream()
-                .mapToLong(video -> video.getDurationSeconds() != null ? video.getDurationSeconds() : 0)
-                .sum();
-
-        long hours = totalSeconds / 3600;
-        long minutes = (totalSeconds % 3600) / 60;
-        long seconds = totalSeconds % 60;
-
-        if (hours > 0) {
-            return String.format("%d hours, %d minutes", hours, minutes);
-        } else if (minutes > 0) {
-            return String.format("%d minutes, %d seconds", minutes, seconds);
-        } else {
-            return String.format("%d seconds", seconds);
-        }
+        // Convert Page<Section> to Page<SectionResponseDTO> (durations are stored on the section)
+        return sectionsPage.map(mapper::toSectionResponseDTO);
     }
 
 
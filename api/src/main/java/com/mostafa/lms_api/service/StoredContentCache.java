@@ -0,0 +1,48 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.dto.StoredContent;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+
+/**
+ * What a signed content URL resolves to (storage key / external URL, type, download name), per resource
+ * => once warm, signed media requests (SignedUrlFilter) never touch the database.
+ * Storage keys are write-once => only updates (download name) & deletes evict, after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoredContentCache {
+    private final CacheManager cacheManager;
+
+
+    // Loader runs outside the cache => its exceptions (not found) reach the caller unwrapped
+    public StoredContent get(String resource, Supplier<StoredContent> loader) {
+        StoredContent content = cache().get(resource, StoredContent.class);
+        if (content == null) {
+            content = loader.get();
+            cache().put(resource, content);
+        }
+        return content;
+    }
+
+    public void evict(String resource) {
+        TransactionCallbacks.afterCommit(() -> cache().evict(resource));
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.STORED_CONTENTS));
+    }
+
+
+}
@@ -0,0 +1,129 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.config.JwtHelper;
+import com.mostafa.lms_api.config.TokenDenylist;
+import com.mostafa.lms_api.enums.RevocationType;
+import com.mostafa.lms_api.model.TokenRevocation;
+import com.mostafa.lms_api.repository.TokenRevocationRepo;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Logout for stateless JWTs.
+ * Every revocation is written to token_revocations (survives restarts, shared between instances) and applied
+ * to the in-memory TokenDenylist, which is the only thing the JWT filter consults => no I/O per request.
+ * Other instances pick new rows up on the next sync; expired rows are pruned from memory and the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+    private final TokenRevocationRepo tokenRevocationRepo;
+    private final TokenDenylist denylist = new TokenDenylist(JwtHelper.ACCESS_TOKEN_VALIDITY);
+
+    @Value("${lms.auth.revocation-sync-interval:30s}")
+    private Duration syncInterval;
+
+    private volatile LocalDateTime lastSync;
+
+
+    @PostConstruct
+    void load() {
+        lastSync = LocalDateTime.now();
+        List<TokenRevocation> active = tokenRevocationRepo.findByExpiresAtAfter(Instant.now());
+        active.forEach(this::apply);
+
+        log.info("Loaded {} active token revocations", active.size());
+    }
+
+
+    // Logout => this token only
+    @Transactional
+    public void revokeToken(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || denylist.isRevoked(jti, null, 0) || tokenRevocationRepo.existsByJti(jti)) {
+            return;
+        }
+
+        TokenRevocation revocation = TokenRevocation.builder()
+                .type(RevocationType.TOKEN)
+                .jti(jti)
+                .userId(userId(claims))
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
+
+        apply(tokenRevocationRepo.save(revocation));
+    }
+
+    // Logout everywhere => every token of the user issued until now
+    @Transactional
+    public void revokeAllTokens(UUID userId) {
+        Instant now = Instant.now();
+
+        TokenRevocation revocation = TokenRevocation.builder()
+                .type(RevocationType.ALL_TOKENS)
+                .userId(userId)
+                .revokedBefore(now)
+                .expiresAt(now.plus(JwtHelper.ACCESS_TOKEN_VALIDITY))
+                .build();
+
+        apply(tokenRevocationRepo.save(revocation));
+    }
+
+    // O(1), memory only
+    public boolean isRevoked(Claims claims) {
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+        return denylist.isRevoked(claims.getId(), userId(claims), issuedAt);
+    }
+
+
+    // Revocations of other instances + pruning (memory & table)
+    @Scheduled(fixedDelayString = "${lms.auth.revocation-sync-interval:30s}")
+    @Transactional
+    public void sync() {
+        Instant now = Instant.now();
+        LocalDateTime syncStarted = LocalDateTime.now();
+
+        // Overlap by one interval => rows committed late (or written with a slightly skewed clock) are not missed
+        LocalDateTime since = lastSync.minus(syncInterval);
+        tokenRevocationRepo.findByCreatedDateAfterAndExpiresAtAfter(since, now).forEach(this::apply);
+        lastSync = syncStarted;
+
+        denylist.prune(now.toEpochMilli());
+        int deleted = tokenRevocationRepo.deleteExpired(now);
+        if (deleted > 0) {
+            log.debug("Pruned {} expired token revocations", deleted);
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getType() == RevocationType.TOKEN) {
+            denylist.revokeToken(revocation.getJti(), revocation.getExpiresAt().toEpochMilli());
+        } else {
+            denylist.revokeAllBefore(revocation.getUserId(), revocation.getRevokedBefore().toEpochMilli());
+        }
+    }
+
+    private UUID userId(Claims claims) {
+        String userId = claims.get(JwtHelper.CLAIM_USER_ID, String.class);
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+
+}
@@ -0,0 +1,312 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.dto.upload.CreateUploadDTO;
+import com.mostafa.lms_api.dto.upload.UploadResponseDTO;
+import com.mostafa.lms_api.enums.UploadStatus;
+import com.mostafa.lms_api.enums.UploadTarget;
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.mapper.EntityDtoMapper;
+import com.mostafa.lms_api.model.*;
+import com.mostafa.lms_api.repository.*;
+import com.mostafa.lms_api.utils.CurrentUser;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+
+/**
+ * Resumable chunked uploads (tus-style): create a session => PUT fixed-size chunks (any order, in parallel,
+ * each with its SHA-256) => complete. Chunks go straight from the request to their offset in the staging object,
+ * so an upload costs one small buffer per in-flight chunk whatever the file size.
+ * Complete publishes the object atomically and creates the Video / File row in the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadService {
+    private static final Pattern EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,10}$");
+
+    private final UploadSessionRepo uploadSessionRepo;
+    private final UploadChunkRepo uploadChunkRepo;
+    private final SectionRepo sectionRepo;
+    private final VideoRepo videoRepo;
+    private final FileRepo fileRepo;
+    private final FileStorage fileStorage;
+    private final DurationTracker durationTracker;
+    private final VideoMetadataService videoMetadataService;
+    private final CourseTreeService courseTreeService;
+    private final EntityDtoMapper mapper;
+    private final CurrentUser currentUser;
+    private final AuditorAware<String> auditorAware;
+
+    @Value("${lms.storage.upload.chunk-size:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${lms.storage.upload.max-size:20GB}")
+    private DataSize maxSize;
+
+    @Value("${lms.storage.upload.session-ttl:24h}")
+    private Duration sessionTtl;
+
+
+    //    Create (session only => no bytes yet)
+    @Transactional
+    public UploadResponseDTO createUpload(CreateUploadDTO dto) {
+        if (dto.totalSize() > maxSize.toBytes()) {
+            throw CustomResponseException.BadRequest("Upload is larger than the maximum of " + maxSize.toGigabytes() + " GB");
+        }
+
+        Section section = sectionRepo.findById(dto.sectionId())
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + dto.sectionId()));
+
+        int size = (int) chunkSize.toBytes();
+        long chunkCount = (dto.totalSize() + size - 1) / size;
+        // Keys are random & write-once => a new upload never overwrites bytes someone may be streaming
+        String objectId = UUID.randomUUID().toString();
+        String folder = dto.target() == UploadTarget.VIDEO ? "videos/" : "files/";
+        LocalDate today = LocalDate.now();
+
+        UploadSession session = UploadSession.builder()
+                .target(dto.target())
+                .title(dto.title())
+                .filename(dto.filename())
+                .contentType(dto.contentType())
+                .totalSize(dto.totalSize())
+                .chunkSize(size)
+                .chunkCount((int) chunkCount)
+                .stagingKey("uploads/" + objectId + ".part")
+                .storageKey(folder + today.getYear() + "/" + today.getMonthValue() + "/" + objectId + extension(dto.filename()))
+                .isPreview(dto.isPreview() != null ? dto.isPreview() : false)
+                .sortOrder(dto.sortOrder())
+                .durationSeconds(dto.target() == UploadTarget.VIDEO ? dto.durationSeconds() : null)
+                .expiresAt(Instant.now().plus(sessionTtl))
+                .user(currentUser.getCurrentUserReference())
+                .section(section)
+                .build();
+
+        UploadSession savedSession = uploadSessionRepo.save(session);
+
+        return mapper.toUploadResponseDTO(savedSession, List.of());
+    }
+
+    //    Status => which chunks arrived (resume after a crash / network loss)
+    @Transactional(readOnly = true)
+    public UploadResponseDTO getUpload(UUID uploadId) {
+        UploadSession session = findOwnedSession(uploadId);
+
+        return mapper.toUploadResponseDTO(session, uploadChunkRepo.findChunkIndexes(uploadId));
+    }
+
+    //    Chunk => NO transaction while the bytes are copied (a slow client must not hold a DB connection)
+    //    checksum => "sha256 <base64>" (tus Upload-Checksum)
+    public void writeChunk(UUID uploadId, int chunkIndex, String checksum, long contentLength, InputStream body) {
+        UploadSession session = findOwnedSession(uploadId);
+        if (session.getStatus() != UploadStatus.IN_PROGRESS) {
+            throw CustomResponseException.BadRequest("Upload is already completed");
+        }
+        if (session.getExpiresAt().isBefore(Instant.now())) {
+            throw CustomResponseException.BadRequest("Upload session has expired");
+        }
+        if (chunkIndex < 0 || chunkIndex >= session.getChunkCount()) {
+            throw CustomResponseException.BadRequest("Chunk index must be between 0 and " + (session.getChunkCount() - 1));
+        }
+
+        long offset = (long) chunkIndex * session.getChunkSize();
+        long expectedLength = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+        if (contentLength != expectedLength) {
+            throw CustomResponseException.BadRequest("Chunk " + chunkIndex + " must be exactly " + expectedLength + " bytes");
+        }
+        byte[] expectedDigest = parseChecksum(checksum);
+
+        MessageDigest digest = sha256();
+        long written;
+        try {
+            written = fileStorage.writeAt(session.getStagingKey(), offset,
+                    Channels.newChannel(new DigestInputStream(body, digest)), expectedLength);
+        } catch (IOException e) {
+            uploadChunkRepo.deleteChunk(uploadId, chunkIndex);
+            throw new UncheckedIOException("Could not store chunk " + chunkIndex + " of upload " + uploadId, e);
+        }
+
+        // Bad bytes => chunk (no longer) recorded, the retry overwrites them
+        if (written != expectedLength) {
+            uploadChunkRepo.deleteChunk(uploadId, chunkIndex);
+            throw CustomResponseException.BadRequest("Chunk " + chunkIndex + " ended after " + written + " bytes");
+        }
+
+        byte[] actualDigest = digest.digest();
+        if (!MessageDigest.isEqual(expectedDigest, actualDigest)) {
+            uploadChunkRepo.deleteChunk(uploadId, chunkIndex);
+            throw CustomResponseException.BadRequest("Checksum mismatch for chunk " + chunkIndex);
+        }
+
+        uploadChunkRepo.upsert(uploadId, chunkIndex, HexFormat.of().formatHex(actualDigest), written,
+                auditorAware.getCurrentAuditor().orElse(null));
+    }
+
+    //    Complete => every chunk verified => publish + create Video / File atomically (idempotent)
+    @Transactional
+    public UploadResponseDTO completeUpload(UUID uploadId) {
+        UploadSession session = uploadSessionRepo.findForCompletion(uploadId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Upload not found with this ID: " + uploadId));
+        checkOwner(session);
+
+        // Retried complete (lost response) => same result
+        if (session.getStatus() == UploadStatus.COMPLETED) {
+            return mapper.toUploadResponseDTO(session, List.of());
+        }
+
+        long received = uploadChunkRepo.countByUploadSessionId(uploadId);
+        if (received != session.getChunkCount()) {
+            throw CustomResponseException.BadRequest("Upload is incomplete: " + received + " of " + session.getChunkCount() + " chunks received");
+        }
+
+        Section section = session.getSection();
+        UUID courseId = section.getCourse().getId();
+        UUID resourceId;
+
+        if (session.getTarget() == UploadTarget.VIDEO) {
+            Video savedVideo = videoRepo.save(mapper.toVideoEntity(session, section));
+            durationTracker.applyChange(section.getId(), null, savedVideo.getDurationSeconds());
+            resourceId = savedVideo.getId();
+            // Real duration / resolution from the file itself, off the request thread
+            TransactionCallbacks.afterCommit(() -> videoMetadataService.probeLater(savedVideo.getId()));
+        } else {
+            File savedFile = fileRepo.save(mapper.toFileEntity(session, section));
+            resourceId = savedFile.getId();
+        }
+
+        session.setStatus(UploadStatus.COMPLETED);
+        session.setResourceId(resourceId);
+        uploadChunkRepo.deleteByUploadSessionId(uploadId);
+
+        // Last step => if the commit still fails, move the object back so complete can be retried
+        publish(session.getStagingKey(), session.getStorageKey());
+        TransactionCallbacks.afterRollback(() -> unpublish(session.getStorageKey(), session.getStagingKey()));
+        courseTreeService.evictCourse(courseId);
+
+        return mapper.toUploadResponseDTO(session, List.of());
+    }
+
+    //    Abort => staging bytes & chunk records gone
+    @Transactional
+    public String deleteUpload(UUID uploadId) {
+        UploadSession session = findOwnedSession(uploadId);
+        if (session.getStatus() == UploadStatus.COMPLETED) {
+            throw CustomResponseException.BadRequest("Upload is already completed");
+        }
+
+        uploadChunkRepo.deleteByUploadSessionId(uploadId);
+        uploadSessionRepo.delete(session);
+        TransactionCallbacks.afterCommit(() -> fileStorage.delete(session.getStagingKey()));
+
+        return "Upload Deleted Success";
+    }
+
+    //    Abandoned uploads => staging bytes freed, completed sessions forgotten
+    @Scheduled(fixedDelayString = "${lms.storage.upload.cleanup-interval:1h}")
+    @Transactional
+    public void deleteExpired() {
+        List<UploadSession> expired = uploadSessionRepo.findTop100ByExpiresAtBefore(Instant.now());
+
+        for (UploadSession session : expired) {
+            uploadChunkRepo.deleteByUploadSessionId(session.getId());
+            uploadSessionRepo.delete(session);
+            if (session.getStatus() == UploadStatus.IN_PROGRESS) {
+                TransactionCallbacks.afterCommit(() -> fileStorage.delete(session.getStagingKey()));
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            log.debug("Deleted {} expired upload sessions", expired.size());
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private UploadSession findOwnedSession(UUID uploadId) {
+        UploadSession session = uploadSessionRepo.findById(uploadId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Upload not found with this ID: " + uploadId));
+        checkOwner(session);
+
+        return session;
+    }
+
+    // Only the uploader sees / continues the upload (user id from the lazy proxy => no user load)
+    private void checkOwner(UploadSession session) {
+        if (!session.getUser().getId().equals(currentUser.getCurrentUserId())) {
+            throw CustomResponseException.ResourceNotFound("Upload not found with this ID: " + session.getId());
+        }
+    }
+
+    private void publish(String stagingKey, String storageKey) {
+        try {
+            fileStorage.publish(stagingKey, storageKey);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish upload " + storageKey, e);
+        }
+    }
+
+    private void unpublish(String storageKey, String stagingKey) {
+        try {
+            fileStorage.publish(storageKey, stagingKey);
+        } catch (IOException e) {
+            log.error("Could not move {} back to {} after a rollback", storageKey, stagingKey, e);
+        }
+    }
+
+    private static byte[] parseChecksum(String checksum) {
+        if (checksum == null || !checksum.regionMatches(true, 0, "sha256 ", 0, 7)) {
+            throw CustomResponseException.BadRequest("Upload-Checksum header is required: sha256 <base64 digest>");
+        }
+
+        try {
+            byte[] digest = Base64.getDecoder().decode(checksum.substring(7).trim());
+            if (digest.length != 32) {
+                throw CustomResponseException.BadRequest("Upload-Checksum must be a SHA-256 digest");
+            }
+            return digest;
+        } catch (IllegalArgumentException e) {
+            throw CustomResponseException.BadRequest("Upload-Checksum is not valid base64");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Keep the extension (players / browsers), never anything else from the client's filename
+    private static String extension(String filename) {
+        var matcher = EXTENSION.matcher(filename);
+        return matcher.find() ? matcher.group().toLowerCase() : "";
+    }
+
+
+}
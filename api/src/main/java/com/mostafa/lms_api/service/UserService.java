@@ -1,36 +1,62 @@
 package com.mostafa.lms_api.service;
 
-import com.mostafa.lms_api.dto.enrollment.EnrollmentResponseDTO;
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.config.ReadWriteRoutingDataSource;
+import com.mostafa.lms_api.dto.enrollment.EnrolledSectionRowDTO;
 import com.mostafa.lms_api.dto.user.CurrentUserResponseDTO;
+import com.mostafa.lms_api.dto.user.EnrolledCourseDTO;
+import com.mostafa.lms_api.dto.user.EnrolledSectionDTO;
 import com.mostafa.lms_api.dto.user.UpdateUserDTO;
 import com.mostafa.lms_api.dto.user.UserInfoDTO;
 import com.mostafa.lms_api.dto.user.UserResponseDTO;
+import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.User;
 import com.mostafa.lms_api.repository.EnrollmentRepo;
 import com.mostafa.lms_api.repository.UserRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
-import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
     private final UserRepo userRepo;
     private final EnrollmentRepo enrollmentRepo;
     private final EntityDtoMapper mapper;
     private final CurrentUser currentUser;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate primaryReads;
+
+    public UserService(UserRepo userRepo,
+                       EnrollmentRepo enrollmentRepo,
+                       EntityDtoMapper mapper,
+                       CurrentUser currentUser,
+                       CacheManager cacheManager,
+                       PlatformTransactionManager transactionManager) {
+        this.userRepo = userRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.mapper = mapper;
+        this.currentUser = currentUser;
+        this.cacheManager = cacheManager;
+        // Cached enrollment summary => loaded from the primary, never from a lagging replica
+        this.primaryReads = ReadWriteRoutingDataSource.primaryReads(transactionManager);
+    }
 
 
     //    Update
+    @Transactional
     public UserResponseDTO updateUser(UUID userId, UpdateUserDTO dto) {
         User existingUser = userRepo.findById(userId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User Not Found with This ID:  " + userId));
@@ -47,6 +73,7 @@ public class UserService {
     }
 
     //    Delete ((userId))
+    @Transactional
     public String deleteByUserId(UUID userId) {
         userRepo.findById(userId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User Not Found with This ID:  " + userId));
@@ -56,6 +83,7 @@ public class UserService {
     }
 
     //    Get All
+    @Transactional(readOnly = true)
     public Page<UserResponseDTO> getAllUsers(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<User> usersPage = userRepo.findAll(pageable);
@@ -64,6 +92,7 @@ public class UserService {
     }
 
     //    Get By ((userId)
+    @Transactional(readOnly = true)
     public UserResponseDTO getByUserId(UUID userId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("User Not Found with This ID:  " + userId));
@@ -74,8 +103,12 @@ public class UserService {
 
     //  ********************************* ((Specifications)) ******************************** //
     // get currentUser with all -> (Sections Enrollments)
+    @Transactional(readOnly = true)
     public CurrentUserResponseDTO getCurrentUserWithEnrollments() {
-        User authUser = currentUser.getCurrentUser();
+        // Principal only carries the token claims => full profile from the DB
+        UUID authUserId = currentUser.getCurrentUserId();
+        User authUser = userRepo.findById(authUserId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("User not found with this ID: " + authUserId));
 
         // Convert User -> UserInfoDTO
         UserInfoDTO userInfo = new UserInfoDTO(
@@ -91,13 +124,42 @@ public class UserService {
                 authUser.getRole()
         );
 
-        // Fetch enrollments (no pagination, or you can add if needed)
-        List<EnrollmentResponseDTO> enrollments = enrollmentRepo.findAllByUserIdWithDetails(
-                authUser.getId(), Pageable.unpaged()
-        ).map(mapper::toEnrollmentResponseDTO).toList();
+        // Compact enrollments (course -> enrolled sections), cached per user & evicted on enrollment change
+        List<EnrolledCourseDTO> enrollments = userEnrollmentsCache().get(
+                authUser.getId(), () -> primaryReads.execute(status -> loadEnrolledCourses(authUser.getId()))
+        );
 
         return new CurrentUserResponseDTO(userInfo, enrollments);
     }
 
 
+    // ********************************** ((Helper)) **************************************** //
+    // ONE projection query, rows grouped per course (keeps the query order)
+    private List<EnrolledCourseDTO> loadEnrolledCourses(UUID userId) {
+        Map<UUID, List<EnrolledSectionRowDTO>> rowsByCourse = enrollmentRepo.findEnrolledSectionRows(userId).stream()
+                .collect(Collectors.groupingBy(EnrolledSectionRowDTO::courseId, LinkedHashMap::new, Collectors.toList()));
+
+        return rowsByCourse.values().stream()
+                .map(rows -> {
+                    EnrolledSectionRowDTO first = rows.get(0);
+                    List<EnrolledSectionDTO> sections = rows.stream()
+                            .map(row -> new EnrolledSectionDTO(
+                                    row.sectionId(),
+                                    row.sectionTitle(),
+                                    row.sectionSortOrder(),
+                                    row.status(),
+                                    row.status() == EnrollmentStatus.ACTIVE
+                            ))
+                            .toList();
+
+                    return new EnrolledCourseDTO(first.courseId(), first.courseTitle(), first.courseImg(), sections);
+                })
+                .toList();
+    }
+
+    private Cache userEnrollmentsCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.USER_ENROLLMENTS));
+    }
+
+
 }
@@ -0,0 +1,162 @@
+package com.mostafa.lms_api.service;
+
+
+import com.mostafa.lms_api.model.Video;
+import com.mostafa.lms_api.repository.VideoRepo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Duration / resolution / bitrate of stored videos come from their container headers (MediaProbe),
+ * not from what the client typed. Probing runs on a small bounded pool after the upload commits;
+ * the duration delta then flows into the section & course totals (DurationTracker) like a manual edit.
+ * A periodic sweep picks up whatever was missed (restart, full queue, videos stored before probing existed).
+ */
+@Slf4j
+@Service
+public class VideoMetadataService {
+    private final VideoRepo videoRepo;
+    private final FileStorage fileStorage;
+    private final MediaProbe mediaProbe;
+    private final DurationTracker durationTracker;
+    private final CourseTreeService courseTreeService;
+    private final TransactionTemplate primaryTx;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    // Same video queued twice (upload hook + sweep) => probed once
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+
+    public VideoMetadataService(VideoRepo videoRepo,
+                                FileStorage fileStorage,
+                                MediaProbe mediaProbe,
+                                DurationTracker durationTracker,
+                                CourseTreeService courseTreeService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${lms.media.probe.threads:2}") int threads,
+                                @Value("${lms.media.probe.queue-capacity:1000}") int queueCapacity) {
+        this.videoRepo = videoRepo;
+        this.fileStorage = fileStorage;
+        this.mediaProbe = mediaProbe;
+        this.durationTracker = durationTracker;
+        this.courseTreeService = courseTreeService;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.queueCapacity = queueCapacity;
+        AtomicInteger counter = new AtomicInteger();
+
+        // Mostly waiting on disk => a couple of threads keep a burst of uploads from competing with requests
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "video-probe-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+
+    // Fire and forget => full queue leaves the video to the next sweep
+    public void probeLater(UUID videoId) {
+        if (!inFlight.add(videoId)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    probe(videoId);
+                } catch (RuntimeException e) {
+                    log.warn("Probing video {} failed", videoId, e);
+                } finally {
+                    inFlight.remove(videoId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(videoId);
+            log.debug("Probe queue full, video {} left for the sweep", videoId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lms.media.probe.sweep-interval:5m}")
+    public void sweep() {
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) {
+            return;
+        }
+
+        videoRepo.findIdsToProbe(PageRequest.of(0, Math.min(free, queueCapacity))).forEach(this::probeLater);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    // Disk reads outside any transaction, then ONE short locked update
+    void probe(UUID videoId) {
+        String storageKey = videoRepo.findById(videoId).map(Video::getStorageKey).orElse(null);
+        if (storageKey == null) {
+            return;
+        }
+
+        MediaProbe.MediaInfo info = null;
+        try (SeekableByteChannel channel = fileStorage.openForRead(storageKey)) {
+            info = mediaProbe.probe(channel);
+            if (info == null) {
+                log.warn("Video {} ({}) is not an MP4 / WebM file, keeping the typed duration", videoId, storageKey);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Marked as probed anyway => a broken (or hostile) file is not re-read every sweep
+            log.warn("Could not read video {} ({})", videoId, storageKey, e);
+        }
+
+        MediaProbe.MediaInfo probed = info;
+        primaryTx.executeWithoutResult(status -> videoRepo.findForProbe(videoId).ifPresent(video -> apply(video, probed)));
+    }
+
+    private void apply(Video video, MediaProbe.MediaInfo info) {
+        video.setProbedAt(Instant.now());
+        if (info == null) {
+            return;
+        }
+
+        video.setWidth(info.width());
+        video.setHeight(info.height());
+        video.setBitrate(info.bitrate());
+
+        if (info.durationSeconds() != null) {
+            Integer oldDuration = video.getDurationSeconds();
+            int newDuration = (int) Math.max(1, Math.round(info.durationSeconds()));
+
+            if (oldDuration == null || oldDuration != newDuration) {
+                video.setDurationSeconds(newDuration);
+                durationTracker.applyChange(video.getSection().getId(), oldDuration, newDuration);
+                courseTreeService.evictCourse(video.getSection().getCourse().getId());
+                log.debug("Video {} duration {}s => {}s (from the container)", video.getId(), oldDuration, newDuration);
+            }
+        }
+    }
+
+
+}
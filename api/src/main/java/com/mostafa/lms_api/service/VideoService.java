@@ -1,24 +1,25 @@
 package com.mostafa.lms_api.service;
 
 
+import com.mostafa.lms_api.config.ContentUrlSigner;
+import com.mostafa.lms_api.dto.StoredContent;
 import com.mostafa.lms_api.dto.video.CreateVideoDTO;
 import com.mostafa.lms_api.dto.video.UpdateVideoDTO;
 import com.mostafa.lms_api.dto.video.VideoResponseDTO;
-import com.mostafa.lms_api.enums.EnrollmentStatus;
 import com.mostafa.lms_api.global.CustomResponseException;
 import com.mostafa.lms_api.mapper.EntityDtoMapper;
 import com.mostafa.lms_api.model.Section;
-import com.mostafa.lms_api.model.User;
 import com.mostafa.lms_api.model.Video;
-import com.mostafa.lms_api.repository.EnrollmentRepo;
 import com.mostafa.lms_api.repository.SectionRepo;
 import com.mostafa.lms_api.repository.VideoRepo;
 import com.mostafa.lms_api.utils.CurrentUser;
+import com.mostafa.lms_api.utils.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -28,13 +29,17 @@ import java.util.UUID;
 public class VideoService {
     private final VideoRepo videoRepo;
     private final SectionRepo sectionRepo;
-    private final EnrollmentRepo enrollmentRepo;
+    private final EntitlementService entitlementService;
     private final EntityDtoMapper mapper;
-    private final CourseService courseService;
+    private final DurationTracker durationTracker;
+    private final CourseTreeService courseTreeService;
     private final CurrentUser currentUser;
+    private final FileStorage fileStorage;
+    private final StoredContentCache storedContentCache;
 
 
     //    Create
+    @Transactional
     public VideoResponseDTO createVideo(CreateVideoDTO dto) {
         Section section = sectionRepo.findById(dto.sectionId())
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + dto.sectionId()));
@@ -44,19 +49,23 @@ public class VideoService {
 
         Video savedVideo = videoRepo.save(video);
 
-        // NEW: Auto-update course estimated duration
-        courseService.updateEstimatedDuration(section.getCourse().getId());
+        // NEW: Add the video duration to section & course totals (applied once on commit)
+        durationTracker.applyChange(section.getId(), null, savedVideo.getDurationSeconds());
+        courseTreeService.evictCourse(section.getCourse().getId());
 
         return mapper.toVideoResponseDTO(savedVideo);
     }
 
     //    Update BY ((videoId))
+    @Transactional
     public VideoResponseDTO updateVideo(UUID videoId, UpdateVideoDTO dto) {
         Video existingVideo = videoRepo.findById(videoId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with this ID: " + videoId));
 
-        // New: Get course ID before update (Old)
-        UUID courseId = existingVideo.getSection().getCourse().getId();
+        // New: Keep old values to compute the duration delta
+        UUID oldSectionId = existingVideo.getSection().getId();
+        UUID oldCourseId = existingVideo.getSection().getCourse().getId();
+        Integer oldDuration = existingVideo.getDurationSeconds();
 
         if (dto.title() != null) {
             existingVideo.setTitle(dto.title());
@@ -74,67 +83,111 @@ public class VideoService {
             Section section = sectionRepo.findById(dto.sectionId())
                     .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + dto.sectionId()));
             existingVideo.setSection(section);
-
-            // New: If section changed, update both old and new course durations
-            UUID newCourseId = section.getCourse().getId(); // (New)
-            if (!courseId.equals(newCourseId)) {
-                courseService.updateEstimatedDuration(courseId); // Update old course
-                courseService.updateEstimatedDuration(newCourseId); // Update new course
-            }
         }
 
         Video updatedVideo = videoRepo.save(existingVideo);
+        storedContentCache.evict(ContentUrlSigner.videoResource(videoId));
+
+        // NEW: Move/adjust the duration => old section (and course) loses it, new one gains it
+        UUID newSectionId = updatedVideo.getSection().getId();
+        if (oldSectionId.equals(newSectionId)) {
+            durationTracker.applyChange(newSectionId, oldDuration, updatedVideo.getDurationSeconds());
+        } else {
+            durationTracker.applyChange(oldSectionId, oldDuration, null);
+            durationTracker.applyChange(newSectionId, null, updatedVideo.getDurationSeconds());
+        }
 
-        // NEW: Auto-update course estimated duration
-        courseService.updateEstimatedDuration(courseId);
+        courseTreeService.evictCourse(oldCourseId);
+        UUID newCourseId = updatedVideo.getSection().getCourse().getId();
+        if (!oldCourseId.equals(newCourseId)) {
+            courseTreeService.evictCourse(newCourseId);
+        }
 
         return mapper.toVideoResponseDTO(updatedVideo);
     }
 
     //    Delete BY ((videoId))  =>  ||||Do not Delete||||
+    @Transactional
     public String deleteVideo(UUID videoId) {
         Video video = videoRepo.findById(videoId)
                 .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with this ID: " + videoId));
 
-        // New: Get course ID before deletion
+        // New: Get section ID before deletion
+        UUID sectionId = video.getSection().getId();
         UUID courseId = video.getSection().getCourse().getId();
+        Integer duration = video.getDurationSeconds();
+        String storageKey = video.getStorageKey();
 
         videoRepo.delete(video);
+        storedContentCache.evict(ContentUrlSigner.videoResource(videoId));
+        if (storageKey != null) {
+            TransactionCallbacks.afterCommit(() -> fileStorage.delete(storageKey));
+        }
 
-        // NEW: Auto-update course estimated duration after deletion
-        courseService.updateEstimatedDuration(courseId);
+        // NEW: Remove the video duration from section & course totals
+        durationTracker.applyChange(sectionId, duration, null);
+        courseTreeService.evictCourse(courseId);
 
         return "Video Deleted Success";
     }
 
     // ***************************** ((Specifications)) *********************** //
     // Get All Videos Dependent on (sectionId) with access control
+    @Transactional(readOnly = true)
     public Page<VideoResponseDTO> getAllVideosForSection(UUID sectionId, int page, int size) {
         if (sectionId == null) {
             throw new IllegalArgumentException("Section ID cannot be null");
         }
 
-        sectionRepo.findById(sectionId)
-                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId));
+        if (!sectionRepo.existsById(sectionId)) {
+            throw CustomResponseException.ResourceNotFound("Section not found with this ID: " + sectionId);
+        }
 
         // Get current user
-        User authUser = currentUser.getCurrentUser();
+        UUID authUserId = currentUser.getCurrentUserId();
 
-        // Check if user has paid for this section
-        boolean hasAccess = hasUserPaidForSection(authUser.getId(), sectionId);
+        // Check if user has paid for this section (cached set lookup)
+        boolean hasAccess = entitlementService.hasUserPaidForSection(authUserId, sectionId);
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Video> videosPage = videoRepo.findBySectionId(sectionId, pageable);
 
-        // Convert Page<Video> to Page<VideoResponseDTO> with access control
-        return videosPage.map(video -> mapper.toVideoResponseDTOWithAccess(video, hasAccess));
+        // Convert Page<Video> to Page<VideoResponseDTO> with access control (content URLs signed for this user)
+        return videosPage.map(video -> mapper.toVideoResponseDTOWithAccess(video, hasAccess, authUserId));
     }
 
-    // Helper method to check if user has paid for section
-    private boolean hasUserPaidForSection(UUID userId, UUID sectionId) {
-        return enrollmentRepo.findByUserIdAndSectionId(userId, sectionId)
-                .map(enrollment -> enrollment.getStatus() == EnrollmentStatus.ACTIVE)
-                .orElse(false);
+    // Bytes of ONE uploaded video (progressive playback, Range, HLS) => signed URL OR same rule as the listing: paid OR preview
+    // No transaction => a signed request (access proven by SignedUrlFilter) is answered from memory
+    public StoredContent getVideoContent(UUID videoId) {
+        String resource = ContentUrlSigner.videoResource(videoId);
+        if (currentUser.hasContentGrant(resource)) {
+            return storedContentCache.get(resource, () -> toStoredContent(findVideo(videoId)));
+        }
+
+        Video video = findVideo(videoId);
+        if (!Boolean.TRUE.equals(video.getIsPreview())) {
+            UUID sectionId = video.getSection().getId();
+            if (!entitlementService.hasUserPaidForSection(currentUser.getCurrentUserId(), sectionId)) {
+                throw CustomResponseException.Forbidden("You have not purchased the section of this video");
+            }
+        }
+
+        return toStoredContent(video);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Video findVideo(UUID videoId) {
+        return videoRepo.findById(videoId)
+                .orElseThrow(() -> CustomResponseException.ResourceNotFound("Video not found with this ID: " + videoId));
+    }
+
+    private static StoredContent toStoredContent(Video video) {
+        if (video.getStorageKey() == null) {
+            return StoredContent.external(video.getVideoUrl());
+        }
+
+        return StoredContent.stored(video.getStorageKey(), video.getContentType(), video.getTitle());
     }
 
 }
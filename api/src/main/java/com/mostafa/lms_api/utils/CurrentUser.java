@@ -1,7 +1,11 @@
 package com.mostafa.lms_api.utils;
 
 
+import com.mostafa.lms_api.config.AuthPrincipal;
+import com.mostafa.lms_api.config.ContentGrant;
 import com.mostafa.lms_api.model.User;
+import com.mostafa.lms_api.repository.UserRepo;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -10,30 +14,58 @@ import java.util.UUID;
 
 
 @Component
+@RequiredArgsConstructor
 public class CurrentUser {
-    public User getCurrentUser() {
+    private final UserRepo userRepo;
+
+
+    // Claims-backed principal (no entity) => id / email / names / role
+    public AuthPrincipal getPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication != null && authentication.isAuthenticated() &&
                 !authentication.getPrincipal().equals("anonymousUser")) {
 
-            return (User) authentication.getPrincipal();
+            Object principal = authentication.getPrincipal();
+            if (principal instanceof AuthPrincipal authPrincipal) {
+                return authPrincipal;
+            }
+            // Entity principal (login flow / tests) => same view
+            if (principal instanceof User user) {
+                return AuthPrincipal.from(user);
+            }
         }
 
         return null;
     }
 
     public UUID getCurrentUserId() {
+        AuthPrincipal principal = getPrincipal();
+        return principal != null ? principal.id() : null;
+    }
+
+    // Signed content URL (SignedUrlFilter) => the one resource it grants, null for any other request
+    public ContentGrant getContentGrant() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication != null && authentication.isAuthenticated() &&
-                !authentication.getPrincipal().equals("anonymousUser")) {
+        return authentication != null && authentication.getPrincipal() instanceof ContentGrant grant ? grant : null;
+    }
 
-            User currentUser = (User) authentication.getPrincipal();
-            return currentUser.getId();
-        }
+    public boolean hasContentGrant(String resource) {
+        ContentGrant grant = getContentGrant();
+        return grant != null && grant.resource().equals(resource);
+    }
 
-        return null;
+    // Who content URLs are signed for => the logged-in user, or the viewer of an already signed URL
+    public UUID getViewerId() {
+        ContentGrant grant = getContentGrant();
+        return grant != null ? grant.userId() : getCurrentUserId();
+    }
+
+    // Lazy reference (id only, no SELECT) => for setting relations (owner / student / user) inside a transaction
+    public User getCurrentUserReference() {
+        UUID userId = getCurrentUserId();
+        return userId != null ? userRepo.getReferenceById(userId) : null;
     }
 
 
@@ -0,0 +1,96 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * The compiled trie must decide exactly like Spring's ordered matcher list built from the same rules,
+ * for every rule's path, every method and every kind of caller.
+ */
+class AuthorizationRulesTest {
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE", "PATCH");
+    private static final Map<String, Authentication> CALLERS = Map.of(
+            "anonymous", new AnonymousAuthenticationToken("key", "anonymousUser",
+                    AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+            "user", authenticated("ROLE_USER"),
+            "instructor", authenticated("ROLE_INSTRUCTOR"),
+            "admin", authenticated("ROLE_ADMIN")
+    );
+
+    private final AuthorizationRules rules = AuthorizationRules.lms();
+    private final CompiledAuthorizationManager compiled = rules.compile();
+    private final RequestMatcherDelegatingAuthorizationManager chain = rules.toRequestMatcherChain();
+
+
+    @Test
+    void compiledDecisionsMatchTheMatcherChain() {
+        List<String> mismatches = new ArrayList<>();
+
+        for (String path : samplePaths()) {
+            for (String method : METHODS) {
+                MockHttpServletRequest request = request(method, path);
+
+                CALLERS.forEach((caller, authentication) -> {
+                    boolean expected = chain.authorize(() -> authentication, request).isGranted();
+                    boolean actual = compiled.authorize(() -> authentication, request).isGranted();
+                    if (expected != actual) {
+                        mismatches.add(method + " " + path + " as " + caller + " => chain " + expected + ", compiled " + actual);
+                    }
+                });
+            }
+        }
+
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void methodSpecificRules() {
+        Authentication student = CALLERS.get("user");
+
+        assertThat(compiled.authorize(() -> student, request("GET", "/api/posts")).isGranted()).isTrue();
+        assertThat(compiled.authorize(() -> student, request("POST", "/api/courses")).isGranted()).isFalse();
+        assertThat(compiled.authorize(() -> CALLERS.get("instructor"), request("POST", "/api/courses")).isGranted()).isTrue();
+        assertThat(compiled.authorize(() -> CALLERS.get("anonymous"), request("GET", "/api/courses")).isGranted()).isTrue();
+        assertThat(compiled.authorize(() -> CALLERS.get("anonymous"), request("POST", "/api/courses")).isGranted()).isFalse();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Set<String> samplePaths() {
+        Set<String> paths = new LinkedHashSet<>(List.of(
+                "/", "/api", "/api/posts/", "/unknown/path", "/swagger-ui", "/actuator/metrics/jvm.memory.used",
+                "/api/quizzes/my-attempts", "/api/courses/search", "/api/courses/transaction/import"));
+
+        for (AuthorizationRules.Rule rule : rules.rules()) {
+            String path = rule.pattern()
+                    .replace("/**", "/a/b")
+                    .replaceAll("\\{[^}]+}", UUID.randomUUID().toString());
+            paths.add(path);
+            paths.add(path + "/extra");
+        }
+
+        return paths;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static Authentication authenticated(String role) {
+        return UsernamePasswordAuthenticationToken.authenticated("someone", null, AuthorityUtils.createAuthorityList(role));
+    }
+
+
+}
@@ -0,0 +1,82 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class ContentUrlSignerTest {
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID VIDEO_ID = UUID.randomUUID();
+
+    private final ContentUrlSigner signer = new ContentUrlSigner("test-secret", Duration.ofHours(4));
+
+
+    @Test
+    void signedUrlOpensTheWholeResourceForItsViewer() {
+        UriComponents url = UriComponentsBuilder.fromUriString(signer.sign("/api/videos/" + VIDEO_ID + "/content", USER_ID)).build();
+
+        ContentGrant grant = verify(url, url.getPath());
+        assertThat(grant).isNotNull();
+        assertThat(grant.userId()).isEqualTo(USER_ID);
+        assertThat(grant.resource()).isEqualTo("/api/videos/" + VIDEO_ID);
+        assertThat(grant.expiresAt()).isAfter(Instant.now().plus(Duration.ofHours(4)));
+
+        // Playlist & segments of the same video
+        assertThat(verify(url, "/api/videos/" + VIDEO_ID + "/hls/index.m3u8")).isNotNull();
+        assertThat(verify(url, "/api/videos/" + VIDEO_ID + "/hls/12.m4s")).isNotNull();
+    }
+
+    @Test
+    void tamperedOrForeignUrlsAreRejected() {
+        UriComponents url = UriComponentsBuilder.fromUriString(signer.sign("/api/videos/" + VIDEO_ID + "/content", USER_ID)).build();
+
+        // Another video, a non-content path, another viewer, a later expiry, another secret
+        assertThat(verify(url, "/api/videos/" + UUID.randomUUID() + "/content")).isNull();
+        assertThat(verify(url, "/api/videos/" + VIDEO_ID)).isNull();
+        assertThat(signer.verify(url.getPath(), url.getQueryParams().getFirst("exp"), UUID.randomUUID().toString(),
+                url.getQueryParams().getFirst("sig"))).isNull();
+        assertThat(signer.verify(url.getPath(), String.valueOf(Long.parseLong(url.getQueryParams().getFirst("exp")) + 600),
+                USER_ID.toString(), url.getQueryParams().getFirst("sig"))).isNull();
+        assertThat(new ContentUrlSigner("other-secret", Duration.ofHours(4)).verify(url.getPath(),
+                url.getQueryParams().getFirst("exp"), USER_ID.toString(), url.getQueryParams().getFirst("sig"))).isNull();
+        assertThat(signer.verify(url.getPath(), "soon", USER_ID.toString(), "!!")).isNull();
+    }
+
+    @Test
+    void expiredUrlsAreRejected() {
+        ContentUrlSigner expired = new ContentUrlSigner("test-secret", Duration.ofHours(-2));
+        UriComponents url = UriComponentsBuilder.fromUriString(expired.sign("/api/files/" + VIDEO_ID + "/content", USER_ID)).build();
+
+        assertThat(verify(url, url.getPath())).isNull();
+    }
+
+    @Test
+    void onlyContentUrlsAreSigned() {
+        assertThat(signer.sign("https://youtube.com/watch?v=abc", USER_ID)).isEqualTo("https://youtube.com/watch?v=abc");
+        assertThat(signer.sign(null, USER_ID)).isNull();
+
+        assertThat(ContentUrlSigner.resourceOf("/api/files/" + VIDEO_ID + "/content")).isEqualTo("/api/files/" + VIDEO_ID);
+        assertThat(ContentUrlSigner.resourceOf("/api/files/" + VIDEO_ID + "/hls/index.m3u8")).isNull();
+        assertThat(ContentUrlSigner.resourceOf("/api/videos/" + VIDEO_ID + "/hls/a/b")).isNull();
+        assertThat(ContentUrlSigner.resourceOf("/api/videos//content")).isNull();
+        assertThat(ContentUrlSigner.resourceOf("/api/courses/" + VIDEO_ID + "/content")).isNull();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private ContentGrant verify(UriComponents signedUrl, String path) {
+        return signer.verify(path,
+                signedUrl.getQueryParams().getFirst(ContentUrlSigner.PARAM_EXPIRES),
+                signedUrl.getQueryParams().getFirst(ContentUrlSigner.PARAM_USER),
+                signedUrl.getQueryParams().getFirst(ContentUrlSigner.PARAM_SIGNATURE));
+    }
+
+
+}
@@ -0,0 +1,137 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+
+class ReadWriteRoutingDataSourceTest {
+    private ReadWriteRoutingDataSource routing;
+
+
+    @BeforeEach
+    void setUp() {
+        routing = newRouting(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+
+    @Test
+    void noTransactionGoesToPrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsRoundRobinOverReplicas() {
+        beginTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    void readsStickToPrimaryAfterOwnWrite() {
+        login("alice");
+        beginTransaction(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        commit();
+
+        // alice just wrote => primary, bob did not => replica
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+        login("bob");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotStick() {
+        login("alice");
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    void primaryReadsUseThePrimaryWithoutSticking() {
+        login("alice");
+        beginTransaction(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(ReadWriteRoutingDataSource.PRIMARY_READ);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        commit();
+
+        // Nothing written => alice's next plain read still goes to a replica
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    void stickinessExpiresAfterWindow() {
+        routing = newRouting(Duration.ZERO);
+        login("alice");
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        commit();
+
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static ReadWriteRoutingDataSource newRouting(Duration window) {
+        return new ReadWriteRoutingDataSource(
+                mock(DataSource.class),
+                List.of(mock(DataSource.class), mock(DataSource.class)),
+                new ReplicaStickiness(window, Clock.systemUTC()));
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+
+}
@@ -0,0 +1,60 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+// Two local Postgres instances (e.g. ports 5432 & 5433) =>
+// TEST_DATABASE_URL=jdbc:postgresql://localhost:5432/lms TEST_REPLICA_DATABASE_URL=jdbc:postgresql://localhost:5433/lms
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "TEST_REPLICA_DATABASE_URL", matches = ".+")
+class ReplicaRoutingIntegrationTest {
+    private static final String SERVER = "SELECT inet_server_port() || ':' || current_setting('data_directory', true)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DATABASE_URL"));
+        registry.add("spring.datasource.username", () -> env("TEST_DATABASE_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> env("TEST_DATABASE_PASSWORD", "postgres"));
+        registry.add("lms.datasource.replica-urls", () -> System.getenv("TEST_REPLICA_DATABASE_URL"));
+        registry.add("jwt.secret", () -> "c2VjcmV0LWZvci1yZXBsaWNhLXJvdXRpbmctdGVzdHMtb25seS0wMTIzNDU2Nzg5");
+    }
+
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        String primary = write.execute(status -> jdbcTemplate.queryForObject(SERVER, String.class));
+        String replica = read.execute(status -> jdbcTemplate.queryForObject(SERVER, String.class));
+
+        assertThat(replica).isNotEqualTo(primary);
+    }
+
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+
+}
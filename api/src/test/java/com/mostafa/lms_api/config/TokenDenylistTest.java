@@ -0,0 +1,63 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class TokenDenylistTest {
+    private static final long NOW = 1_700_000_000_000L;
+    private static final Duration VALIDITY = Duration.ofDays(14);
+
+    private final TokenDenylist denylist = new TokenDenylist(VALIDITY);
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+
+    @Test
+    void revokedJtiIsRejectedOthersPass() {
+        denylist.revokeToken("jti-1", NOW + 60_000);
+
+        assertThat(denylist.isRevoked("jti-1", alice, NOW)).isTrue();
+        assertThat(denylist.isRevoked("jti-2", alice, NOW)).isFalse();
+        // Tokens issued before jti existed
+        assertThat(denylist.isRevoked(null, alice, NOW)).isFalse();
+    }
+
+    @Test
+    void watermarkRevokesOnlyOlderTokensOfThatUser() {
+        denylist.revokeAllBefore(alice, NOW);
+
+        assertThat(denylist.isRevoked("old", alice, NOW - 1_000)).isTrue();
+        assertThat(denylist.isRevoked("same-second", alice, NOW)).isTrue();
+        assertThat(denylist.isRevoked("new", alice, NOW + 1_000)).isFalse();
+        assertThat(denylist.isRevoked("other-user", bob, NOW - 1_000)).isFalse();
+    }
+
+    @Test
+    void laterWatermarkWins() {
+        denylist.revokeAllBefore(alice, NOW + 5_000);
+        denylist.revokeAllBefore(alice, NOW);
+
+        assertThat(denylist.isRevoked("jti", alice, NOW + 4_000)).isTrue();
+    }
+
+    @Test
+    void pruneDropsEntriesThatCanNoLongerMatchALiveToken() {
+        denylist.revokeToken("expired", NOW - 1);
+        denylist.revokeToken("live", NOW + 60_000);
+        denylist.revokeAllBefore(alice, NOW - VALIDITY.toMillis());
+        denylist.revokeAllBefore(bob, NOW - 1_000);
+
+        denylist.prune(NOW);
+
+        assertThat(denylist.size()).isEqualTo(2);
+        assertThat(denylist.isRevoked("live", null, NOW)).isTrue();
+        assertThat(denylist.isRevoked(null, bob, NOW - 2_000)).isTrue();
+    }
+
+
+}
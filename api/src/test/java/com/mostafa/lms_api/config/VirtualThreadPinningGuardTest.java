@@ -0,0 +1,61 @@
+package com.mostafa.lms_api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * On Java 21 a virtual thread that blocks (JDBC, HTTP, lock wait) inside a synchronized block/method pins its
+ * carrier thread => a handful of those stall the whole vt profile. Shared state uses java.util.concurrent
+ * (ConcurrentHashMap, ReentrantLock, atomics) instead; this fails the build when synchronized creeps back in.
+ * Pinning inside libraries shows up at runtime with -Djdk.tracePinnedThreads=short (mvn -Pjava21).
+ */
+class VirtualThreadPinningGuardTest {
+    private static final Path MAIN_SOURCES = Path.of("src", "main", "java");
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b|@Synchronized\\b");
+
+
+    @Test
+    void mainSourcesDoNotUseSynchronized() throws IOException {
+        List<String> offenders = new ArrayList<>();
+
+        try (Stream<Path> sources = Files.walk(MAIN_SOURCES)) {
+            for (Path source : sources.filter(path -> path.toString().endsWith(".java")).toList()) {
+                List<String> lines = Files.readAllLines(source);
+                for (int i = 0; i < lines.size(); i++) {
+                    String code = stripComment(lines.get(i));
+                    if (SYNCHRONIZED.matcher(code).find()) {
+                        offenders.add(MAIN_SOURCES.relativize(source) + ":" + (i + 1) + " => " + lines.get(i).trim());
+                    }
+                }
+            }
+        }
+
+        assertThat(offenders)
+                .as("synchronized pins virtual threads => use a ReentrantLock / concurrent collection")
+                .isEmpty();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static String stripComment(String line) {
+        String trimmed = line.trim();
+        if (trimmed.startsWith("*") || trimmed.startsWith("/*")) {
+            return "";
+        }
+
+        int comment = line.indexOf("//");
+        return comment >= 0 ? line.substring(0, comment) : line;
+    }
+
+
+}
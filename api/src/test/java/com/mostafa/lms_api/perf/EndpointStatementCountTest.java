@@ -0,0 +1,263 @@
+package com.mostafa.lms_api.perf;
+
+import com.mostafa.lms_api.enums.CourseLevel;
+import com.mostafa.lms_api.enums.NotificationType;
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.*;
+import com.mostafa.lms_api.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+/**
+ * SQL statements per endpoint with open-in-view off => fails when a response starts lazy loading per row.
+ * Every list is seeded with more rows than one page, so an N+1 always blows the budget.
+ * Needs a throwaway Postgres => TEST_DATABASE_URL / TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class EndpointStatementCountTest {
+    private static final int ROWS = 15;
+    private static final String PAGE = "?page=1&size=10";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private CourseRepo courseRepo;
+    @Autowired
+    private SectionRepo sectionRepo;
+    @Autowired
+    private VideoRepo videoRepo;
+    @Autowired
+    private PostRepo postRepo;
+    @Autowired
+    private PostLikeRepo postLikeRepo;
+    @Autowired
+    private CommentRepo commentRepo;
+    @Autowired
+    private NotificationRepo notificationRepo;
+    @Autowired
+    private ProgressRepo progressRepo;
+    @Autowired
+    private QuizRepo quizRepo;
+
+    private User student;
+    private Section section;
+    private Post post;
+    private List<Video> videos;
+
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DATABASE_URL"));
+        registry.add("spring.datasource.username", () -> env("TEST_DATABASE_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> env("TEST_DATABASE_PASSWORD", "postgres"));
+        registry.add("jwt.secret", () -> "c2VjcmV0LWZvci1zdGF0ZW1lbnQtY291bnQtdGVzdHMtb25seS0wMTIzNDU2Nzg5");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlStatementCounter.class::getName);
+    }
+
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seedData());
+    }
+
+
+    // ********************************** ((Budgets)) **************************************** //
+    @Test
+    void postFeed() throws Exception {
+        // page + count + likes counts + liked-by-me
+        assertStatements(get("/api/posts" + PAGE), 4);
+    }
+
+    @Test
+    void postsOfUser() throws Exception {
+        assertStatements(get("/api/posts/user/" + student.getId() + PAGE), 4);
+    }
+
+    @Test
+    void singlePost() throws Exception {
+        // post + author, likes count, liked-by-me
+        assertStatements(get("/api/posts/" + post.getId()), 3);
+    }
+
+    @Test
+    void commentsOfPost() throws Exception {
+        // post check + page + count + likes counts + liked-by-me
+        assertStatements(get("/api/comments/post/" + post.getId() + PAGE), 5);
+    }
+
+    @Test
+    void courseList() throws Exception {
+        // page (+ owners) + count
+        assertStatements(get("/api/courses" + PAGE), 2);
+    }
+
+    @Test
+    void sectionVideos() throws Exception {
+        // section check + entitlements (cold cache) + page + count
+        assertStatements(get("/api/videos/section/" + section.getId() + PAGE), 5);
+    }
+
+    @Test
+    void notifications() throws Exception {
+        assertStatements(get("/api/notifications" + PAGE), 2);
+        assertStatements(get("/api/notifications/unread-count"), 1);
+    }
+
+    @Test
+    void myProgress() throws Exception {
+        assertStatements(get("/api/progress/my-progress" + PAGE), 2);
+    }
+
+    @Test
+    void progressHeartbeat() throws Exception {
+        // video + section + course, existing progress, update
+        assertStatements(put("/api/progress/videos/" + videos.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"watchDurationSeconds\": 120}"), 3);
+    }
+
+    @Test
+    void quizList() throws Exception {
+        assertStatements(get("/api/quizzes" + PAGE), 2);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private void assertStatements(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        SqlStatementCounter.start();
+        mockMvc.perform(request.with(user(student))).andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.count())
+                .as("SQL statements for %s%n%s", request, String.join("\n", SqlStatementCounter.statements()))
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private void seedData() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+
+        User instructor = userRepo.save(account("instructor-" + run));
+        student = userRepo.save(account("student-" + run));
+
+        List<User> fans = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            fans.add(account("fan-" + run + "-" + i));
+        }
+        fans = userRepo.saveAll(fans);
+
+        Course course = null;
+        for (int i = 0; i < ROWS; i++) {
+            course = courseRepo.save(Course.builder()
+                    .title("Course " + run + "-" + i)
+                    .level(CourseLevel.SECONDARY_GRADE_1)
+                    .user(instructor)
+                    .build());
+            sectionRepo.save(Section.builder()
+                    .title("Section " + i)
+                    .price(BigDecimal.ZERO)
+                    .sortOrder(1)
+                    .course(course)
+                    .build());
+        }
+        section = sectionRepo.findAllByCourseIdOrderBySortOrder(course.getId()).get(0);
+
+        videos = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            videos.add(Video.builder()
+                    .title("Video " + i)
+                    .videoUrl("https://example.com/" + run + "/" + i + ".mp4")
+                    .durationSeconds(600)
+                    .sortOrder(i)
+                    .section(section)
+                    .build());
+        }
+        videos = videoRepo.saveAll(videos);
+
+        for (int i = 0; i < ROWS; i++) {
+            Post authored = postRepo.save(Post.builder().text("Post " + i).user(fans.get(i)).build());
+            postLikeRepo.save(PostLike.builder().user(student).post(authored).build());
+            if (i == 0) {
+                post = postRepo.save(Post.builder().text("Student post").user(student).build());
+            }
+            postRepo.save(Post.builder().text("Student post " + i).user(student).build());
+            commentRepo.save(Comment.builder().text("Comment " + i).user(fans.get(i)).post(post).build());
+
+            notificationRepo.save(Notification.builder()
+                    .title("Like")
+                    .message(NotificationType.POST_LIKE.getMessage())
+                    .type(NotificationType.POST_LIKE)
+                    .referenceId(post.getId())
+                    .user(student)
+                    .triggeredByUser(fans.get(i))
+                    .build());
+
+            progressRepo.save(Progress.builder()
+                    .user(student)
+                    .course(course)
+                    .video(videos.get(i))
+                    .watchDurationSeconds(10)
+                    .completionPercentage(1.0)
+                    .lastWatchedAt(LocalDateTime.now())
+                    .build());
+
+            quizRepo.save(Quiz.builder()
+                    .title("Quiz " + run + "-" + i)
+                    .description("Statement count quiz")
+                    .startTime(ZonedDateTime.now().minusHours(1))
+                    .endTime(ZonedDateTime.now().plusHours(1))
+                    .course(course)
+                    .user(instructor)
+                    .build());
+        }
+    }
+
+    private static User account(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@statements.local")
+                .password("{noop}password")
+                .firstName("Statements")
+                .lastName(username)
+                .role(UserRole.USER)
+                .build();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+
+}
@@ -0,0 +1,209 @@
+package com.mostafa.lms_api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mostafa.lms_api.model.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+/**
+ * Statement-count & p95 budgets for the hot endpoints against production-like volumes (see PerfDataset).
+ * Every request runs as a different student, on a different page/section/quiz => no single warm row hides an N+1.
+ * Run with: mvn -Pperf test (TEST_DATABASE_URL => throwaway Postgres, seeded once, ~1.4M rows).
+ * Slower machines can stretch the latency budgets with -Dperf.latency-factor=2 (statement budgets never stretch).
+ */
+@Tag("performance")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class HotEndpointRegressionTest {
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 200;
+    private static final double LATENCY_FACTOR = Double.parseDouble(System.getProperty("perf.latency-factor", "1"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private PerfDataset dataset;
+    private List<User> students;
+
+
+    record Budget(int maxStatements, long p95Millis) {
+    }
+
+    @FunctionalInterface
+    interface ScenarioRequest {
+        MockHttpServletRequestBuilder build(int iteration) throws Exception;
+    }
+
+    record Result(int maxStatements, long p95Micros, String worstRequest, List<String> worstStatements) {
+    }
+
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("TEST_DATABASE_URL"));
+        registry.add("spring.datasource.username", () -> env("TEST_DATABASE_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> env("TEST_DATABASE_PASSWORD", "postgres"));
+        registry.add("jwt.secret", () -> "c2VjcmV0LWZvci1ob3QtZW5kcG9pbnQtcmVncmVzc2lvbi1vbmx5LTAxMjM0NTY3ODk=");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlStatementCounter.class::getName);
+    }
+
+    @BeforeAll
+    void seed() {
+        dataset = new PerfDataset(jdbcTemplate);
+        dataset.ensureSeeded();
+        students = dataset.students(WARMUP + ITERATIONS);
+    }
+
+
+    // ********************************** ((Hot Endpoints)) **************************************** //
+    @Test
+    void feed() throws Exception {
+        // page + count + likes counts + liked-by-me
+        run("feed", new Budget(4, 150), i -> get("/api/posts")
+                .param("page", String.valueOf(1 + i % 50))
+                .param("size", "10"));
+    }
+
+    @Test
+    void courseList() throws Exception {
+        // page (+ owners) + count
+        run("course list", new Budget(2, 100), i -> get("/api/courses")
+                .param("page", String.valueOf(1 + i % 50))
+                .param("size", "10"));
+    }
+
+    @Test
+    void sectionVideos() throws Exception {
+        List<UUID> sections = dataset.sectionIds(WARMUP + ITERATIONS);
+
+        // section check + entitlements (cold per student) + page + count
+        run("section videos", new Budget(5, 100), i -> get("/api/videos/section/" + sections.get(i % sections.size()))
+                .param("page", "1")
+                .param("size", "10"));
+    }
+
+    @Test
+    void progressUpdate() throws Exception {
+        List<UUID> videos = students.stream().map(student -> dataset.watchedVideoId(student.getId())).toList();
+
+        // video + section + course, existing progress row, update
+        run("progress update", new Budget(3, 100), i -> put("/api/progress/videos/" + videos.get(i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"watchDurationSeconds\": " + (30 + i) + "}"));
+    }
+
+    @Test
+    void quizSubmit() throws Exception {
+        List<User> submitters = dataset.studentsWithoutAttempts(WARMUP + ITERATIONS);
+        assertThat(submitters)
+                .as("students without a quiz attempt (reseed the perf database)")
+                .hasSize(WARMUP + ITERATIONS);
+        List<UUID> quizzes = dataset.quizIds();
+
+        run("quiz submit", new Budget(7, 250), submitters::get, i -> {
+            UUID quizId = quizzes.get(i % quizzes.size());
+            return post("/api/quizzes/" + quizId + "/submit")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dataset.correctAnswers(quizId)));
+        });
+    }
+
+    @Test
+    void notifications() throws Exception {
+        run("notifications", new Budget(2, 100), i -> get("/api/notifications")
+                .param("page", "1")
+                .param("size", "10"));
+        run("unread count", new Budget(1, 50), i -> get("/api/notifications/unread-count"));
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private void run(String endpoint, Budget budget, ScenarioRequest request) throws Exception {
+        run(endpoint, budget, students::get, request);
+    }
+
+    // Request i runs as principal i (WARMUP + ITERATIONS distinct principals)
+    private void run(String endpoint, Budget budget, IntFunction<User> principal, ScenarioRequest request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            perform(request.build(i), principal.apply(i));
+        }
+
+        long[] micros = new long[ITERATIONS];
+        int maxStatements = 0;
+        String worstRequest = null;
+        List<String> worstStatements = List.of();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            MockHttpServletRequestBuilder builder = request.build(WARMUP + i);
+            User student = principal.apply(WARMUP + i);
+
+            SqlStatementCounter.start();
+            long start = System.nanoTime();
+            perform(builder, student);
+            micros[i] = (System.nanoTime() - start) / 1_000;
+
+            if (SqlStatementCounter.count() > maxStatements) {
+                maxStatements = SqlStatementCounter.count();
+                worstRequest = builder.toString();
+                worstStatements = SqlStatementCounter.statements();
+            }
+        }
+
+        Arrays.sort(micros);
+        Result result = new Result(maxStatements, micros[(int) Math.ceil(ITERATIONS * 0.95) - 1], worstRequest, worstStatements);
+        long p95Budget = (long) (budget.p95Millis() * 1_000 * LATENCY_FACTOR);
+
+        System.out.printf("%-16s statements max %2d (budget %2d)   p95 %6.1f ms (budget %6.1f ms)%n",
+                endpoint, result.maxStatements(), budget.maxStatements(),
+                result.p95Micros() / 1_000.0, p95Budget / 1_000.0);
+
+        assertThat(result.maxStatements())
+                .as("SQL statements for %s => %s%n%s", endpoint, result.worstRequest(),
+                        String.join("\n", result.worstStatements()))
+                .isLessThanOrEqualTo(budget.maxStatements());
+        assertThat(result.p95Micros())
+                .as("p95 latency (µs) for %s", endpoint)
+                .isLessThanOrEqualTo(p95Budget);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, User student) throws Exception {
+        mockMvc.perform(request.with(user(student))).andExpect(status().isOk());
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+
+}
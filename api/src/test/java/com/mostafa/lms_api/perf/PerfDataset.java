@@ -0,0 +1,221 @@
+package com.mostafa.lms_api.perf;
+
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+
+/**
+ * Realistic volumes for the performance suites, seeded set-based in Postgres (generate_series, no entities):
+ * 10k students, 500 courses x 2 sections x 10 videos, 1M progress rows, 50k posts + 200k likes,
+ * 100k notifications and one 10-question quiz per course.
+ * Seeded once per database (rows are recognised by the perf- prefix) => later runs start immediately.
+ */
+class PerfDataset {
+    static final int USERS = 10_000;
+    static final int COURSES = 500;
+    static final int SECTIONS_PER_COURSE = 2;
+    static final int VIDEOS_PER_SECTION = 10;
+    static final int VIDEOS = COURSES * SECTIONS_PER_COURSE * VIDEOS_PER_SECTION;
+    static final int PROGRESS_PER_USER = 100;
+    static final int POSTS_PER_USER = 5;
+    static final int LIKES_PER_USER = 20;
+    static final int NOTIFICATIONS_PER_USER = 10;
+    static final int QUESTIONS_PER_QUIZ = 10;
+    static final int OPTIONS_PER_QUESTION = 4;
+
+    private static final String PERF_USERS = "SELECT id, row_number() OVER (ORDER BY username) - 1 AS n " +
+            "FROM users WHERE email LIKE 'perf-user-%@perf.local'";
+    private static final String PERF_VIDEOS = "SELECT v.id, s.course_id, row_number() OVER (ORDER BY v.id) - 1 AS n " +
+            "FROM videos v JOIN sections s ON s.id = v.section_id JOIN courses c ON c.id = s.course_id " +
+            "WHERE c.title LIKE 'perf-course-%'";
+
+    private final JdbcTemplate jdbc;
+
+
+    PerfDataset(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+
+    void ensureSeeded() {
+        Integer users = jdbc.queryForObject(
+                "SELECT count(*) FROM users WHERE email LIKE 'perf-user-%@perf.local'", Integer.class);
+        if (users != null && users >= USERS) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        seedUsers();
+        seedCourses();
+        seedProgress();
+        seedFeed();
+        seedNotifications();
+        seedQuizzes();
+        jdbc.execute("ANALYZE");
+        System.out.printf("Perf dataset seeded in %d s%n", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+
+    // ********************************** ((Lookups)) **************************************** //
+    // Detached principals (what the JWT filter would put in the security context)
+    List<User> students(int limit) {
+        return jdbc.query("SELECT id, username, email FROM users WHERE email LIKE 'perf-user-%@perf.local' " +
+                        "ORDER BY username LIMIT ?",
+                (rs, i) -> principal(rs.getObject("id", UUID.class), rs.getString("username"), rs.getString("email")),
+                limit);
+    }
+
+    // Students that never submitted a quiz (quizzes allow one attempt) => a fresh submitter per iteration
+    List<User> studentsWithoutAttempts(int limit) {
+        return jdbc.query("SELECT u.id, u.username, u.email FROM users u " +
+                        "WHERE u.email LIKE 'perf-user-%@perf.local' " +
+                        "AND NOT EXISTS (SELECT 1 FROM quiz_attempts a WHERE a.user_id = u.id) " +
+                        "ORDER BY u.username LIMIT ?",
+                (rs, i) -> principal(rs.getObject("id", UUID.class), rs.getString("username"), rs.getString("email")),
+                limit);
+    }
+
+    List<UUID> sectionIds(int limit) {
+        return jdbc.queryForList("SELECT s.id FROM sections s JOIN courses c ON c.id = s.course_id " +
+                "WHERE c.title LIKE 'perf-course-%' ORDER BY s.id LIMIT ?", UUID.class, limit);
+    }
+
+    // A video the student already has progress for => the heartbeat updates an existing row
+    UUID watchedVideoId(UUID userId) {
+        return jdbc.queryForObject("SELECT video_id FROM progress WHERE user_id = ? LIMIT 1", UUID.class, userId);
+    }
+
+    List<UUID> quizIds() {
+        return jdbc.queryForList("SELECT q.id FROM quizzes q JOIN courses c ON c.id = q.course_id " +
+                "WHERE c.title LIKE 'perf-course-%' ORDER BY q.id", UUID.class);
+    }
+
+    // questionId -> correct optionId for a whole quiz (the submit body)
+    Map<UUID, UUID> correctAnswers(UUID quizId) {
+        Map<UUID, UUID> answers = new LinkedHashMap<>();
+        jdbc.query("SELECT q.id AS question_id, o.id AS option_id FROM questions q " +
+                        "JOIN question_options o ON o.question_id = q.id AND o.is_correct " +
+                        "WHERE q.quiz_id = ?",
+                rs -> {
+                    answers.put(rs.getObject("question_id", UUID.class), rs.getObject("option_id", UUID.class));
+                },
+                quizId);
+
+        return answers;
+    }
+
+
+    // ********************************** ((Seed)) **************************************** //
+    private void seedUsers() {
+        jdbc.update("INSERT INTO users (id, username, email, password, first_name, last_name, role, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'perf-user-' || lpad(g::text, 5, '0'), " +
+                "'perf-user-' || lpad(g::text, 5, '0') || '@perf.local', '{noop}password', 'Perf', 'Student ' || g, " +
+                "'USER', 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM generate_series(0, ?) g", USERS - 1);
+        jdbc.update("INSERT INTO users (id, username, email, password, first_name, last_name, role, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "VALUES (gen_random_uuid(), 'perf-instructor', 'perf-instructor@perf.local', '{noop}password', " +
+                "'Perf', 'Instructor', 'INSTRUCTOR', 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP) " +
+                "ON CONFLICT DO NOTHING");
+    }
+
+    private void seedCourses() {
+        jdbc.update("INSERT INTO courses (id, title, description, price, status, level, estimated_duration, " +
+                "total_duration_seconds, is_published, user_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'perf-course-' || lpad(g::text, 3, '0'), 'Perf course ' || g, 0, " +
+                "'PUBLISHED', 'SECONDARY_GRADE_1', 0, ?, true, " +
+                "(SELECT id FROM users WHERE email = 'perf-instructor@perf.local'), " +
+                "'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM generate_series(0, ?) g",
+                (long) SECTIONS_PER_COURSE * VIDEOS_PER_SECTION * 600, COURSES - 1);
+
+        jdbc.update("INSERT INTO sections (id, title, description, price, is_published, sort_order, " +
+                "total_duration_seconds, course_id, created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'Section ' || g, 'Perf section', 100, true, g, ?, c.id, " +
+                "'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM courses c CROSS JOIN generate_series(1, ?) g WHERE c.title LIKE 'perf-course-%'",
+                (long) VIDEOS_PER_SECTION * 600, SECTIONS_PER_COURSE);
+
+        jdbc.update("INSERT INTO videos (id, title, video_url, is_preview, duration_seconds, sort_order, section_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'Video ' || g, 'https://cdn.example.com/perf/' || s.id || '/' || g || '.mp4', " +
+                "g = 1, 600, g, s.id, 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM sections s JOIN courses c ON c.id = s.course_id CROSS JOIN generate_series(1, ?) g " +
+                "WHERE c.title LIKE 'perf-course-%'", VIDEOS_PER_SECTION);
+    }
+
+    // Student n watched PROGRESS_PER_USER consecutive videos starting at n * PROGRESS_PER_USER (mod VIDEOS)
+    private void seedProgress() {
+        jdbc.update("WITH u AS (" + PERF_USERS + "), v AS (" + PERF_VIDEOS + ") " +
+                "INSERT INTO progress (id, watch_duration_seconds, completion_percentage, is_completed, last_watched_at, " +
+                "user_id, course_id, video_id, created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), (k * 7) % 600, ((k * 7) % 600) / 6.0, false, " +
+                "LOCALTIMESTAMP - make_interval(mins => k), u.id, v.course_id, v.id, " +
+                "'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM u CROSS JOIN generate_series(0, ?) k JOIN v ON v.n = (u.n * ? + k) % ?",
+                PROGRESS_PER_USER - 1, PROGRESS_PER_USER, VIDEOS);
+    }
+
+    private void seedFeed() {
+        jdbc.update("WITH u AS (" + PERF_USERS + ") " +
+                "INSERT INTO posts (id, title, user_id, created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'perf-post ' || u.n || '-' || k, u.id, " +
+                "'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM u CROSS JOIN generate_series(1, ?) k", POSTS_PER_USER);
+
+        jdbc.update("WITH u AS (" + PERF_USERS + "), " +
+                "p AS (SELECT id, row_number() OVER (ORDER BY id) - 1 AS n FROM posts WHERE title LIKE 'perf-post %') " +
+                "INSERT INTO post_likes (id, user_id, post_id, created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), u.id, p.id, 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM u CROSS JOIN generate_series(0, ?) k JOIN p ON p.n = (u.n * ? + k) % ?",
+                LIKES_PER_USER - 1, LIKES_PER_USER, USERS * POSTS_PER_USER);
+    }
+
+    private void seedNotifications() {
+        jdbc.update("WITH u AS (" + PERF_USERS + ") " +
+                "INSERT INTO notifications (id, title, message, is_read, type, reference_id, user_id, triggered_by_user_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'New Like', 'liked your post', k > 3, 'POST_LIKE', gen_random_uuid(), " +
+                "u.id, t.id, 'perf', LOCALTIMESTAMP - make_interval(hours => k), 'perf', LOCALTIMESTAMP " +
+                "FROM u CROSS JOIN generate_series(1, ?) k JOIN u t ON t.n = (u.n + k) % ?",
+                NOTIFICATIONS_PER_USER, USERS);
+    }
+
+    private void seedQuizzes() {
+        jdbc.update("INSERT INTO quizzes (id, title, description, start_time, end_time, max_attempts, course_id, user_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'Quiz ' || c.title, 'Perf quiz', now() - interval '1 day', " +
+                "now() + interval '365 days', 1, c.id, c.user_id, 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM courses c WHERE c.title LIKE 'perf-course-%'");
+
+        jdbc.update("INSERT INTO questions (id, question_text, points, quiz_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'Question ' || g, 1.0, q.id, 'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM quizzes q JOIN courses c ON c.id = q.course_id CROSS JOIN generate_series(1, ?) g " +
+                "WHERE c.title LIKE 'perf-course-%'", QUESTIONS_PER_QUIZ);
+
+        jdbc.update("INSERT INTO question_options (id, option_text, option_select, is_correct, question_id, " +
+                "created_by, created_date, last_modified_by, last_modified_date) " +
+                "SELECT gen_random_uuid(), 'Option ' || g, chr(64 + g), g = 1, qs.id, " +
+                "'perf', LOCALTIMESTAMP, 'perf', LOCALTIMESTAMP " +
+                "FROM questions qs JOIN quizzes q ON q.id = qs.quiz_id JOIN courses c ON c.id = q.course_id " +
+                "CROSS JOIN generate_series(1, ?) g WHERE c.title LIKE 'perf-course-%'", OPTIONS_PER_QUESTION);
+    }
+
+    private static User principal(UUID id, String username, String email) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .password("{noop}password")
+                .role(UserRole.USER)
+                .build();
+    }
+
+
+}
@@ -0,0 +1,269 @@
+package com.mostafa.lms_api.perf;
+
+import com.mostafa.lms_api.LmsApiApplication;
+import com.mostafa.lms_api.enums.CourseLevel;
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.*;
+import com.mostafa.lms_api.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Progress & quiz write paths with the default settings vs the "prod" persistence profile.
+ * Needs a throwaway Postgres => TEST_DATABASE_URL / TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD.
+ * Each run seeds its own users/course/quiz (unique suffix) and leaves them in that database.
+ */
+@Tag("performance")
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class PersistenceProfileBenchmark {
+    private static final int STUDENTS = 200;
+    private static final int VIDEOS = 10;
+    private static final int QUESTIONS = 40;
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+
+    record PhaseResult(String phase, long millis, long statements) {
+    }
+
+
+    @Test
+    void prodProfileReducesStatementsOnProgressAndQuizWrites() {
+        // Baseline => what the app did before the profile: no batching, SQL logged & formatted
+        List<PhaseResult> baseline = runScenario(new String[0], Map.of(
+                "spring.jpa.hibernate.ddl-auto", "update",
+                "spring.jpa.show-sql", "true",
+                "spring.jpa.properties.hibernate.format_sql", "true",
+                "spring.jpa.properties.hibernate.jdbc.batch_size", "1",
+                "spring.jpa.properties.hibernate.order_inserts", "false",
+                "spring.jpa.properties.hibernate.order_updates", "false"
+        ));
+        List<PhaseResult> prod = runScenario(new String[]{"prod"}, Map.of());
+
+        System.out.printf("%n%-16s %12s %12s %12s %12s%n", "phase", "base ms", "prod ms", "base stmts", "prod stmts");
+        for (int i = 0; i < baseline.size(); i++) {
+            PhaseResult b = baseline.get(i);
+            PhaseResult p = prod.get(i);
+            System.out.printf("%-16s %12d %12d %12d %12d%n", b.phase(), b.millis(), p.millis(), b.statements(), p.statements());
+        }
+
+        // Batched statements are prepared once per batch => updates & quiz answers need far fewer statements
+        assertThat(prod.get(1).statements()).isLessThan(baseline.get(1).statements());
+        assertThat(prod.get(2).statements()).isLessThan(baseline.get(2).statements());
+    }
+
+
+    // ********************************** ((Scenario)) **************************************** //
+    private List<PhaseResult> runScenario(String[] profiles, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>(overrides);
+        properties.put("spring.datasource.url", System.getenv("TEST_DATABASE_URL"));
+        properties.put("spring.datasource.username", env("TEST_DATABASE_USERNAME", "postgres"));
+        properties.put("spring.datasource.password", env("TEST_DATABASE_PASSWORD", "postgres"));
+        properties.put("jwt.secret", "c2VjcmV0LWZvci1wZXJzaXN0ZW5jZS1iZW5jaG1hcmstb25seS0wMTIzNDU2Nzg5");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(LmsApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles)
+                .properties(properties)
+                .run()) {
+
+            TransactionTemplate tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+            Statistics stats = ctx.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            Seed seed = tx.execute(status -> seed(ctx, UUID.randomUUID().toString().substring(0, 8)));
+
+            ProgressRepo progressRepo = ctx.getBean(ProgressRepo.class);
+            QuizAttemptRepo quizAttemptRepo = ctx.getBean(QuizAttemptRepo.class);
+            UserAnswerRepo userAnswerRepo = ctx.getBean(UserAnswerRepo.class);
+
+            List<PhaseResult> results = new ArrayList<>();
+
+            // 1) First heartbeat per (student, video) => INSERT progress (one request = one transaction)
+            results.add(measure("progress insert", stats, () -> {
+                for (User student : seed.students()) {
+                    for (Video video : seed.videos()) {
+                        tx.executeWithoutResult(status -> progressRepo.save(Progress.builder()
+                                .user(student)
+                                .course(seed.course())
+                                .video(video)
+                                .watchDurationSeconds(10)
+                                .completionPercentage(1.0)
+                                .lastWatchedAt(LocalDateTime.now())
+                                .build()));
+                    }
+                }
+            }));
+
+            // 2) Heartbeats => every progress row of a student updated in one request (flush of N dirty rows)
+            results.add(measure("progress update", stats, () -> {
+                for (User student : seed.students()) {
+                    tx.executeWithoutResult(status -> progressRepo
+                            .findByUserIdAndCourseIdOrderByVideoSortOrderAsc(student.getId(), seed.course().getId())
+                            .forEach(progress -> {
+                                progress.setWatchDurationSeconds(20);
+                                progress.setCompletionPercentage(2.0);
+                                progress.setLastWatchedAt(LocalDateTime.now());
+                            }));
+                }
+            }));
+
+            // 3) Quiz submit => attempt + one answer per question + final score update
+            results.add(measure("quiz submit", stats, () -> {
+                for (User student : seed.students()) {
+                    tx.executeWithoutResult(status -> {
+                        QuizAttempt attempt = quizAttemptRepo.save(QuizAttempt.builder()
+                                .attemptNumber(1)
+                                .startedAt(ZonedDateTime.now())
+                                .user(student)
+                                .quiz(seed.quiz())
+                                .build());
+
+                        List<UserAnswer> answers = new ArrayList<>(QUESTIONS);
+                        double score = 0;
+                        for (Question question : seed.questions()) {
+                            QuestionOption selected = seed.optionsByQuestion().get(question.getId()).get(0);
+                            score += selected.getIsCorrect() ? question.getPoints() : 0;
+                            answers.add(UserAnswer.builder()
+                                    .answeredAt(ZonedDateTime.now())
+                                    .isCorrect(selected.getIsCorrect())
+                                    .pointsEarned(selected.getIsCorrect() ? question.getPoints() : 0.0)
+                                    .user(student)
+                                    .question(question)
+                                    .selectedOption(selected)
+                                    .quizAttempt(attempt)
+                                    .build());
+                        }
+                        userAnswerRepo.saveAll(answers);
+
+                        attempt.setTotalScore(score);
+                        attempt.setIsCompleted(true);
+                        attempt.setCompletedAt(ZonedDateTime.now());
+                    });
+                }
+            }));
+
+            return results;
+        }
+    }
+
+    private PhaseResult measure(String phase, Statistics stats, Runnable work) {
+        stats.clear();
+        long start = System.nanoTime();
+        work.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        return new PhaseResult(phase, millis, stats.getPrepareStatementCount());
+    }
+
+
+    // ********************************** ((Seed)) **************************************** //
+    record Seed(Course course, List<Video> videos, List<User> students, Quiz quiz,
+                List<Question> questions, Map<UUID, List<QuestionOption>> optionsByQuestion) {
+    }
+
+    private Seed seed(ConfigurableApplicationContext ctx, String run) {
+        UserRepo userRepo = ctx.getBean(UserRepo.class);
+        CourseRepo courseRepo = ctx.getBean(CourseRepo.class);
+        SectionRepo sectionRepo = ctx.getBean(SectionRepo.class);
+        VideoRepo videoRepo = ctx.getBean(VideoRepo.class);
+        QuizRepo quizRepo = ctx.getBean(QuizRepo.class);
+        QuestionRepo questionRepo = ctx.getBean(QuestionRepo.class);
+        QuestionOptionRepo optionRepo = ctx.getBean(QuestionOptionRepo.class);
+
+        User instructor = userRepo.save(user("instructor-" + run));
+        List<User> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(user("student-" + run + "-" + i));
+        }
+        students = userRepo.saveAll(students);
+
+        Course course = courseRepo.save(Course.builder()
+                .title("Benchmark " + run)
+                .level(CourseLevel.SECONDARY_GRADE_1)
+                .user(instructor)
+                .build());
+        Section section = sectionRepo.save(Section.builder()
+                .title("Section " + run)
+                .price(BigDecimal.TEN)
+                .sortOrder(1)
+                .course(course)
+                .build());
+
+        List<Video> videos = new ArrayList<>(VIDEOS);
+        for (int i = 0; i < VIDEOS; i++) {
+            videos.add(Video.builder()
+                    .title("Video " + i)
+                    .videoUrl("https://example.com/" + run + "/" + i + ".mp4")
+                    .durationSeconds(600)
+                    .sortOrder(i)
+                    .section(section)
+                    .build());
+        }
+        videos = videoRepo.saveAll(videos);
+
+        Quiz quiz = quizRepo.save(Quiz.builder()
+                .title("Quiz " + run)
+                .description("Benchmark quiz")
+                .startTime(ZonedDateTime.now().minusHours(1))
+                .endTime(ZonedDateTime.now().plusHours(1))
+                .course(course)
+                .user(instructor)
+                .build());
+
+        List<Question> questions = new ArrayList<>(QUESTIONS);
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(Question.builder().questionText("Question " + i).points(1.0).quiz(quiz).build());
+        }
+        questions = questionRepo.saveAll(questions);
+
+        Map<UUID, List<QuestionOption>> optionsByQuestion = new HashMap<>();
+        for (Question question : questions) {
+            List<QuestionOption> options = new ArrayList<>(OPTIONS_PER_QUESTION);
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                options.add(QuestionOption.builder()
+                        .optionText("Option " + o)
+                        .optionSelect(String.valueOf((char) ('A' + o)))
+                        .isCorrect(o == 0)
+                        .question(question)
+                        .build());
+            }
+            optionsByQuestion.put(question.getId(), optionRepo.saveAll(options));
+        }
+
+        return new Seed(course, videos, students, quiz, questions, optionsByQuestion);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@bench.local")
+                .password("{noop}password")
+                .firstName("Bench")
+                .lastName(username)
+                .role(UserRole.USER)
+                .build();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+
+}
@@ -0,0 +1,39 @@
+package com.mostafa.lms_api.perf;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Records every SQL statement Hibernate prepares on the current thread.
+ * Register with spring.jpa.properties.hibernate.session_factory.statement_inspector=
+ * com.mostafa.lms_api.perf.SqlStatementCounter (Hibernate instantiates it => state is static, per thread).
+ * MockMvc runs the whole request on the test thread, so start() ... count() covers exactly one request.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+
+    public static void start() {
+        STATEMENTS.get().clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+
+}
@@ -0,0 +1,160 @@
+package com.mostafa.lms_api.service;
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class ContentStreamerTest {
+    private static final byte[] CONTENT = new byte[1000];
+
+    @TempDir
+    Path root;
+
+    private LocalDiskFileStorage storage;
+    private ContentStreamer streamer;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) i;
+        }
+        Files.createDirectories(root.resolve("files"));
+        Files.write(root.resolve("files/slides.pdf"), CONTENT);
+
+        storage = new LocalDiskFileStorage(root.toString());
+        streamer = new ContentStreamer(storage);
+    }
+
+
+    @Test
+    void wholeFileWithValidators() throws IOException {
+        MockHttpServletResponse response = stream(get());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getHeader("Content-Length")).isEqualTo("1000");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("ETag")).startsWith("\"").endsWith("\"");
+        assertThat(response.getHeader("Content-Disposition")).contains("slides.pdf");
+    }
+
+    @Test
+    void byteRanges() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=100-199");
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 100-199/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 100, 200));
+
+        request = get();
+        request.addHeader("Range", "bytes=-10");
+        response = stream(request);
+
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 990-999/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 990, 1000));
+    }
+
+    @Test
+    void parseRange() {
+        assertThat(ContentStreamer.parseRange("bytes=0-", 1000)).isEqualTo(new ContentStreamer.ByteRange(0, 999));
+        assertThat(ContentStreamer.parseRange("bytes=900-5000", 1000)).isEqualTo(new ContentStreamer.ByteRange(900, 999));
+        assertThat(ContentStreamer.parseRange("bytes=-5000", 1000)).isEqualTo(new ContentStreamer.ByteRange(0, 999));
+        assertThat(ContentStreamer.parseRange("bytes=1000-", 1000)).isSameAs(ContentStreamer.ByteRange.NOT_SATISFIABLE);
+        assertThat(ContentStreamer.parseRange("bytes=-0", 1000)).isSameAs(ContentStreamer.ByteRange.NOT_SATISFIABLE);
+        // Ignored => whole entity
+        assertThat(ContentStreamer.parseRange("bytes=5-1", 1000)).isNull();
+        assertThat(ContentStreamer.parseRange("bytes=0-1,5-6", 1000)).isNull();
+        assertThat(ContentStreamer.parseRange("items=0-1", 1000)).isNull();
+        assertThat(ContentStreamer.parseRange("bytes=abc", 1000)).isNull();
+    }
+
+    @Test
+    void unsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader("Range", "bytes=2000-");
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */1000");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void conditionalRequests() throws IOException {
+        String etag = stream(get()).getHeader("ETag");
+
+        MockHttpServletRequest revalidate = get();
+        revalidate.addHeader("If-None-Match", "W/" + etag);
+        MockHttpServletResponse notModified = stream(revalidate);
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+
+        // Resuming against an older version => whole current entity
+        MockHttpServletRequest staleResume = get();
+        staleResume.addHeader("Range", "bytes=500-");
+        staleResume.addHeader("If-Range", "\"older\"");
+        MockHttpServletResponse whole = stream(staleResume);
+        assertThat(whole.getStatus()).isEqualTo(200);
+        assertThat(whole.getContentAsByteArray()).hasSize(1000);
+
+        MockHttpServletRequest resume = get();
+        resume.addHeader("Range", "bytes=500-");
+        resume.addHeader("If-Range", etag);
+        assertThat(stream(resume).getStatus()).isEqualTo(206);
+    }
+
+    @Test
+    void sendfileWhenTheConnectorSupportsIt() throws IOException {
+        Files.write(root.resolve("files/archive.zip"), new byte[256 * 1024]);
+        MockHttpServletRequest request = get();
+        request.setAttribute(ContentStreamer.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader("Range", "bytes=1024-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        streamer.stream(request, response, "files/archive.zip", "application/zip", "archive.zip");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(ContentStreamer.SENDFILE_FILENAME))
+                .isEqualTo(root.resolve("files/archive.zip").toAbsolutePath().toString());
+        assertThat(request.getAttribute(ContentStreamer.SENDFILE_START)).isEqualTo(1024L);
+        assertThat(request.getAttribute(ContentStreamer.SENDFILE_END)).isEqualTo(256L * 1024);
+    }
+
+    @Test
+    void keysNeverLeaveTheRoot() {
+        assertThatThrownBy(() -> storage.stat("../outside.pdf"))
+                .isInstanceOfSatisfying(CustomResponseException.class, e -> assertThat(e.getCode()).isEqualTo(400));
+        assertThatThrownBy(() -> storage.stat("files/missing.pdf"))
+                .isInstanceOfSatisfying(CustomResponseException.class, e -> assertThat(e.getCode()).isEqualTo(404));
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private MockHttpServletResponse stream(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        streamer.stream(request, response, "files/slides.pdf", "application/pdf", "slides.pdf");
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/files/1/content");
+    }
+
+
+}
@@ -0,0 +1,130 @@
+package com.mostafa.lms_api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class HlsSegmenterTest {
+    private final HlsSegmenter segmenter = new HlsSegmenter();
+
+    @TempDir
+    Path root;
+
+
+    @Test
+    void fragmentsAreGroupedIntoByteRangeSegments() throws IOException {
+        byte[] init = concat(box("ftyp", new byte[8]), moov(true));
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.writeBytes(init);
+
+        // 5 fragments of 2 s (video track, ms timescale) => 6 s + 4 s
+        long[] fragmentEnds = new long[5];
+        for (int i = 0; i < 5; i++) {
+            file.writeBytes(box("styp", new byte[8]));
+            file.writeBytes(i == 1 ? moofWithSampleDurations() : moofWithDefaultDuration());
+            file.writeBytes(box("mdat", new byte[1000 + i]));
+            fragmentEnds[i] = file.size();
+        }
+        file.writeBytes(box("mfra", new byte[16]));
+
+        HlsSegmenter.HlsIndex index = index(file.toByteArray());
+
+        assertThat(index.initLength()).isEqualTo(init.length);
+        assertThat(index.segments()).containsExactly(
+                new HlsSegmenter.Segment(init.length, fragmentEnds[2] - init.length, 6.0),
+                new HlsSegmenter.Segment(fragmentEnds[2], fragmentEnds[4] - fragmentEnds[2], 4.0));
+        assertThat(index.targetDuration()).isEqualTo(6);
+    }
+
+    @Test
+    void progressiveFilesHaveNoRendition() throws IOException {
+        byte[] progressive = concat(box("ftyp", new byte[8]), moov(false), box("mdat", new byte[1000]));
+
+        assertThat(index(progressive)).isNull();
+        assertThat(index("not a video at all".getBytes(StandardCharsets.US_ASCII))).isNull();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private HlsSegmenter.HlsIndex index(byte[] content) throws IOException {
+        Path path = root.resolve("video.mp4");
+        Files.write(path, content);
+        try (FileChannel channel = FileChannel.open(path)) {
+            return segmenter.index(channel, 6.0);
+        }
+    }
+
+    // Audio track first (track 2, 48 kHz), video track 1 in ms => timing must follow the video track
+    private static byte[] moov(boolean fragmented) {
+        byte[] audio = trak(2, 48_000, "soun");
+        byte[] video = trak(1, 1000, "vide");
+        byte[] mvex = box("mvex", trex(1, 1000), trex(2, 1024));
+
+        return fragmented ? box("moov", box("mvhd", new byte[100]), audio, video, mvex)
+                : box("moov", box("mvhd", new byte[100]), audio, video);
+    }
+
+    private static byte[] trak(int trackId, int timescale, String handler) {
+        byte[] tkhd = ByteBuffer.allocate(84).putInt(12, trackId).array();
+        byte[] mdhd = ByteBuffer.allocate(24).putInt(12, timescale).array();
+        byte[] hdlr = ByteBuffer.allocate(24).put(8, handler.getBytes(StandardCharsets.US_ASCII)).array();
+        return box("trak", box("tkhd", tkhd), box("mdia", box("mdhd", mdhd), box("hdlr", hdlr)));
+    }
+
+    private static byte[] trex(int trackId, int defaultDuration) {
+        return box("trex", ByteBuffer.allocate(24).putInt(4, trackId).putInt(8, 1).putInt(12, defaultDuration).array());
+    }
+
+    // 2 video samples of 1000 ticks via the trex default + an audio traf that must be ignored
+    private static byte[] moofWithDefaultDuration() {
+        byte[] videoTraf = box("traf",
+                box("tfhd", ByteBuffer.allocate(8).putInt(0x020000).putInt(1).array()),
+                box("trun", ByteBuffer.allocate(12).putInt(0x000001).putInt(2).putInt(0).array()));
+        byte[] audioTraf = box("traf",
+                box("tfhd", ByteBuffer.allocate(12).putInt(0x000008).putInt(2).putInt(1024).array()),
+                box("trun", ByteBuffer.allocate(8).putInt(0).putInt(90).array()));
+
+        return box("moof", box("mfhd", new byte[8]), videoTraf, audioTraf);
+    }
+
+    // data_offset + first_sample_flags, then per-sample duration & size (flags 0x305) => 500 + 1500 ticks
+    private static byte[] moofWithSampleDurations() {
+        byte[] trun = ByteBuffer.allocate(32)
+                .putInt(0x000305).putInt(2).putInt(0).putInt(0)
+                .putInt(500).putInt(100)
+                .putInt(1500).putInt(100)
+                .array();
+
+        return box("moof", box("mfhd", new byte[8]),
+                box("traf", box("tfhd", ByteBuffer.allocate(8).putInt(0).putInt(1).array()), box("trun", trun)));
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        byte[] data = concat(children);
+        return ByteBuffer.allocate(8 + data.length)
+                .putInt(8 + data.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(data)
+                .array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+
+}
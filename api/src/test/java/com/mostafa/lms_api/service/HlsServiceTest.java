@@ -0,0 +1,125 @@
+package com.mostafa.lms_api.service;
+
+import com.mostafa.lms_api.config.CacheConfig;
+import com.mostafa.lms_api.config.ContentUrlSigner;
+import com.mostafa.lms_api.dto.StoredContent;
+import com.mostafa.lms_api.dto.StoredSlice;
+import com.mostafa.lms_api.utils.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+class HlsServiceTest {
+    private static final String STORAGE_KEY = "videos/lecture.mp4";
+    // 16 bytes init + one 32 bytes segment
+    private static final HlsSegmenter.HlsIndex INDEX =
+            new HlsSegmenter.HlsIndex(16, List.of(new HlsSegmenter.Segment(16, 32, 6.0)));
+
+    private final UUID videoId = UUID.randomUUID();
+    private final AtomicInteger opens = new AtomicInteger();
+
+    private final VideoService videoService = mock(VideoService.class);
+    private final FileStorage fileStorage = mock(FileStorage.class);
+    private final HlsSegmenter segmenter = mock(HlsSegmenter.class);
+
+    @TempDir
+    Path root;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] content = new byte[48];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(root.resolve("lecture.mp4"), content);
+
+        when(videoService.getVideoContent(videoId)).thenReturn(StoredContent.stored(STORAGE_KEY, "video/mp4", "Lecture"));
+        when(segmenter.index(any(), anyDouble())).thenReturn(INDEX);
+        // Slow open => concurrent requests overlap the first load
+        when(fileStorage.openForRead(STORAGE_KEY)).thenAnswer(invocation -> {
+            opens.incrementAndGet();
+            Thread.sleep(50);
+            return FileChannel.open(file);
+        });
+    }
+
+
+    @Test
+    void concurrentMissesOnOneSegmentShareOneRead() throws Exception {
+        HlsService hls = newService(DataSize.ofMegabytes(1));
+        hls.getInitSegment(videoId);
+        opens.set(0);
+
+        int viewers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StoredSlice>> slices = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(viewers);
+        try {
+            for (int i = 0; i < viewers; i++) {
+                slices.add(executor.submit(() -> {
+                    start.await();
+                    return hls.getSegment(videoId, 0);
+                }));
+            }
+            start.countDown();
+
+            byte[] first = slices.get(0).get().bytes();
+            assertThat(first).hasSize(32).startsWith((byte) 16);
+            for (Future<StoredSlice> slice : slices) {
+                assertThat(slice.get().bytes()).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(opens).hasValue(1);
+    }
+
+    @Test
+    void segmentsOverTheEntryCapStreamFromDisk() {
+        // 256 B budget => 16 B per entry, the 16 B init fits, the 32 B segment does not
+        HlsService hls = newService(DataSize.ofBytes(256));
+
+        StoredSlice init = hls.getInitSegment(videoId);
+        StoredSlice segment = hls.getSegment(videoId, 0);
+
+        assertThat(init.bytes()).hasSize(16);
+        assertThat(segment.bytes()).isNull();
+        assertThat(segment.offset()).isEqualTo(16);
+        assertThat(segment.length()).isEqualTo(32);
+    }
+
+
+    private HlsService newService(DataSize cacheSize) {
+        return new HlsService(videoService, fileStorage, segmenter,
+                new ConcurrentMapCacheManager(CacheConfig.HLS_INDEXES),
+                mock(ContentUrlSigner.class), mock(CurrentUser.class),
+                Duration.ofSeconds(6), 30, cacheSize);
+    }
+
+
+}
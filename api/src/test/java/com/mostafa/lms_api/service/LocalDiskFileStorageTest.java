@@ -0,0 +1,91 @@
+package com.mostafa.lms_api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class LocalDiskFileStorageTest {
+    private static final int CHUNK_SIZE = 64 * 1024 + 7; // not a multiple of the copy buffer
+
+    @TempDir
+    Path root;
+
+
+    @Test
+    void chunksWrittenOutOfOrderAndInParallelRebuildTheFile() throws Exception {
+        LocalDiskFileStorage storage = new LocalDiskFileStorage(root.toString());
+        byte[] content = new byte[CHUNK_SIZE * 10 + 123];
+        new Random(42).nextBytes(content);
+
+        int chunkCount = (content.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < chunkCount; i++) {
+            order.add(i);
+        }
+        // Last chunk first => writes far past the current end of the staging file
+        Collections.reverse(order);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> writes = new ArrayList<>();
+            for (int index : order) {
+                int offset = index * CHUNK_SIZE;
+                int length = Math.min(CHUNK_SIZE, content.length - offset);
+                byte[] chunk = Arrays.copyOfRange(content, offset, offset + length);
+
+                writes.add(pool.submit(() -> storage.writeAt("uploads/a.part", offset,
+                        Channels.newChannel(new ByteArrayInputStream(chunk)), length)));
+            }
+            for (Future<Long> write : writes) {
+                assertThat(write.get()).isPositive();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        storage.publish("uploads/a.part", "videos/2026/10/a.mp4");
+
+        assertThat(Files.exists(root.resolve("uploads/a.part"))).isFalse();
+        assertThat(Files.readAllBytes(root.resolve("videos/2026/10/a.mp4"))).isEqualTo(content);
+        assertThat(storage.stat("videos/2026/10/a.mp4").size()).isEqualTo(content.length);
+    }
+
+    @Test
+    void shortSourceReportsWhatWasWritten() throws IOException {
+        LocalDiskFileStorage storage = new LocalDiskFileStorage(root.toString());
+
+        long written = storage.writeAt("uploads/b.part", 0, Channels.newChannel(new ByteArrayInputStream(new byte[10])), 100);
+
+        assertThat(written).isEqualTo(10);
+    }
+
+    @Test
+    void deleteIgnoresMissingKeys() throws IOException {
+        LocalDiskFileStorage storage = new LocalDiskFileStorage(root.toString());
+        Files.createDirectories(root.resolve("files"));
+        Files.write(root.resolve("files/c.pdf"), new byte[]{1, 2, 3});
+
+        storage.delete("files/c.pdf");
+        storage.delete("files/c.pdf");
+
+        assertThat(Files.exists(root.resolve("files/c.pdf"))).isFalse();
+    }
+
+
+}
@@ -0,0 +1,73 @@
+package com.mostafa.lms_api.service;
+
+import com.mostafa.lms_api.global.CustomResponseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+class LoginRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(0);
+    // IP => burst 3, 60/min (1 per second), account => burst 2, 6/min (1 per 10s)
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            LoginRateLimiter.Limit.of(3, 60), LoginRateLimiter.Limit.of(2, 6), now::get);
+
+
+    @Test
+    void burstUpToCapacityThenTooManyRequests() {
+        limiter.acquire("10.0.0.1", "a@lms.local");
+        limiter.acquire("10.0.0.1", "b@lms.local");
+        limiter.acquire("10.0.0.1", "c@lms.local");
+
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.1", "d@lms.local"))
+                .isInstanceOfSatisfying(CustomResponseException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo(429);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1L);
+                });
+    }
+
+    @Test
+    void accountIsLimitedAcrossIps() {
+        limiter.acquire("10.0.0.1", "victim@lms.local");
+        limiter.acquire("10.0.0.2", "VICTIM@lms.local");
+
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.3", "victim@lms.local"))
+                .isInstanceOfSatisfying(CustomResponseException.class, e -> {
+                    assertThat(e.getCode()).isEqualTo(429);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(10L);
+                });
+    }
+
+    @Test
+    void noIpLimitWhenDisabled() {
+        LoginRateLimiter accountsOnly = new LoginRateLimiter(null, LoginRateLimiter.Limit.of(2, 6), now::get);
+
+        // 100 students behind one NAT, each on their own account
+        for (int i = 0; i < 100; i++) {
+            accountsOnly.acquire("10.0.0.1", "student-" + i + "@lms.local");
+        }
+
+        accountsOnly.acquire("10.0.0.1", "victim@lms.local");
+        accountsOnly.acquire("10.0.0.1", "victim@lms.local");
+        assertThatThrownBy(() -> accountsOnly.acquire("10.0.0.1", "victim@lms.local"))
+                .isInstanceOf(CustomResponseException.class);
+    }
+
+    @Test
+    void bucketsRefillOverTime() {
+        limiter.acquire("10.0.0.1", "a@lms.local");
+        limiter.acquire("10.0.0.1", "a@lms.local");
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.1", "a@lms.local"))
+                .isInstanceOf(CustomResponseException.class);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        limiter.acquire("10.0.0.1", "a@lms.local");
+    }
+
+
+}
@@ -0,0 +1,146 @@
+package com.mostafa.lms_api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class MediaProbeTest {
+    private final MediaProbe probe = new MediaProbe();
+
+    @TempDir
+    Path root;
+
+
+    @Test
+    void mp4WithMoovAfterTheMediaData() throws IOException {
+        byte[] mdat = new byte[100_000];
+        byte[] file = concat(
+                box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII), new byte[8]),
+                box("mdat", mdat),
+                box("moov",
+                        box("mvhd", mvhd(1000, 754_500)),
+                        box("trak", box("tkhd", tkhd(0, 0))),         // audio
+                        box("trak", box("tkhd", tkhd(1280, 720)))));  // video
+
+        MediaProbe.MediaInfo info = probe(file);
+
+        assertThat(info.durationSeconds()).isEqualTo(754.5);
+        assertThat(info.width()).isEqualTo(1280);
+        assertThat(info.height()).isEqualTo(720);
+        assertThat(info.bitrate()).isEqualTo(Math.round(file.length * 8 / 754.5));
+    }
+
+    @Test
+    void webmWithFloatDuration() throws IOException {
+        byte[] file = concat(
+                element(0x1A45DFA3, element(0x4282, "webm".getBytes(StandardCharsets.US_ASCII))),
+                element(0x18538067,
+                        element(0x1549A966,
+                                element(0x2AD7B1, uint(1_000_000, 3)),
+                                element(0x4489, ByteBuffer.allocate(8).putDouble(90_250.0).array())),
+                        element(0x1654AE6B,
+                                element(0xAE,
+                                        element(0xE0,
+                                                element(0xB0, uint(1920, 2)),
+                                                element(0xBA, uint(1080, 2))))),
+                        element(0x1F43B675, new byte[5000])));
+
+        MediaProbe.MediaInfo info = probe(file);
+
+        assertThat(info.durationSeconds()).isEqualTo(90.25);
+        assertThat(info.width()).isEqualTo(1920);
+        assertThat(info.height()).isEqualTo(1080);
+    }
+
+    @Test
+    void unknownOrTruncatedFiles() throws IOException {
+        assertThat(probe("%PDF-1.7 not a video".getBytes(StandardCharsets.US_ASCII))).isNull();
+        assertThat(probe(new byte[3])).isNull();
+
+        // moov never arrives (upload cut short) => nothing to report
+        byte[] truncated = concat(box("ftyp", new byte[8]), box("mdat", new byte[1000]));
+        assertThat(probe(Arrays.copyOf(truncated, 500))).isNull();
+    }
+
+    @Test
+    void hugeLargesizeBoxDoesNotWrapAround() throws IOException {
+        // size 1 + 64-bit largesize near Long.MAX_VALUE => position + size would overflow to negative
+        byte[] hugeMdat = ByteBuffer.allocate(16).putInt(1).put("mdat".getBytes(StandardCharsets.US_ASCII))
+                .putLong(Long.MAX_VALUE - 4).array();
+
+        assertThat(probe(concat(box("ftyp", new byte[8]), hugeMdat, box("moov", box("mvhd", mvhd(1000, 5000)))))).isNull();
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private MediaProbe.MediaInfo probe(byte[] content) throws IOException {
+        Path path = root.resolve("video.bin");
+        Files.write(path, content);
+        try (FileChannel channel = FileChannel.open(path)) {
+            return probe.probe(channel);
+        }
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        byte[] data = concat(children);
+        return ByteBuffer.allocate(8 + data.length)
+                .putInt(8 + data.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(data)
+                .array();
+    }
+
+    // version 0 => version/flags, creation, modification, timescale, duration, ...
+    private static byte[] mvhd(int timescale, int duration) {
+        return ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0).putInt(timescale).putInt(duration).array();
+    }
+
+    // version 0 => width / height (16.16) at the end of the 84-byte body
+    private static byte[] tkhd(int width, int height) {
+        return ByteBuffer.allocate(84).putInt(76, width << 16).putInt(80, height << 16).array();
+    }
+
+    // 1-byte ID (class A) or longer as written in the spec, 8-byte size
+    private static byte[] element(long id, byte[]... children) {
+        byte[] data = concat(children);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int idLength = id > 0xFFFFFF ? 4 : id > 0xFFFF ? 3 : id > 0xFF ? 2 : 1;
+        for (int i = idLength - 1; i >= 0; i--) {
+            out.write((int) (id >>> (8 * i)));
+        }
+        out.write(0x01);
+        out.writeBytes(uint(data.length, 7));
+        out.writeBytes(data);
+        return out.toByteArray();
+    }
+
+    private static byte[] uint(long value, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+
+}
@@ -0,0 +1,283 @@
+package com.mostafa.lms_api.service;
+
+import com.mostafa.lms_api.enums.UploadStatus;
+import com.mostafa.lms_api.enums.UploadTarget;
+import com.mostafa.lms_api.global.CustomResponseException;
+import com.mostafa.lms_api.mapper.EntityDtoMapper;
+import com.mostafa.lms_api.model.Course;
+import com.mostafa.lms_api.model.File;
+import com.mostafa.lms_api.model.Section;
+import com.mostafa.lms_api.model.UploadSession;
+import com.mostafa.lms_api.model.User;
+import com.mostafa.lms_api.repository.*;
+import com.mostafa.lms_api.utils.CurrentUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+class UploadServiceTest {
+    private static final int CHUNK_SIZE = 1024;
+    // 4 full chunks + a short last one
+    private static final int TOTAL_SIZE = CHUNK_SIZE * 4 + 100;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID uploadId = UUID.randomUUID();
+
+    private final UploadSessionRepo uploadSessionRepo = mock(UploadSessionRepo.class);
+    private final UploadChunkRepo uploadChunkRepo = mock(UploadChunkRepo.class);
+    private final FileRepo fileRepo = mock(FileRepo.class);
+    private final EntityDtoMapper mapper = mock(EntityDtoMapper.class);
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    @SuppressWarnings("unchecked")
+    private final AuditorAware<String> auditorAware = mock(AuditorAware.class);
+
+    @TempDir
+    Path root;
+
+    private LocalDiskFileStorage storage;
+    private UploadService uploads;
+    private UploadSession session;
+    private byte[] content;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new LocalDiskFileStorage(root.toString());
+        uploads = new UploadService(uploadSessionRepo, uploadChunkRepo, mock(SectionRepo.class), mock(VideoRepo.class),
+                fileRepo, storage, mock(DurationTracker.class), mock(VideoMetadataService.class),
+                mock(CourseTreeService.class), mapper, currentUser, auditorAware);
+
+        content = new byte[TOTAL_SIZE];
+        new Random(7).nextBytes(content);
+        session = newSession();
+
+        when(uploadSessionRepo.findById(uploadId)).thenReturn(Optional.of(session));
+        when(uploadSessionRepo.findForCompletion(uploadId)).thenReturn(Optional.of(session));
+        when(currentUser.getCurrentUserId()).thenReturn(userId);
+        when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("student@lms.local"));
+        when(mapper.toFileEntity(any(UploadSession.class), any(Section.class))).thenAnswer(invocation -> new File());
+        when(fileRepo.save(any(File.class))).thenAnswer(invocation -> {
+            File file = invocation.getArgument(0);
+            file.setId(UUID.randomUUID());
+            return file;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+
+    // ********************************** ((Chunks)) **************************************** //
+    @Test
+    void wrongLengthIsRejectedBeforeAnyByteIsWritten() {
+        byte[] chunk = chunk(0);
+
+        assertBadRequest(() -> uploads.writeChunk(uploadId, 0, checksum(chunk), chunk.length - 1, new ByteArrayInputStream(chunk)));
+        // Last chunk is short => a full-size one does not fit either
+        assertBadRequest(() -> uploads.writeChunk(uploadId, 4, checksum(chunk(4)), CHUNK_SIZE, new ByteArrayInputStream(chunk)));
+
+        assertThat(Files.exists(root.resolve(session.getStagingKey()))).isFalse();
+        verify(uploadChunkRepo, never()).upsert(any(), anyInt(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void checksumMismatchDropsTheChunkRecord() {
+        byte[] chunk = chunk(1);
+
+        assertBadRequest(() -> uploads.writeChunk(uploadId, 1, checksum(chunk(2)), chunk.length, new ByteArrayInputStream(chunk)));
+
+        // A previous good copy of the chunk is gone too => the retry overwrites the bytes
+        verify(uploadChunkRepo).deleteChunk(uploadId, 1);
+        verify(uploadChunkRepo, never()).upsert(any(), anyInt(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void bodyShorterThanItsLengthDropsTheChunkRecord() {
+        byte[] chunk = chunk(1);
+
+        assertBadRequest(() -> uploads.writeChunk(uploadId, 1, checksum(chunk), chunk.length,
+                new ByteArrayInputStream(chunk, 0, chunk.length - 10)));
+
+        verify(uploadChunkRepo).deleteChunk(uploadId, 1);
+        verify(uploadChunkRepo, never()).upsert(any(), anyInt(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void chunksOutOfOrderAndInParallelRebuildTheFile() throws Exception {
+        List<Integer> order = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+        Collections.shuffle(order, new Random(3));
+
+        ExecutorService executor = Executors.newFixedThreadPool(order.size());
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int index : order) {
+                byte[] chunk = chunk(index);
+                writes.add(executor.submit(() ->
+                        uploads.writeChunk(uploadId, index, checksum(chunk), chunk.length, new ByteArrayInputStream(chunk))));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(Files.readAllBytes(root.resolve(session.getStagingKey()))).isEqualTo(content);
+        for (int index = 0; index < 5; index++) {
+            byte[] chunk = chunk(index);
+            verify(uploadChunkRepo).upsert(uploadId, index, HexFormat.of().formatHex(sha256(chunk)), chunk.length, "student@lms.local");
+        }
+    }
+
+
+    // ********************************** ((Complete)) **************************************** //
+    @Test
+    void incompleteUploadIsNotPublished() throws IOException {
+        writeAll();
+        when(uploadChunkRepo.countByUploadSessionId(uploadId)).thenReturn(4L);
+
+        assertBadRequest(() -> uploads.completeUpload(uploadId));
+
+        assertThat(session.getStatus()).isEqualTo(UploadStatus.IN_PROGRESS);
+        assertThat(Files.exists(root.resolve(session.getStorageKey()))).isFalse();
+        verify(fileRepo, never()).save(any());
+    }
+
+    @Test
+    void completePublishesOnceAndRetriesAreIdempotent() throws IOException {
+        writeAll();
+        when(uploadChunkRepo.countByUploadSessionId(uploadId)).thenReturn(5L);
+
+        uploads.completeUpload(uploadId);
+        UUID resourceId = session.getResourceId();
+        // Lost response => client completes again
+        uploads.completeUpload(uploadId);
+
+        assertThat(session.getStatus()).isEqualTo(UploadStatus.COMPLETED);
+        assertThat(session.getResourceId()).isEqualTo(resourceId).isNotNull();
+        assertThat(Files.readAllBytes(root.resolve(session.getStorageKey()))).isEqualTo(content);
+        assertThat(Files.exists(root.resolve(session.getStagingKey()))).isFalse();
+        verify(fileRepo).save(any(File.class));
+        verify(uploadChunkRepo).deleteByUploadSessionId(uploadId);
+    }
+
+    @Test
+    void rollbackMovesThePublishedObjectBack() throws IOException {
+        writeAll();
+        when(uploadChunkRepo.countByUploadSessionId(uploadId)).thenReturn(5L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        uploads.completeUpload(uploadId);
+        assertThat(Files.exists(root.resolve(session.getStorageKey()))).isTrue();
+
+        // Commit fails after the publish
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(Files.exists(root.resolve(session.getStorageKey()))).isFalse();
+        assertThat(Files.readAllBytes(root.resolve(session.getStagingKey()))).isEqualTo(content);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private UploadSession newSession() {
+        User user = new User();
+        user.setId(userId);
+        Course course = new Course();
+        course.setId(UUID.randomUUID());
+        Section section = new Section();
+        section.setId(UUID.randomUUID());
+        section.setCourse(course);
+
+        UploadSession upload = UploadSession.builder()
+                .target(UploadTarget.FILE)
+                .title("Notes")
+                .filename("notes.pdf")
+                .contentType("application/pdf")
+                .totalSize((long) TOTAL_SIZE)
+                .chunkSize(CHUNK_SIZE)
+                .chunkCount(5)
+                .stagingKey("uploads/" + uploadId + ".part")
+                .storageKey("files/2026/10/" + uploadId + ".pdf")
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .user(user)
+                .section(section)
+                .build();
+        upload.setId(uploadId);
+        return upload;
+    }
+
+    private void writeAll() {
+        for (int index = 0; index < 5; index++) {
+            byte[] chunk = chunk(index);
+            uploads.writeChunk(uploadId, index, checksum(chunk), chunk.length, new ByteArrayInputStream(chunk));
+        }
+    }
+
+    private byte[] chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, TOTAL_SIZE));
+    }
+
+    private static String checksum(byte[] bytes) {
+        return "sha256 " + Base64.getEncoder().encodeToString(sha256(bytes));
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertBadRequest(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(CustomResponseException.class)
+                .extracting(e -> ((CustomResponseException) e).getCode())
+                .isEqualTo(400);
+    }
+
+
+}
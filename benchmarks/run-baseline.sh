@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Builds the API + benchmarks and records a JMH run (time + allocation rate) under results/.
+# Usage: ./run-baseline.sh [label] [jmh args...]   e.g. ./run-baseline.sh before-quiz-grader QuizGrading
+set -euo pipefail
+
+cd "$(dirname "$0")"
+label="${1:-baseline}"
+shift || true
+
+(cd .. && mvn -B -q -DskipTests install)
+
+java -jar target/benchmarks.jar "$@" \
+  -prof gc \
+  -rf json -rff "results/$(date +%Y-%m-%d)-${label}.json" \
+  | tee "results/$(date +%Y-%m-%d)-${label}.txt"
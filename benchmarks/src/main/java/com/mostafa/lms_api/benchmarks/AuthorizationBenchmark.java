@@ -0,0 +1,74 @@
+package com.mostafa.lms_api.benchmarks;
+
+import com.mostafa.lms_api.config.AuthorizationRules;
+import com.mostafa.lms_api.config.CompiledAuthorizationManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+/**
+ * URL authorization decision for one request: AuthorizationRules compiled into the segment trie vs the same
+ * rules as Spring's ordered matcher list (what SecurityConfig used to register).
+ * Paths range from the first rule (login) to the last ones (notifications) and the anyRequest() fallback,
+ * since the matcher list gets slower the further down the matching rule is.
+ * java -jar target/benchmarks.jar AuthorizationBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationBenchmark {
+    @Param({
+            "POST /api/auth/login",
+            "PUT /api/progress/videos/{id}",
+            "GET /api/posts",
+            "GET /api/notifications/unread-count",
+            "GET /unmatched/fallback"
+    })
+    public String endpoint;
+
+    private CompiledAuthorizationManager compiled;
+    private RequestMatcherDelegatingAuthorizationManager matcherChain;
+    private MockHttpServletRequest request;
+    private Supplier<Authentication> student;
+
+
+    @Setup
+    public void setUp() {
+        AuthorizationRules rules = AuthorizationRules.lms();
+        compiled = rules.compile();
+        matcherChain = rules.toRequestMatcherChain();
+
+        String[] parts = endpoint.split(" ");
+        String path = parts[1].replace("{id}", UUID.randomUUID().toString());
+        request = new MockHttpServletRequest(parts[0], path);
+        request.setServletPath(path);
+
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                "student@lms.local", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        student = () -> authentication;
+    }
+
+
+    @Benchmark
+    public boolean compiledTrie() {
+        return compiled.authorize(student, request).isGranted();
+    }
+
+    @Benchmark
+    public boolean matcherChain() {
+        return matcherChain.authorize(student, request).isGranted();
+    }
+
+
+}
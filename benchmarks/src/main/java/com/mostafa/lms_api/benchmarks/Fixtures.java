@@ -0,0 +1,115 @@
+package com.mostafa.lms_api.benchmarks;
+
+import com.mostafa.lms_api.enums.CourseLevel;
+import com.mostafa.lms_api.enums.UserRole;
+import com.mostafa.lms_api.model.*;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+// Detached entity graphs shaped like what the services hand to the mapper (no database involved)
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+
+    static User user(String username) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(username)
+                .email(username + "@bench.local")
+                .password("{noop}password")
+                .firstName("Bench")
+                .lastName(username)
+                .profileImageUrl("https://cdn.example.com/avatars/" + username + ".png")
+                .role(UserRole.USER)
+                .build();
+    }
+
+    static Course course(User instructor) {
+        Course course = Course.builder()
+                .title("Physics - Secondary 1")
+                .shortDescription("Mechanics, waves and electricity")
+                .courseImg("https://cdn.example.com/courses/physics.png")
+                .level(CourseLevel.SECONDARY_GRADE_1)
+                .estimatedDurationHours(42.5)
+                .user(instructor)
+                .build();
+        course.setId(UUID.randomUUID());
+
+        return course;
+    }
+
+    // questions x optionsPerQuestion, first option of every question is the correct one
+    static Quiz quiz(int questions, int optionsPerQuestion) {
+        User instructor = user("instructor");
+        Quiz quiz = Quiz.builder()
+                .title("Chapter 3 quiz")
+                .description("Newton's laws")
+                .startTime(ZonedDateTime.now().minusHours(1))
+                .endTime(ZonedDateTime.now().plusHours(1))
+                .course(course(instructor))
+                .user(instructor)
+                .build();
+        quiz.setId(UUID.randomUUID());
+
+        List<Question> questionList = new ArrayList<>(questions);
+        for (int q = 0; q < questions; q++) {
+            Question question = Question.builder()
+                    .questionText("Question " + q + ": which statement about the net force is true?")
+                    .points(1.0)
+                    .quiz(quiz)
+                    .build();
+            question.setId(UUID.randomUUID());
+
+            List<QuestionOption> options = new ArrayList<>(optionsPerQuestion);
+            for (int o = 0; o < optionsPerQuestion; o++) {
+                QuestionOption option = QuestionOption.builder()
+                        .optionText("Option " + o)
+                        .optionSelect(String.valueOf((char) ('A' + o)))
+                        .isCorrect(o == 0)
+                        .question(question)
+                        .build();
+                option.setId(UUID.randomUUID());
+                options.add(option);
+            }
+            question.setOptions(options);
+            questionList.add(question);
+        }
+        quiz.setQuestions(questionList);
+
+        return quiz;
+    }
+
+    static Progress progress() {
+        User student = user("student");
+        Course course = course(user("instructor"));
+
+        Video video = Video.builder()
+                .title("Lesson 7 - Friction")
+                .videoUrl("https://cdn.example.com/videos/lesson-7.mp4")
+                .durationSeconds(1_284)
+                .sortOrder(7)
+                .build();
+        video.setId(UUID.randomUUID());
+
+        Progress progress = Progress.builder()
+                .watchDurationSeconds(642)
+                .completionPercentage(50.0)
+                .lastWatchedAt(LocalDateTime.now())
+                .user(student)
+                .course(course)
+                .video(video)
+                .build();
+        progress.setId(UUID.randomUUID());
+
+        return progress;
+    }
+
+
+}
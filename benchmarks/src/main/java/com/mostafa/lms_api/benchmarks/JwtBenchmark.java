@@ -0,0 +1,57 @@
+package com.mostafa.lms_api.benchmarks;
+
+import com.mostafa.lms_api.config.JwtHelper;
+import com.mostafa.lms_api.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Token issue (login) and validation (every authenticated request) with the real JwtHelper.
+ * java -jar target/benchmarks.jar JwtBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    // Same size as a production HS256 secret (base64 of 48 random bytes)
+    private static final String SECRET = "q2B8dJ3yq1m7Zc0wR6sV4pL9tX2kN5hF8aE1gU3iO7yT0rW6eQ4zM9vB2nC5xK8j";
+
+    private JwtHelper jwtHelper;
+    private User user;
+    private Map<String, Object> claims;
+    private String token;
+
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtHelper = new JwtHelper();
+        // @Value field => set it the way Spring would
+        Field secret = JwtHelper.class.getDeclaredField("JWT_SECRET");
+        secret.setAccessible(true);
+        secret.set(jwtHelper, SECRET);
+
+        user = Fixtures.user("student");
+        claims = Map.of("userId", user.getId());
+        token = jwtHelper.generateToken(claims, user);
+    }
+
+
+    @Benchmark
+    public String generateToken() {
+        return jwtHelper.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtHelper.isTokenValid(token, user);
+    }
+
+
+}
@@ -0,0 +1,77 @@
+package com.mostafa.lms_api.benchmarks;
+
+import com.mostafa.lms_api.config.ContentUrlSigner;
+import com.mostafa.lms_api.dto.progress.ProgressResponseDTO;
+import com.mostafa.lms_api.dto.quiz.get.QuizResponseDTO;
+import com.mostafa.lms_api.mapper.EntityDtoMapper;
+import com.mostafa.lms_api.model.Progress;
+import com.mostafa.lms_api.model.Quiz;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * EntityDtoMapper conversions on the hottest responses (quiz for students, progress heartbeat, durations).
+ * java -jar target/benchmarks.jar MapperBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Signing is not exercised here => any secret will do
+    static EntityDtoMapper newMapper() {
+        return new EntityDtoMapper(new ContentUrlSigner("benchmark-secret", Duration.ofHours(4)));
+    }
+
+    @State(Scope.Benchmark)
+    public static class QuizState {
+        @Param({"10", "50"})
+        public int questions;
+
+        final EntityDtoMapper mapper = newMapper();
+        Quiz quiz;
+
+        @Setup
+        public void setUp() {
+            quiz = Fixtures.quiz(questions, 4);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProgressState {
+        final EntityDtoMapper mapper = newMapper();
+        final Progress progress = Fixtures.progress();
+    }
+
+    @State(Scope.Benchmark)
+    public static class DurationState {
+        // seconds only / minutes & seconds / hours & minutes
+        @Param({"45", "754", "7384"})
+        public long durationSeconds;
+
+        final EntityDtoMapper mapper = newMapper();
+    }
+
+
+    @Benchmark
+    public QuizResponseDTO toQuizResponseDTO(QuizState state) {
+        return state.mapper.toQuizResponseDTO(state.quiz, true);
+    }
+
+    @Benchmark
+    public ProgressResponseDTO toProgressResponseDTO(ProgressState state) {
+        return state.mapper.toProgressResponseDTO(state.progress);
+    }
+
+    @Benchmark
+    public String formatDuration(DurationState state) {
+        return state.mapper.formatDuration(state.durationSeconds);
+    }
+
+
+}
@@ -0,0 +1,101 @@
+package com.mostafa.lms_api.benchmarks;
+
+import com.mostafa.lms_api.model.Question;
+import com.mostafa.lms_api.model.QuestionOption;
+import com.mostafa.lms_api.model.Quiz;
+import com.mostafa.lms_api.service.QuizGrader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Grading of one submission: QuizGrader (plain loop over the question's options) vs the previous
+ * loop of QuizService.submitQuizAnswers (stream pipeline per answer) and a per-submission option index.
+ * The last two are kept here as baselines.
+ * java -jar target/benchmarks.jar QuizGradingBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizGradingBenchmark {
+    @Param({"10", "50", "200"})
+    public int questions;
+
+    @Param({"4", "8"})
+    public int optionsPerQuestion;
+
+    private final QuizGrader grader = new QuizGrader();
+    private List<Question> questionList;
+    private Map<UUID, List<QuestionOption>> optionsByQuestion;
+    private Map<UUID, UUID> answers;
+
+
+    @Setup
+    public void setUp() {
+        Quiz quiz = Fixtures.quiz(questions, optionsPerQuestion);
+        questionList = quiz.getQuestions();
+
+        optionsByQuestion = new HashMap<>();
+        answers = new HashMap<>();
+        for (Question question : questionList) {
+            optionsByQuestion.put(question.getId(), question.getOptions());
+            // Last option => worst case for the scan
+            answers.put(question.getId(), question.getOptions().get(optionsPerQuestion - 1).getId());
+        }
+    }
+
+
+    @Benchmark
+    public QuizGrader.GradedQuiz quizGrader() {
+        return grader.grade(questionList, optionsByQuestion, answers);
+    }
+
+    @Benchmark
+    public double optionIndexBaseline() {
+        Map<UUID, QuestionOption> optionsById = new HashMap<>();
+        optionsByQuestion.values().forEach(options -> options.forEach(option -> optionsById.put(option.getId(), option)));
+
+        double totalScore = 0.0;
+        List<Object[]> graded = new ArrayList<>(questionList.size());
+        for (Question question : questionList) {
+            QuestionOption selectedOption = optionsById.get(answers.get(question.getId()));
+
+            boolean isCorrect = selectedOption.getIsCorrect();
+            double pointsEarned = isCorrect ? question.getPoints() : 0.0;
+            totalScore += pointsEarned;
+            graded.add(new Object[]{question, selectedOption, isCorrect, pointsEarned});
+        }
+
+        return totalScore + graded.size();
+    }
+
+    @Benchmark
+    public double streamScanBaseline() {
+        double totalScore = 0.0;
+        List<Object[]> graded = new ArrayList<>();
+
+        for (Question question : questionList) {
+            UUID selectedOptionId = answers.get(question.getId());
+            List<QuestionOption> options = optionsByQuestion.get(question.getId());
+
+            QuestionOption selectedOption = options.stream()
+                    .filter(option -> option.getId().equals(selectedOptionId))
+                    .findFirst()
+                    .orElseThrow();
+
+            boolean isCorrect = selectedOption.getIsCorrect();
+            double pointsEarned = isCorrect ? question.getPoints() : 0.0;
+            totalScore += pointsEarned;
+            graded.add(new Object[]{question, selectedOption, isCorrect, pointsEarned});
+        }
+
+        return totalScore + graded.size();
+    }
+
+
+}
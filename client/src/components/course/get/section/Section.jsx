@@ -31,66 +31,24 @@ function Section({ courseId, courseHours }) {
     refetch,
   } = useGetSectionsQuery({ courseId, page, size: pageSize });
 
-  // Function to check if user has permission for a specific section
+  // Check if user has an ACTIVE enrollment for this specific section
+  // (/me returns: enrollments = [{ id, title, courseImg, sections: [{ id, status, isEnrolled }] }])
   const checkSectionPermission = (sectionId) => {
     if (!userEnrollments || !Array.isArray(userEnrollments)) {
       return false;
     }
 
-    // Find enrollment for the current course
-    const courseEnrollment = userEnrollments.find(
-      (enrollment) =>
-        enrollment.course.id === courseId &&
-        enrollment.status === "ACTIVE" &&
-        enrollment.isEnrolled === true
+    const enrolledCourse = userEnrollments.find(
+      (course) => course.id === courseId
     );
 
-    if (!courseEnrollment) {
+    if (!enrolledCourse) {
       return false;
     }
 
-    // Check if the section exists in the enrolled course
-    const hasSection = courseEnrollment.course.sections.some(
-      (section) => section.id === sectionId
+    return enrolledCourse.sections.some(
+      (section) => section.id === sectionId && section.isEnrolled === true
     );
-
-    return hasSection;
-  };
-
-  // Alternative approach: Check if user paid for this specific section
-  const checkSectionPayment = (sectionId, sectionPrice) => {
-    if (!userEnrollments || !Array.isArray(userEnrollments)) {
-      return false;
-    }
-
-    // Find enrollment for the current course
-    const courseEnrollment = userEnrollments.find(
-      (enrollment) =>
-        enrollment.course.id === courseId &&
-        enrollment.status === "ACTIVE" &&
-        enrollment.isEnrolled === true
-    );
-
-    if (!courseEnrollment) {
-      return false;
-    }
-
-    // Check if user paid enough for this section
-    // This is a simple check - you might need more complex logic
-    const paidAmount = courseEnrollment.amountPaid;
-
-    // Find the section in the course to get its sort order
-    const section = courseEnrollment.course.sections.find(
-      (s) => s.id === sectionId
-    );
-    if (!section) return false;
-
-    // Calculate expected payment (all sections up to this one)
-    const sectionsUpToThis = courseEnrollment.course.sections
-      .filter((s) => s.sortOrder <= section.sortOrder)
-      .reduce((total, s) => total + s.price, 0);
-
-    return paidAmount >= sectionsUpToThis;
   };
 
   // Update sections when new data comes
@@ -99,8 +57,7 @@ function Section({ courseId, courseHours }) {
       const sectionsWithPermissions = sectionsResponse.data.content.map(
         (section) => ({
           ...section,
-          hasPermission: checkSectionPayment(section.id, section.price),
-          // Alternative: use checkSectionPermission(section.id) for simple course enrollment check
+          hasPermission: checkSectionPermission(section.id),
         })
       );
 
@@ -1,5 +1,5 @@
 import { createContext, useEffect, useState } from "react";
-import { makeRequest } from "../requestMethod";
+import { clearTokens, makeRequest, saveTokens } from "../requestMethod";
 import Spinner from "../components/global/spinner/Spinner";
 
 export const AuthContext = createContext();
@@ -8,11 +8,12 @@ export const AuthContextProvider = ({ children }) => {
   const [currentUser, setCurrentUser] = useState(null);
   const [loading, setLoading] = useState(true);
 
-  // Handle Login - only store token, get user from database
-  const login = async (token) => {
+  // Handle Login - only store tokens, get user from database
+  // loginData => /auth/login response data (token, refreshToken, expiresIn)
+  const login = async (loginData) => {
     try {
-      // Store only the token
-      localStorage.setItem("token", token);
+      // Store only the tokens (access + refresh)
+      saveTokens(loginData);
 
       // Get fresh user data from database
       const response = await makeRequest.get("/auth/me");
@@ -24,7 +25,7 @@ export const AuthContextProvider = ({ children }) => {
       }
     } catch (error) {
       console.error("Login error:", error);
-      localStorage.removeItem("token");
+      clearTokens();
       setCurrentUser(null);
       throw error;
     }
@@ -37,8 +38,8 @@ export const AuthContextProvider = ({ children }) => {
     } catch (error) {
       console.error("Logout error:", error);
     } finally {
-      // Only remove token, no user data stored
-      localStorage.removeItem("token");
+      // Only remove tokens, no user data stored
+      clearTokens();
       setCurrentUser(null);
     }
   };
@@ -58,14 +59,14 @@ export const AuthContextProvider = ({ children }) => {
             setCurrentUser(response.data.data);
           } else {
             console.error("Auth check failed:", response.data.errors);
-            localStorage.removeItem("token");
+            clearTokens();
             setCurrentUser(null);
           }
         } catch (error) {
           console.error("Auth check failed:", error);
 
-          // If token is invalid, remove it
-          localStorage.removeItem("token");
+          // Token invalid & refresh failed (interceptor) => remove tokens
+          clearTokens();
           setCurrentUser(null);
         }
       } else {
@@ -93,7 +94,7 @@ export const AuthContextProvider = ({ children }) => {
         }
       } catch (error) {
         console.error("Refresh user failed:", error);
-        localStorage.removeItem("token");
+        clearTokens();
         setCurrentUser(null);
       }
     }
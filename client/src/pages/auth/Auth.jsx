@@ -141,7 +141,7 @@ function Auth() {
         });
 
         if (response.data.status === "success" && response.data.data?.token) {
-          await login(response.data.data.token);
+          await login(response.data.data);
           toast.success("Login successful!");
           // navigate("/");
         } else {
@@ -3,13 +3,85 @@ import axios from "axios";
 const BASE_URL = "http://localhost:8080/api/";
 // const BASE_URL = "https://lms-api-production-4182.up.railway.app/api/";
 
+// Refresh a little before the access token really expires (clock skew, slow requests)
+const REFRESH_MARGIN_MS = 30 * 1000;
+
 export const makeRequest = axios.create({
   baseURL: BASE_URL,
   withCredentials: true,
 });
 
+// ********************************** ((Tokens)) **************************************** //
+// Short-lived access token + rotating refresh token (from /auth/login & /auth/refresh)
+export const saveTokens = ({ token, refreshToken, expiresIn }) => {
+  localStorage.setItem("token", token);
+  if (refreshToken) {
+    localStorage.setItem("refreshToken", refreshToken);
+  }
+  if (expiresIn) {
+    localStorage.setItem("tokenExpiresAt", String(Date.now() + expiresIn * 1000));
+  }
+};
+
+export const clearTokens = () => {
+  localStorage.removeItem("token");
+  localStorage.removeItem("refreshToken");
+  localStorage.removeItem("tokenExpiresAt");
+};
+
+const isTokenExpiring = () => {
+  const expiresAt = Number(localStorage.getItem("tokenExpiresAt"));
+  return expiresAt > 0 && Date.now() >= expiresAt - REFRESH_MARGIN_MS;
+};
+
+// One refresh at a time => parallel requests wait for the same rotation
+// (a refresh token is single use, a second rotation with it would fail)
+let refreshPromise = null;
+
+export const refreshTokens = () => {
+  const refreshToken = localStorage.getItem("refreshToken");
+  if (!refreshToken) {
+    return Promise.reject(new Error("No refresh token"));
+  }
+
+  if (!refreshPromise) {
+    // Plain axios => not through the interceptors below
+    refreshPromise = axios
+      .post(`${BASE_URL}auth/refresh`, { refreshToken }, { withCredentials: true })
+      .then((response) => {
+        saveTokens(response.data.data);
+        return response.data.data.token;
+      })
+      .catch((error) => {
+        clearTokens();
+        throw error;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+
+  return refreshPromise;
+};
+
+const isAuthRequest = (url = "") =>
+  url.includes("auth/login") || url.includes("auth/refresh");
+
 makeRequest.interceptors.request.use(
-  (config) => {
+  async (config) => {
+    // Access token about to expire => rotate first instead of failing the request
+    if (
+      !isAuthRequest(config.url) &&
+      localStorage.getItem("refreshToken") &&
+      isTokenExpiring()
+    ) {
+      try {
+        await refreshTokens();
+      } catch (error) {
+        console.error("Token refresh failed:", error);
+      }
+    }
+
     const token = localStorage.getItem("token"); // Get token directly, not from userInfo
     if (token) {
       config.headers.Authorization = `Bearer ${token}`;
@@ -21,6 +93,35 @@ makeRequest.interceptors.request.use(
   }
 );
 
+// Expired token => the API answers 401 (or 403, anonymous request) => refresh once and retry
+makeRequest.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const status = error.response?.status;
+    const expired = status === 401 || (status === 403 && isTokenExpiring());
+
+    if (
+      !expired ||
+      !original ||
+      original._retried ||
+      isAuthRequest(original.url) ||
+      !localStorage.getItem("refreshToken")
+    ) {
+      return Promise.reject(error);
+    }
+
+    original._retried = true;
+    try {
+      const token = await refreshTokens();
+      original.headers.Authorization = `Bearer ${token}`;
+      return makeRequest(original);
+    } catch {
+      return Promise.reject(error);
+    }
+  }
+);
+
 export const axiosBaseQuery =
   ({ baseUrl } = { baseUrl: "" }) =>
   async ({ url, method, data, params }) => {
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Steps the number of concurrent students for the heartbeat and feed workloads and appends one CSV row
+# per endpoint and step to results/concurrency-ceiling.csv. Run it once per API mode, same machine, same data:
+#   SPRING_PROFILES_ACTIVE=prod     java -jar lms-api-*-exec.jar  => ./concurrency-ceiling.sh platform
+#   SPRING_PROFILES_ACTIVE=prod,vt  java -jar lms-api-*-exec.jar  => ./concurrency-ceiling.sh virtual
+# The ceiling of a mode is the last step whose p99 / error rate is still acceptable.
+# Usage: ./concurrency-ceiling.sh <label> [base-url] [steps...]
+set -euo pipefail
+
+cd "$(dirname "$0")"
+label="${1:?label, e.g. platform or virtual}"
+base_url="${2:-http://localhost:8080}"
+shift 2 || shift $#
+steps=("${@:-250 500 1000 2000 4000 8000}")
+
+jar=target/loadtest.jar
+[[ -f "$jar" ]] || (cd .. && mvn -B -q -DskipTests install)
+mkdir -p results
+
+for users in ${steps[*]}; do
+  # heartbeats every second + feed pages back to back => in-flight requests grow with the user count
+  java -jar "$jar" --base-url "$base_url" --label "$label" --csv results/concurrency-ceiling.csv \
+    --scenario heartbeats --users "$users" --heartbeat-interval 1 --ramp-up 20 --duration 60
+  java -jar "$jar" --base-url "$base_url" --label "$label" --csv results/concurrency-ceiling.csv \
+    --scenario feed --users "$users" --think-time-ms 200 --ramp-up 20 --duration 60
+done
+
+echo "Rows appended to $(pwd)/results/concurrency-ceiling.csv"
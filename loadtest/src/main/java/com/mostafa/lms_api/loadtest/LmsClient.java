@@ -0,0 +1,172 @@
+package com.mostafa.lms_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Thin HTTP client for the LMS API => one shared HttpClient (connection pool) for every virtual user.
+ * Scenario calls go through send(...) so each one lands in its endpoint's metrics;
+ * setup calls (register / login / discovery) are not measured.
+ */
+final class LmsClient {
+    private static final int MAX_LOGIN_RETRIES = 30;
+
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    // retryAfterSeconds => Retry-After of a 429 / 503 (0 when absent)
+    record Response(int status, JsonNode body, long retryAfterSeconds) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode data() {
+            return body.path("data");
+        }
+    }
+
+
+    LmsClient(URI baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        // HTTP/1.1 => one connection per in-flight request, like browsers polling a Tomcat connector
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+
+    // ********************************** ((Setup)) **************************************** //
+    String registerAndLogin(String username, String email, String password) throws IOException, InterruptedException {
+        Map<String, Object> registration = Map.of(
+                "username", username,
+                "email", email,
+                "password", password,
+                "firstName", "Load",
+                "lastName", "Test",
+                "phoneNumber", "+201000000000",
+                "fatherPhoneNumber", "+201100000000"
+        );
+        // Non 2xx => account left over from a previous run, login below decides
+        call(null, "POST", "/api/auth/register", registration);
+
+        // 429 (login throttling) => wait as told and try again, the setup is not the test
+        Response login = call(null, "POST", "/api/auth/login", Map.of("email", email, "password", password));
+        for (int attempt = 0; login.status() == 429 && attempt < MAX_LOGIN_RETRIES; attempt++) {
+            Thread.sleep(Duration.ofSeconds(Math.max(1, login.retryAfterSeconds())));
+            login = call(null, "POST", "/api/auth/login", Map.of("email", email, "password", password));
+        }
+        if (!login.ok()) {
+            throw new IllegalStateException("Login failed for " + email + " => HTTP " + login.status() + " " + login.body());
+        }
+
+        return login.data().path("token").asText();
+    }
+
+    List<UUID> discoverVideoIds(String token, int maxCourses) throws IOException, InterruptedException {
+        Response courses = call(token, "GET", "/api/courses?page=1&size=" + maxCourses, null);
+        List<UUID> videoIds = new ArrayList<>();
+
+        for (JsonNode course : courses.data().path("content")) {
+            Response tree = call(token, "GET", "/api/courses/" + course.path("id").asText() + "/tree", null);
+            for (JsonNode section : tree.data().path("sections")) {
+                for (JsonNode video : section.path("videos")) {
+                    videoIds.add(UUID.fromString(video.path("id").asText()));
+                }
+            }
+        }
+
+        return videoIds;
+    }
+
+    UUID discoverOpenQuizId(String token) throws IOException, InterruptedException {
+        Response quizzes = call(token, "GET", "/api/quizzes?page=1&size=50", null);
+
+        for (JsonNode quiz : quizzes.data().path("content")) {
+            Response take = call(token, "GET", "/api/quizzes/" + quiz.path("id").asText() + "/take", null);
+            if (take.ok() && !take.data().path("questions").isEmpty()) {
+                return UUID.fromString(quiz.path("id").asText());
+            }
+        }
+
+        return null;
+    }
+
+
+    // ********************************** ((Measured)) **************************************** //
+    Response send(EndpointMetrics metrics, long intendedStartNanos,
+                  String token, String method, String path, Object body) throws InterruptedException {
+        try {
+            Response response = call(token, method, path, body);
+            metrics.record(response.status(), System.nanoTime() - intendedStartNanos);
+            return response;
+        } catch (IOException e) {
+            metrics.recordFailure(System.nanoTime() - intendedStartNanos);
+            return new Response(0, objectMapper.missingNode(), 0);
+        }
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private Response call(String token, String method, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode json = response.body().length == 0
+                ? objectMapper.missingNode()
+                : readOrMissing(response.body());
+
+        long retryAfter = response.headers().firstValue("Retry-After")
+                .map(LmsClient::parseSecondsOrZero)
+                .orElse(0L);
+
+        return new Response(response.statusCode(), json, retryAfter);
+    }
+
+    private static long parseSecondsOrZero(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private JsonNode readOrMissing(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+
+
+}
@@ -0,0 +1,249 @@
+package com.mostafa.lms_api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+
+/**
+ * Load generator for a running LMS API => one virtual thread per simulated student.
+ * Scenarios:
+ * lecture-peak  => 70% progress heartbeats, 20% feed scrolling, 10% notification polling
+ * exam-day      => every student takes & submits the same quiz at once, then keeps polling notifications
+ * heartbeats | exam-burst | feed | notifications => one workload on its own
+ */
+public final class LoadTest {
+
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        LmsClient client = new LmsClient(config.baseUrl(), config.requestTimeout());
+        Workloads workloads = new Workloads(client, config);
+
+        List<Workloads.VirtualUser> users = login(client, config);
+        Workloads.VirtualUser probe = users.get(0);
+
+        List<UUID> videoIds = List.of();
+        if (needsVideos(config.scenario())) {
+            videoIds = client.discoverVideoIds(probe.token(), 20);
+            if (videoIds.isEmpty()) {
+                throw new IllegalStateException("No videos reachable from /api/courses => seed some courses first");
+            }
+        }
+
+        UUID quizId = config.quizId();
+        if (quizId == null && needsQuiz(config.scenario())) {
+            quizId = client.discoverOpenQuizId(probe.token());
+            if (quizId == null) {
+                throw new IllegalStateException("No open quiz with questions => pass --quiz-id");
+            }
+        }
+
+        System.out.printf("Running %s against %s => %d users, %ds ramp-up, %ds steady%n",
+                config.scenario(), config.baseUrl(), users.size(),
+                config.rampUp().toSeconds(), config.duration().toSeconds());
+
+        long started = System.nanoTime();
+        run(workloads, config, users, videoIds, quizId);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        report(workloads.metrics(), elapsed, System.out);
+        if (config.histogramDir() != null) {
+            writeHistograms(workloads.metrics(), config);
+        }
+        if (config.csv() != null) {
+            appendCsv(workloads.metrics(), elapsed, config);
+        }
+    }
+
+
+    // ********************************** ((Run)) **************************************** //
+    private static void run(Workloads workloads, LoadTestConfig config, List<Workloads.VirtualUser> users,
+                            List<UUID> videoIds, UUID quizId) throws InterruptedException {
+        long rampNanos = config.rampUp().toNanos();
+        long deadline = System.nanoTime() + rampNanos + config.duration().toNanos();
+        CountDownLatch examStart = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Workloads.VirtualUser user : users) {
+                long startOffset = rampNanos * user.index() / users.size();
+
+                executor.submit(() -> {
+                    // Exam => everyone is already waiting on the latch, no ramp
+                    if (!isExam(config.scenario())) {
+                        Thread.sleep(Duration.ofNanos(startOffset));
+                    }
+                    runUser(workloads, config.scenario(), user, videoIds, quizId, examStart, deadline);
+                    return null;
+                });
+            }
+
+            if (isExam(config.scenario())) {
+                // Let every virtual thread park on the latch before the bell rings
+                Thread.sleep(Duration.ofSeconds(1));
+                examStart.countDown();
+            }
+        }
+    }
+
+    private static void runUser(Workloads workloads, String scenario, Workloads.VirtualUser user,
+                                List<UUID> videoIds, UUID quizId, CountDownLatch examStart,
+                                long deadline) throws InterruptedException {
+        switch (scenario) {
+            case "lecture-peak" -> {
+                int slot = user.index() % 10;
+                if (slot < 7) {
+                    workloads.heartbeats(user, videoIds, deadline);
+                } else if (slot < 9) {
+                    workloads.feedScroll(user, deadline);
+                } else {
+                    workloads.notificationPolling(user, deadline);
+                }
+            }
+            case "exam-day" -> {
+                workloads.examBurst(user, quizId, examStart);
+                workloads.notificationPolling(user, deadline);
+            }
+            case "heartbeats" -> workloads.heartbeats(user, videoIds, deadline);
+            case "exam-burst" -> workloads.examBurst(user, quizId, examStart);
+            case "feed" -> workloads.feedScroll(user, deadline);
+            case "notifications" -> workloads.notificationPolling(user, deadline);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    // Login is BCrypt bound => capped concurrency so setup does not become the test
+    private static List<Workloads.VirtualUser> login(LmsClient client, LoadTestConfig config) throws Exception {
+        Semaphore permits = new Semaphore(config.loginConcurrency());
+        List<Future<Workloads.VirtualUser>> logins = new ArrayList<>(config.users());
+
+        System.out.printf("Logging in %d users (%d at a time)...%n", config.users(), config.loginConcurrency());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users(); i++) {
+                int index = i;
+                logins.add(executor.submit(() -> {
+                    String username = config.userPrefix() + "-" + index;
+                    permits.acquire();
+                    try {
+                        String token = client.registerAndLogin(username, username + "@loadtest.local", config.password());
+                        return new Workloads.VirtualUser(index, token);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<Workloads.VirtualUser> users = new ArrayList<>(logins.size());
+        for (Future<Workloads.VirtualUser> login : logins) {
+            try {
+                users.add(login.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Setup failed => " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        return users;
+    }
+
+
+    // ********************************** ((Report)) **************************************** //
+    static void report(Map<String, EndpointMetrics> metrics, Duration elapsed, PrintStream out) {
+        double seconds = Math.max(elapsed.toMillis() / 1_000.0, 0.001);
+
+        out.printf("%n%-40s %9s %9s %8s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors%", "4xx", "5xx", "io",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        metrics.values().stream()
+                .sorted(Comparator.comparing(EndpointMetrics::name))
+                .forEach(endpoint -> {
+                    var histogram = endpoint.latencies();
+                    long requests = endpoint.requests();
+
+                    out.printf("%-40s %9d %9.1f %7.2f%% %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                            endpoint.name(), requests, requests / seconds,
+                            requests == 0 ? 0.0 : 100.0 * endpoint.errors() / requests,
+                            endpoint.clientErrors(), endpoint.serverErrors(), endpoint.failures(),
+                            histogram.getValueAtPercentile(50) / 1_000.0,
+                            histogram.getValueAtPercentile(90) / 1_000.0,
+                            histogram.getValueAtPercentile(99) / 1_000.0,
+                            histogram.getValueAtPercentile(99.9) / 1_000.0,
+                            histogram.getMaxValue() / 1_000.0);
+                });
+    }
+
+    // One HdrHistogram percentile file per endpoint => plot with the HdrHistogram plotter
+    private static void writeHistograms(Map<String, EndpointMetrics> metrics, LoadTestConfig config) throws IOException {
+        Files.createDirectories(config.histogramDir());
+
+        for (EndpointMetrics endpoint : metrics.values()) {
+            String fileName = config.scenario() + "-" + endpoint.name().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(config.histogramDir().resolve(fileName)))) {
+                // Recorded in µs => scale to ms
+                endpoint.latencies().outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+
+        System.out.println("Histograms written to " + config.histogramDir().toAbsolutePath());
+    }
+
+    // Several runs (e.g. stepping --users) into one file => concurrency ceiling per label
+    private static void appendCsv(Map<String, EndpointMetrics> metrics, Duration elapsed, LoadTestConfig config) throws IOException {
+        double seconds = Math.max(elapsed.toMillis() / 1_000.0, 0.001);
+        StringBuilder rows = new StringBuilder();
+
+        if (Files.notExists(config.csv())) {
+            rows.append("label,scenario,users,endpoint,requests,req_per_s,error_pct,p50_ms,p99_ms,max_ms\n");
+        }
+
+        for (EndpointMetrics endpoint : metrics.values()) {
+            var histogram = endpoint.latencies();
+            long requests = endpoint.requests();
+
+            rows.append(String.format(Locale.ROOT, "%s,%s,%d,%s,%d,%.1f,%.2f,%.1f,%.1f,%.1f%n",
+                    config.label(), config.scenario(), config.users(), endpoint.name(), requests,
+                    requests / seconds,
+                    requests == 0 ? 0.0 : 100.0 * endpoint.errors() / requests,
+                    histogram.getValueAtPercentile(50) / 1_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0));
+        }
+
+        Files.writeString(config.csv(), rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private static boolean isExam(String scenario) {
+        return scenario.equals("exam-day") || scenario.equals("exam-burst");
+    }
+
+    private static boolean needsVideos(String scenario) {
+        return scenario.equals("lecture-peak") || scenario.equals("heartbeats");
+    }
+
+    private static boolean needsQuiz(String scenario) {
+        return isExam(scenario);
+    }
+
+
+}
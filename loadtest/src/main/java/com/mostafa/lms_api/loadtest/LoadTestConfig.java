@@ -0,0 +1,98 @@
+package com.mostafa.lms_api.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * Command line => --name value pairs, every option has a default so `java -jar loadtest.jar` runs a small lecture peak.
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        String scenario,
+        int users,
+        Duration duration,
+        Duration rampUp,
+        Duration heartbeatInterval,
+        Duration pollInterval,
+        Duration thinkTime,
+        Duration requestTimeout,
+        int loginConcurrency,
+        String userPrefix,
+        String password,
+        UUID quizId,
+        Path histogramDir,
+        Path csv,
+        String label
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            if (arg.equals("--help")) {
+                options.put("help", "true");
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            options.put(arg.substring(2), args[++i]);
+        }
+
+        if (options.containsKey("help")) {
+            throw new IllegalArgumentException(usage());
+        }
+
+        return new LoadTestConfig(
+                URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                options.getOrDefault("scenario", "lecture-peak"),
+                Integer.parseInt(options.getOrDefault("users", "500")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("ramp-up", "30"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("heartbeat-interval", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("poll-interval", "15"))),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think-time-ms", "2000"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30"))),
+                Integer.parseInt(options.getOrDefault("login-concurrency", "32")),
+                options.getOrDefault("user-prefix", "loadtest-user"),
+                options.getOrDefault("password", "loadtest-password"),
+                options.containsKey("quiz-id") ? UUID.fromString(options.get("quiz-id")) : null,
+                options.containsKey("histogram-dir") ? Path.of(options.get("histogram-dir")) : null,
+                options.containsKey("csv") ? Path.of(options.get("csv")) : null,
+                options.getOrDefault("label", "run")
+        );
+    }
+
+    static String usage() {
+        return """
+                Usage: java -jar loadtest.jar [--option value]...
+                  --base-url            API root                                  (http://localhost:8080)
+                  --scenario            lecture-peak | exam-day | heartbeats | exam-burst | feed | notifications
+                                                                                  (lecture-peak)
+                  --users               concurrent virtual users                  (500)
+                  --duration            seconds of steady load after ramp-up      (120)
+                  --ramp-up             seconds to start all users                (30)
+                  --heartbeat-interval  seconds between progress heartbeats       (10)
+                  --poll-interval       seconds between notification polls        (15)
+                  --think-time-ms       pause between feed pages / quiz take & submit (2000)
+                  --timeout             request timeout in seconds                (30)
+                  --login-concurrency   parallel logins during setup (BCrypt)     (32)
+                  --user-prefix         accounts <prefix>-<n>@loadtest.local      (loadtest-user)
+                  --password            password of those accounts                (loadtest-password)
+                  --quiz-id             quiz for the exam scenarios               (first open quiz)
+                  --histogram-dir       write one .hgrm percentile file per endpoint
+                  --csv                 append one summary row per endpoint (created with a header)
+                  --label               first column of those rows, e.g. platform / virtual (run)
+                """;
+    }
+
+
+}
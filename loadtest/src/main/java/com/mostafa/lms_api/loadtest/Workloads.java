@@ -0,0 +1,157 @@
+package com.mostafa.lms_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * What one virtual user does for the duration of a run.
+ * Periodic loops (heartbeats, polling) measure latency from the tick the request was scheduled for,
+ * not from when it was actually sent => a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate (coordinated omission).
+ */
+final class Workloads {
+    private final LmsClient client;
+    private final LoadTestConfig config;
+    private final Map<String, EndpointMetrics> metrics = new ConcurrentHashMap<>();
+
+
+    record VirtualUser(int index, String token) {
+    }
+
+
+    Workloads(LmsClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+
+    // ********************************** ((Lecture)) **************************************** //
+    // Student keeps a lecture open => PUT progress every heartbeat interval with a growing watch time
+    void heartbeats(VirtualUser user, List<UUID> videoIds, long deadlineNanos) throws InterruptedException {
+        EndpointMetrics heartbeat = metrics("PUT /api/progress/videos/{id}");
+        UUID videoId = videoIds.get(user.index() % videoIds.size());
+        long interval = config.heartbeatInterval().toNanos();
+        long nextTick = System.nanoTime() + jitter(interval);
+        int watched = 0;
+
+        while (sleepUntil(nextTick, deadlineNanos)) {
+            watched += (int) config.heartbeatInterval().toSeconds();
+            client.send(heartbeat, nextTick, user.token(), "PUT", "/api/progress/videos/" + videoId,
+                    Map.of("watchDurationSeconds", watched));
+            nextTick += interval;
+        }
+    }
+
+    // Student scrolls the feed a few pages deep, reads, starts again from the top
+    void feedScroll(VirtualUser user, long deadlineNanos) throws InterruptedException {
+        EndpointMetrics feed = metrics("GET /api/posts");
+        int page = 1;
+
+        while (sleepUntil(System.nanoTime() + think(), deadlineNanos)) {
+            client.send(feed, System.nanoTime(), user.token(), "GET", "/api/posts?page=" + page + "&size=10", null);
+            page = page >= 5 ? 1 : page + 1;
+        }
+    }
+
+    // Bell icon => unread count every poll interval, full list every 4th poll
+    void notificationPolling(VirtualUser user, long deadlineNanos) throws InterruptedException {
+        EndpointMetrics unread = metrics("GET /api/notifications/unread-count");
+        EndpointMetrics list = metrics("GET /api/notifications");
+        long interval = config.pollInterval().toNanos();
+        long nextTick = System.nanoTime() + jitter(interval);
+        int polls = 0;
+
+        while (sleepUntil(nextTick, deadlineNanos)) {
+            client.send(unread, nextTick, user.token(), "GET", "/api/notifications/unread-count", null);
+            if (++polls % 4 == 0) {
+                client.send(list, System.nanoTime(), user.token(), "GET", "/api/notifications?page=1&size=10", null);
+            }
+            nextTick += interval;
+        }
+    }
+
+
+    // ********************************** ((Exam)) **************************************** //
+    // Everyone opens the quiz the second the exam starts, answers, and submits within the same few seconds
+    void examBurst(VirtualUser user, UUID quizId, CountDownLatch examStart) throws InterruptedException {
+        EndpointMetrics take = metrics("GET /api/quizzes/{id}/take");
+        EndpointMetrics submit = metrics("POST /api/quizzes/{id}/submit");
+
+        examStart.await();
+
+        LmsClient.Response quiz = client.send(take, System.nanoTime(), user.token(), "GET",
+                "/api/quizzes/" + quizId + "/take", null);
+        if (!quiz.ok()) {
+            return;
+        }
+
+        Thread.sleep(Duration.ofNanos(think()));
+
+        client.send(submit, System.nanoTime(), user.token(), "POST",
+                "/api/quizzes/" + quizId + "/submit", randomAnswers(quiz.data()));
+    }
+
+
+    Map<String, EndpointMetrics> metrics() {
+        return metrics;
+    }
+
+
+    // ********************************** ((Helper)) **************************************** //
+    private EndpointMetrics metrics(String endpoint) {
+        return metrics.computeIfAbsent(endpoint, EndpointMetrics::new);
+    }
+
+    private static Map<String, String> randomAnswers(JsonNode quiz) {
+        Map<String, String> answers = new HashMap<>();
+
+        for (JsonNode question : quiz.path("questions")) {
+            JsonNode options = question.path("options");
+            if (!options.isEmpty()) {
+                JsonNode picked = options.get(ThreadLocalRandom.current().nextInt(options.size()));
+                answers.put(question.path("id").asText(), picked.path("id").asText());
+            }
+        }
+
+        return answers;
+    }
+
+    // Think time is uniform in [0.5, 1.5] x configured => users drift apart instead of marching in step
+    private long think() {
+        long base = config.thinkTime().toNanos();
+        return base / 2 + ThreadLocalRandom.current().nextLong(Math.max(base, 1));
+    }
+
+    private static long jitter(long interval) {
+        return ThreadLocalRandom.current().nextLong(Math.max(interval, 1));
+    }
+
+    // false => the run is over before the tick
+    private static boolean sleepUntil(long tickNanos, long deadlineNanos) throws InterruptedException {
+        if (tickNanos >= deadlineNanos) {
+            return false;
+        }
+
+        long remaining;
+        while ((remaining = tickNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+
+        return true;
+    }
+
+
+}